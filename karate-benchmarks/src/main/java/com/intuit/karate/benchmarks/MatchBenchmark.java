@@ -0,0 +1,124 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.benchmarks;
+
+import com.intuit.karate.JsonUtils;
+import com.intuit.karate.Match;
+import com.intuit.karate.XmlUtils;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+/**
+ * json and xml match on small and large payloads, the "size" is the number
+ * of items in the array (or child elements)
+ *
+ * @author pthomas3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MatchBenchmark {
+
+    @Param({"10", "1000"})
+    int size;
+
+    Object actualJson;
+    Object expectedJson;
+    Document actualXml;
+    Document expectedXml;
+
+    static Map<String, Object> item(int i) {
+        Map<String, Object> map = new LinkedHashMap();
+        map.put("id", i);
+        map.put("name", "name-" + i);
+        map.put("active", i % 2 == 0);
+        List<String> tags = new ArrayList();
+        tags.add("a" + i);
+        tags.add("b" + i);
+        map.put("tags", tags);
+        return map;
+    }
+
+    static String xml(int size) {
+        StringBuilder sb = new StringBuilder("<items>");
+        for (int i = 0; i < size; i++) {
+            sb.append("<item id=\"").append(i).append("\"><name>name-").append(i)
+                    .append("</name><active>").append(i % 2 == 0).append("</active></item>");
+        }
+        return sb.append("</items>").toString();
+    }
+
+    @Setup
+    public void setup() {
+        List<Object> list = new ArrayList(size);
+        for (int i = 0; i < size; i++) {
+            list.add(item(i));
+        }
+        String json = JsonUtils.toJson(list);
+        // separate instances so that no identity short-cuts apply
+        actualJson = JsonUtils.fromJson(json);
+        expectedJson = JsonUtils.fromJson(json);
+        actualXml = XmlUtils.toXmlDoc(xml(size));
+        expectedXml = XmlUtils.toXmlDoc(xml(size));
+    }
+
+    @Benchmark
+    public Match.Result jsonEquals() {
+        return Match.that(actualJson).isEqualTo(expectedJson);
+    }
+
+    @Benchmark
+    public Match.Result jsonContains() {
+        return Match.that(actualJson).contains(expectedJson);
+    }
+
+    @Benchmark
+    public Match.Result jsonEachFuzzy() {
+        return Match.that(actualJson).isEachEqualTo("{ id: '#number', name: '#string', active: '#boolean', tags: '#[2] #string' }");
+    }
+
+    @Benchmark
+    public Match.Result xmlEquals() {
+        return Match.that(actualXml).isEqualTo(expectedXml);
+    }
+
+}
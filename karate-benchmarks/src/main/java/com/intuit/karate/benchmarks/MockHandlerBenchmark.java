@@ -0,0 +1,103 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.benchmarks;
+
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.MockHandler;
+import com.intuit.karate.http.HttpRequestBuilder;
+import com.intuit.karate.http.Request;
+import com.intuit.karate.http.Response;
+import com.intuit.karate.resource.MemoryResource;
+import java.io.File;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * @author pthomas3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MockHandlerBenchmark {
+
+    static final int SCENARIOS = 500;
+
+    // "static" conditions are indexed, a trailing "&& true" forces js for every scenario
+    @Param({"static", "js"})
+    String conditions;
+
+    MockHandler handler;
+    Request first;
+    Request last;
+    Request notFound;
+
+    @Setup
+    public void setup() {
+        StringBuilder sb = new StringBuilder("Feature:\n\n");
+        String suffix = "js".equals(conditions) ? " && true" : "";
+        for (int i = 0; i < SCENARIOS; i++) {
+            sb.append("Scenario: pathMatches('/resource").append(i).append("/{id}') && methodIs('get')").append(suffix).append('\n');
+            sb.append("* def response = { id: '#(pathParams.id)', type: 'resource").append(i).append("' }\n\n");
+        }
+        Feature feature = Feature.read(new MemoryResource(new File("mock.feature"), sb.toString()));
+        handler = new MockHandler(feature);
+        first = request("/resource0/1");
+        last = request("/resource" + (SCENARIOS - 1) + "/1");
+        notFound = request("/missing/1");
+    }
+
+    private static Request request(String path) {
+        return new HttpRequestBuilder(null).method("GET").path(path).build().toRequest();
+    }
+
+    @Benchmark
+    public Response firstScenario() {
+        return handler.handle(first);
+    }
+
+    @Benchmark
+    public Response lastScenario() {
+        return handler.handle(last);
+    }
+
+    @Benchmark
+    public Response noScenario() {
+        return handler.handle(notFound);
+    }
+
+}
@@ -0,0 +1,88 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.benchmarks;
+
+import com.intuit.karate.JsonUtils;
+import com.intuit.karate.Runner;
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureResult;
+import com.intuit.karate.core.FeatureRuntime;
+import com.intuit.karate.report.ReportUtils;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * serializing the result of a feature that was run once in setup
+ *
+ * @author pthomas3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportBenchmark {
+
+    FeatureResult result;
+    String reportDir;
+
+    @Setup
+    public void setup() throws Exception {
+        reportDir = Files.createTempDirectory("karate-benchmarks").toString();
+        Suite suite = new Suite(Runner.builder().reportDir(reportDir).outputHtmlReport(false));
+        Feature feature = Feature.read("classpath:com/intuit/karate/benchmarks/benchmark.feature");
+        FeatureRuntime fr = FeatureRuntime.of(suite, feature);
+        fr.run();
+        result = fr.result;
+    }
+
+    @Benchmark
+    public String karateJson() {
+        return JsonUtils.toJson(result.toKarateJson());
+    }
+
+    @Benchmark
+    public String cucumberJson() {
+        return JsonUtils.toJson(result.toCucumberJson());
+    }
+
+    @Benchmark
+    public File junitXml() {
+        return ReportUtils.saveJunitXml(reportDir, result, null);
+    }
+
+}
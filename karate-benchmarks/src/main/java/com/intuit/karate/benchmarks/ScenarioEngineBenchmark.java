@@ -0,0 +1,111 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.benchmarks;
+
+import com.intuit.karate.Suite;
+import com.intuit.karate.core.AssignType;
+import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureRuntime;
+import com.intuit.karate.core.ScenarioEngine;
+import com.intuit.karate.core.ScenarioIterator;
+import com.intuit.karate.core.ScenarioRuntime;
+import com.intuit.karate.core.Variable;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * step-level work: def / set, embedded expressions and callonce /
+ * callSingle cache hits (the cache is primed in setup)
+ *
+ * @author pthomas3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScenarioEngineBenchmark {
+
+    static final String CALLED = "classpath:com/intuit/karate/benchmarks/called.feature";
+
+    ScenarioEngine engine;
+
+    @Setup
+    public void setup() {
+        Feature feature = Feature.read("classpath:com/intuit/karate/benchmarks/benchmark.feature");
+        FeatureRuntime fr = FeatureRuntime.of(new Suite(), feature);
+        ScenarioRuntime sr = new ScenarioIterator(fr).first();
+        engine = sr.engine;
+        ScenarioEngine.set(engine);
+        engine.init();
+        engine.assign(AssignType.AUTO, "cat", "{ id: 1, name: 'Billie', kittens: [{ id: 2 }, { id: 3 }] }", false);
+        engine.assign(AssignType.AUTO, "name", "'Wild'", false);
+        engine.call(true, "read('" + CALLED + "')", false);
+        engine.evalJs("karate.callSingle('" + CALLED + "')");
+    }
+
+    @Benchmark
+    public Variable defJson() {
+        engine.assign(AssignType.AUTO, "foo", "{ a: 1, b: 'two', c: [1, 2, 3] }", false);
+        return engine.vars.get("foo");
+    }
+
+    @Benchmark
+    public Variable defJs() {
+        engine.assign(AssignType.AUTO, "foo", "cat.kittens.map(x => x.id * 2)", false);
+        return engine.vars.get("foo");
+    }
+
+    @Benchmark
+    public Variable set() {
+        engine.set("cat", "$.name", "name");
+        return engine.vars.get("cat");
+    }
+
+    @Benchmark
+    public Variable embeddedExpressions() {
+        return engine.evalKarateExpression("{ id: '#(cat.id)', name: '#(name)', kittens: '#(cat.kittens)', optional: '##(nope)' }");
+    }
+
+    @Benchmark
+    public Variable callOnceHit() {
+        return engine.call(true, "read('" + CALLED + "')", false);
+    }
+
+    @Benchmark
+    public Variable callSingleHit() {
+        return engine.evalJs("karate.callSingle('" + CALLED + "')");
+    }
+
+}
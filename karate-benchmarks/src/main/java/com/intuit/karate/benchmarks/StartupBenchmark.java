@@ -0,0 +1,84 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.benchmarks;
+
+import com.intuit.karate.Results;
+import com.intuit.karate.Runner;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ScanResult;
+import java.nio.file.Files;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * cold start, each fork is a new jvm and the benchmarks jar is a large class
+ * path (all of karate-core and its dependencies) so this is what a user sees
+ * when running a single feature from the IDE or the command line
+ *
+ * @author pthomas3
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(5)
+public class StartupBenchmark {
+
+    String reportDir;
+
+    @Setup
+    public void setup() throws Exception {
+        reportDir = Files.createTempDirectory("karate-benchmarks").toString();
+    }
+
+    @Benchmark
+    public Results runner() {
+        return Runner.path("classpath:com/intuit/karate/benchmarks/startup.feature")
+                .reportDir(reportDir)
+                .outputHtmlReport(false)
+                .outputCucumberJson(false)
+                .outputJunitXml(false)
+                .backupReportDir(false)
+                .parallel(1);
+    }
+
+    @Benchmark
+    public int fullClassPathScan() {
+        // what the first classpath: look-up used to cost before any feature could run
+        try (ScanResult scanResult = new ClassGraph().acceptPaths("/").scan(1)) {
+            return scanResult.getAllResources().size();
+        }
+    }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.benchmarks;
+
+import com.intuit.karate.graal.JsEngine;
+import com.intuit.karate.resource.ResourceResolver;
+import com.intuit.karate.template.TemplateUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ *
+ * @author pthomas3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateBenchmark {
+
+    static final String HTML = "<div><span th:text=\"title\"></span><ul><li th:each=\"item: items\" th:text=\"item.name\"></li></ul></div>";
+    static final String TEMPLATE = "template.html";
+
+    JsEngine je;
+    ResourceResolver resolver;
+
+    @Setup
+    public void setup() {
+        je = JsEngine.local();
+        je.eval("var title = 'cats'; var items = [{ id: 1, name: 'Billie' }, { id: 2, name: 'Wild' }, { id: 3, name: 'Nyan' }]");
+        resolver = new ResourceResolver("classpath:com/intuit/karate/benchmarks");
+    }
+
+    @Benchmark
+    public String htmlString() {
+        // what karate.render() used to do, a new engine (and parse) per call
+        return TemplateUtils.forStrings(je, resolver).process(HTML);
+    }
+
+    @Benchmark
+    public String htmlStringCached() {
+        return TemplateUtils.renderHtmlString(HTML, je, resolver);
+    }
+
+    @Benchmark
+    public String resource() {
+        return TemplateUtils.forResourceResolver(je, resolver).process(TEMPLATE);
+    }
+
+    @Benchmark
+    public String resourceCached() {
+        return TemplateUtils.renderResourcePath(TEMPLATE, je, resolver);
+    }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.benchmarks;
+
+import com.intuit.karate.XmlUtils;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * parsing a soap envelope and the xpath look-ups typical of soap suites,
+ * run with several threads since the parsers and xpath are held per thread
+ *
+ * @author pthomas3
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class XmlBenchmark {
+
+    static final String SOAP = "<soap:Envelope xmlns:soap=\"http://schemas.xmlsoap.org/soap/envelope/\">"
+            + "<soap:Body><ns:GetOrderResponse xmlns:ns=\"http://example.com/orders\">"
+            + "<ns:order id=\"1\"><ns:status>SHIPPED</ns:status><ns:total>99.50</ns:total>"
+            + "<ns:items><ns:item sku=\"a\">1</ns:item><ns:item sku=\"b\">2</ns:item><ns:item sku=\"c\">3</ns:item></ns:items>"
+            + "</ns:order></ns:GetOrderResponse></soap:Body></soap:Envelope>";
+
+    Document doc;
+
+    @Setup
+    public void setup() {
+        doc = XmlUtils.toXmlDoc(SOAP);
+    }
+
+    @Benchmark
+    public Document parse() {
+        return XmlUtils.toXmlDoc(SOAP);
+    }
+
+    @Benchmark
+    public Document parseNamespaceAware() {
+        return XmlUtils.toXmlDoc(SOAP, true);
+    }
+
+    @Benchmark
+    public String getTextValueByPath() {
+        return XmlUtils.getTextValueByPath(doc, "/Envelope/Body/GetOrderResponse/order/status");
+    }
+
+    @Benchmark
+    public Node getNodeByPath() {
+        return XmlUtils.getNodeByPath(doc, "/soap:Envelope/soap:Body/ns:GetOrderResponse/ns:order/ns:total", false);
+    }
+
+    @Benchmark
+    public NodeList getNodeListByPath() {
+        return XmlUtils.getNodeListByPath(doc, "//item");
+    }
+
+    @Benchmark
+    public Document setByPath() {
+        XmlUtils.setByPath(doc, "/Envelope/Body/GetOrderResponse/order/status", "DELIVERED");
+        return doc;
+    }
+
+}
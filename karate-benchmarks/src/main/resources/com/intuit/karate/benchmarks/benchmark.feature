@@ -0,0 +1,46 @@
+@smoke
+Feature: benchmark feature
+
+used for parsing and report serialization benchmarks
+
+Background:
+* def base = { id: 1, name: 'Billie', tags: ['one', 'two'] }
+
+Scenario: json
+* def cat = base
+* set cat.age = 5
+* match cat == { id: 1, name: 'Billie', tags: '#[2]', age: '#number' }
+* print 'cat:', cat
+
+Scenario: xml
+* def cat = <cat><id>1</id><name>Billie</name></cat>
+* match cat/cat/name == 'Billie'
+* set cat/cat/age = 5
+* match cat == <cat><id>1</id><name>Billie</name><age>5</age></cat>
+
+Scenario Outline: outline <name>
+* def row = { name: '<name>', age: <age> }
+* match row == { name: '#string', age: '#number' }
+
+Examples:
+| name   | age |
+| Billie | 1   |
+| Wild   | 2   |
+| Nyan   | 3   |
+| Bob    | 4   |
+
+Scenario: table and docstring
+* table cats
+| name     | age |
+| 'Billie' | 1   |
+| 'Wild'   | 2   |
+* match each cats == { name: '#string', age: '#number' }
+* text query =
+"""
+{
+  cats {
+    name
+  }
+}
+"""
+* match query contains 'cats'
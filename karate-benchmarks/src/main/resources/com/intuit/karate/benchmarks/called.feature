@@ -0,0 +1,6 @@
+@ignore
+Feature: called by callonce / callSingle benchmarks
+
+Scenario:
+* def token = 'secret-' + java.lang.System.currentTimeMillis()
+* def user = { id: 1, roles: ['admin', 'user'] }
@@ -0,0 +1,5 @@
+Feature: smallest possible feature for the startup benchmark
+
+Scenario:
+* def cat = { name: 'Billie' }
+* match cat.name == 'Billie'
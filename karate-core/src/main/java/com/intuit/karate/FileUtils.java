@@ -24,6 +24,9 @@
 package com.intuit.karate;
 
 import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureCache;
+import com.intuit.karate.resource.Resource;
+import com.intuit.karate.resource.ResourceUtils;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
@@ -104,9 +107,8 @@ public class FileUtils {
 
     public static Feature parseFeatureAndCallTag(String path) {
         StringUtils.Pair pair = parsePathAndTags(path);
-        Feature feature = Feature.read(pair.left);
-        feature.setCallTag(pair.right);
-        return feature;
+        Resource resource = ResourceUtils.getResource(WORKING_DIR, pair.left);
+        return FeatureCache.get(resource, pair.right);
     }
 
     public static String toString(File file) {
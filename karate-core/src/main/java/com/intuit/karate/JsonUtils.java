@@ -32,7 +32,9 @@ import com.jayway.jsonpath.spi.mapper.MappingProvider;
 import de.siegmar.fastcsv.reader.CsvReader;
 import de.siegmar.fastcsv.reader.CsvRow;
 import de.siegmar.fastcsv.writer.CsvWriter;
+import java.io.IOException;
 import java.io.StringWriter;
+import java.io.Writer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -127,6 +129,34 @@ public class JsonUtils {
         return JsonUtils.toJsonSafe(o, pretty);
     }
 
+    /**
+     * writes the map as json, except that the value for the list key is
+     * streamed from the iterator one item at a time, so that only one item
+     * (and never the whole document) has to be held as a string
+     */
+    public static void writeJson(Writer writer, Map<String, Object> map, String listKey, Iterator<?> items) throws IOException {
+        writer.write('{');
+        for (Map.Entry<String, Object> entry : map.entrySet()) {
+            writer.write('"');
+            writer.write(escapeValue(entry.getKey()));
+            writer.write("\":");
+            writer.write(toJson(entry.getValue()));
+            writer.write(',');
+        }
+        writer.write('"');
+        writer.write(escapeValue(listKey));
+        writer.write("\":[");
+        boolean first = true;
+        while (items.hasNext()) {
+            if (!first) {
+                writer.write(',');
+            }
+            first = false;
+            writer.write(toJson(items.next()));
+        }
+        writer.write("]}");
+    }
+
     public static byte[] toJsonBytes(Object o) {
         return toJson(o).getBytes(StandardCharsets.UTF_8);
     }
@@ -77,6 +77,9 @@ public class Main implements Callable<Void> {
     @Option(names = {"-W", "--watch"}, description = "watch (and hot-reload) mock server file for changes")
     boolean watch;
     
+    @Option(names = {"--concurrent"}, description = "mock server handles requests in parallel (default is one at a time)")
+    boolean concurrent;
+    
     @Option(names = {"-S", "--serve"}, description = "app server using --workdir (experimental)")
     boolean serve;
     
@@ -391,7 +394,8 @@ public class Main implements Callable<Void> {
                 .pathPrefix(prefix)
                 .certFile(cert)
                 .keyFile(key)
-                .watch(watch);
+                .watch(watch)
+                .concurrent(concurrent);
         if (ssl) {
             builder.https(port);
         } else {
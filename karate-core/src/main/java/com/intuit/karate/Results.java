@@ -33,7 +33,6 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Stream;
 
 /**
@@ -62,35 +61,21 @@ public class Results {
         // endTime may not be set for junit
         endTime = suite.endTime == 0 ? System.currentTimeMillis() : suite.endTime;
         featuresSkipped = suite.skippedCount;
-        AtomicInteger fp = new AtomicInteger();
-        AtomicInteger ff = new AtomicInteger();
-        AtomicInteger sp = new AtomicInteger();
-        AtomicInteger sf = new AtomicInteger();
-        AtomicInteger time = new AtomicInteger();
-        TimelineResults timeline = new TimelineResults();
-        TagResults tags = new TagResults();
-        suite.getFeatureResults().forEach(fr -> {
-            if (!fr.isEmpty()) {
-                timeline.addFeatureResult(fr);
-                tags.addFeatureResult(fr);
-                if (fr.isFailed()) {
-                    ff.incrementAndGet();
-                } else {
-                    fp.incrementAndGet();
-                }
-                Long duration = Math.round(fr.getDurationMillis());
-                time.addAndGet(duration.intValue());
-                featureSummary.add(fr.toSummaryJson());
-            }
-            sp.addAndGet(fr.getPassedCount());
-            sf.addAndGet(fr.getFailedCount());
-            errors.addAll(fr.getErrors());
-        });
-        featuresPassed = fp.get();
-        featuresFailed = ff.get();
-        scenariosPassed = sp.get();
-        scenariosFailed = sf.get();
-        timeTakenMillis = time.get();
+        ResultsAggregator aggregator = suite.getAggregatedResults();
+        if (aggregator == null) { // a feature was re-run (or saved more than once), re-read from disk
+            ResultsAggregator temp = new ResultsAggregator();
+            suite.getFeatureResults().forEach(temp::add);
+            aggregator = temp;
+        }
+        featureSummary.addAll(suite.getFeatureSummaries());
+        errors.addAll(aggregator.errors);
+        featuresPassed = aggregator.featuresPassed;
+        featuresFailed = aggregator.featuresFailed;
+        scenariosPassed = aggregator.scenariosPassed;
+        scenariosFailed = aggregator.scenariosFailed;
+        timeTakenMillis = aggregator.timeTakenMillis;
+        TimelineResults timeline = aggregator.timeline;
+        TagResults tags = aggregator.tags;
         saveStatsJson();
         printStats();
         if (suite.outputHtmlReport) {
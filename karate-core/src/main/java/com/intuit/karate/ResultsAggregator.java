@@ -0,0 +1,66 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate;
+
+import com.intuit.karate.core.FeatureResult;
+import com.intuit.karate.core.TagResults;
+import com.intuit.karate.core.TimelineResults;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * suite totals, timeline and tags, updated as each feature completes so that
+ * the feature results don't have to be re-read from disk at the end
+ *
+ * @author pthomas3
+ */
+class ResultsAggregator {
+
+    int featuresPassed;
+    int featuresFailed;
+    int scenariosPassed;
+    int scenariosFailed;
+    int timeTakenMillis;
+    final List<String> errors = new ArrayList();
+    final TimelineResults timeline = new TimelineResults();
+    final TagResults tags = new TagResults();
+
+    synchronized void add(FeatureResult fr) {
+        if (!fr.isEmpty()) {
+            timeline.addFeatureResult(fr);
+            tags.addFeatureResult(fr);
+            if (fr.isFailed()) {
+                featuresFailed++;
+            } else {
+                featuresPassed++;
+            }
+            Long duration = Math.round(fr.getDurationMillis());
+            timeTakenMillis += duration.intValue();
+        }
+        scenariosPassed += fr.getPassedCount();
+        scenariosFailed += fr.getFailedCount();
+        errors.addAll(fr.getErrors());
+    }
+
+}
@@ -31,11 +31,13 @@ import com.intuit.karate.core.ScenarioCall;
 import com.intuit.karate.driver.DriverOptions;
 import com.intuit.karate.driver.DriverRunner;
 import com.intuit.karate.http.HttpClientFactory;
+import com.intuit.karate.http.PooledHttpClientFactory;
 import com.intuit.karate.job.JobConfig;
 import com.intuit.karate.report.SuiteReports;
 import com.intuit.karate.resource.ResourceUtils;
 import java.io.File;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import org.slf4j.LoggerFactory;
 
@@ -187,6 +189,12 @@ public class Runner {
         boolean outputCucumberJson;
         boolean dryRun;
         boolean debugMode;
+        boolean configSnapshot;
+        boolean workStealing;
+        boolean longestFirst;
+        int virtualThreads;
+        int poolMaxPerRoute;
+        int poolMaxTotal;
         Map<String, String> systemProperties;
         Map<String, Object> callSingleCache;
         Map<String, ScenarioCall.Result> callOnceCache;
@@ -221,6 +229,12 @@ public class Runner {
             b.outputCucumberJson = outputCucumberJson;
             b.dryRun = dryRun;
             b.debugMode = debugMode;
+            b.configSnapshot = configSnapshot;
+            b.workStealing = workStealing;
+            b.longestFirst = longestFirst;
+            b.virtualThreads = virtualThreads;
+            b.poolMaxPerRoute = poolMaxPerRoute;
+            b.poolMaxTotal = poolMaxTotal;
             b.systemProperties = systemProperties;
             b.callSingleCache = callSingleCache;
             b.callOnceCache = callOnceCache;
@@ -235,7 +249,11 @@ public class Runner {
                 classLoader = Thread.currentThread().getContextClassLoader();
             }
             if (clientFactory == null) {
-                clientFactory = HttpClientFactory.DEFAULT;
+                if (poolMaxTotal > 0) {
+                    clientFactory = new PooledHttpClientFactory(poolMaxTotal, poolMaxPerRoute, PooledHttpClientFactory.DEFAULT_IDLE_SECONDS);
+                } else {
+                    clientFactory = HttpClientFactory.DEFAULT;
+                }
             }
             if (systemProperties == null) {
                 systemProperties = new HashMap(System.getProperties());
@@ -325,10 +343,10 @@ public class Runner {
                 }
             }
             if (callSingleCache == null) {
-                callSingleCache = new HashMap();
+                callSingleCache = new ConcurrentHashMap();
             }
             if (callOnceCache == null) {
-                callOnceCache = new HashMap();
+                callOnceCache = new ConcurrentHashMap();
             }
             if (suiteReports == null) {
                 suiteReports = SuiteReports.DEFAULT;
@@ -542,6 +560,55 @@ public class Runner {
             return (T) this;
         }
 
+        /**
+         * evaluate karate-config.js once per suite and re-use the result for
+         * all scenarios, config js can opt-out via
+         * karate.configure('configSnapshot', false)
+         */
+        public T configSnapshot(boolean value) {
+            configSnapshot = value;
+            return (T) this;
+        }
+
+        /**
+         * run scenarios on a work-stealing pool instead of a fixed thread
+         * pool, only applies when running in parallel
+         */
+        public T workStealing(boolean value) {
+            workStealing = value;
+            return (T) this;
+        }
+
+        /**
+         * start the features that took the longest in the previous run first
+         * (as per the karate-json files in the report dir) so that a long
+         * feature does not end up running alone at the end of the suite
+         */
+        public T longestFirst(boolean value) {
+            longestFirst = value;
+            return (T) this;
+        }
+
+        /**
+         * run each scenario on a virtual thread (java 21 or later) with at most
+         * this many running at the same time, falls back to the platform
+         * thread-pool sized by threads() / parallel() on an older jvm
+         */
+        public T virtualThreads(int maxConcurrent) {
+            virtualThreads = maxConcurrent;
+            return (T) this;
+        }
+
+        /**
+         * re-use http connections (and tls sessions) across all scenarios in
+         * the suite, applies only if a custom clientFactory() is not set
+         */
+        public T connectionPool(int maxPerRoute, int maxTotal) {
+            poolMaxPerRoute = maxPerRoute;
+            poolMaxTotal = maxTotal;
+            return (T) this;
+        }
+
         public T callSingleCache(Map<String, Object> value) {
             callSingleCache = value;
             return (T) this;
@@ -23,9 +23,11 @@
  */
 package com.intuit.karate;
 
+import com.intuit.karate.core.ConfigSnapshot;
 import com.intuit.karate.core.Feature;
 import com.intuit.karate.core.FeatureResult;
 import com.intuit.karate.core.FeatureRuntime;
+import com.intuit.karate.core.LimitedExecutorService;
 import com.intuit.karate.driver.DriverRunner;
 import com.intuit.karate.report.ReportUtils;
 import com.intuit.karate.core.Scenario;
@@ -35,6 +37,7 @@ import com.intuit.karate.core.ScenarioRuntime;
 import com.intuit.karate.core.SyncExecutorService;
 import com.intuit.karate.core.Tags;
 import com.intuit.karate.http.HttpClientFactory;
+import com.intuit.karate.http.PooledHttpClientFactory;
 import com.intuit.karate.job.JobManager;
 import com.intuit.karate.report.SuiteReports;
 import com.intuit.karate.resource.Resource;
@@ -43,15 +46,19 @@ import java.io.File;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 import org.slf4j.LoggerFactory;
 
@@ -81,6 +88,10 @@ public class Suite implements Runnable {
     public final List<Feature> features;
     public final List<CompletableFuture> futures;
     public final Set<File> featureResultFiles;
+    // compact per-feature summaries, so that the full results need not be held (or re-read)
+    private final Map<File, Map<String, Object>> featureSummaries = new LinkedHashMap();
+    private final ResultsAggregator aggregator = new ResultsAggregator();
+    private boolean featureResultsReplaced;
     public final Collection<RuntimeHook> hooks;
     public final HttpClientFactory clientFactory;
     public final Map<String, String> systemProperties;
@@ -101,10 +112,14 @@ public class Suite implements Runnable {
     public final String karateBase;
     public final String karateConfig;
     public final String karateConfigEnv;
+    public final boolean configSnapshot;
 
     public final Map<String, Object> callSingleCache;
     public final Map<String, ScenarioCall.Result> callOnceCache;
     private final ReentrantLock progressFileLock;
+    private final Object configSnapshotLock = new Object();
+    private volatile boolean configSnapshotResolved;
+    private ConfigSnapshot configSnapshotValue;
 
     public final Map<String, DriverRunner> drivers;
 
@@ -154,6 +169,7 @@ public class Suite implements Runnable {
             karateBase = null;
             karateConfig = null;
             karateConfigEnv = null;
+            configSnapshot = false;
             parallel = false;
             scenarioExecutor = null;
             pendingTasks = null;
@@ -178,7 +194,8 @@ public class Suite implements Runnable {
             systemProperties = rb.systemProperties;
             tagSelector = Tags.fromKarateOptionsTags(rb.tags);
             hooks = rb.hooks;
-            features = rb.features;
+            reportDir = rb.reportDir;
+            features = rb.longestFirst ? sortByPreviousDuration(rb.features) : rb.features;
             featuresFound = features.size();
             futures = new ArrayList(featuresFound);
             callSingleCache = rb.callSingleCache;
@@ -187,7 +204,6 @@ public class Suite implements Runnable {
             featureResultFiles = new HashSet();
             workingDir = rb.workingDir;
             buildDir = rb.buildDir;
-            reportDir = rb.reportDir;
             karateBase = read("classpath:karate-base.js");
             karateConfig = read(rb.configDir + "karate-config.js");
             if (env != null) {
@@ -195,6 +211,7 @@ public class Suite implements Runnable {
             } else {
                 karateConfigEnv = null;
             }
+            configSnapshot = rb.configSnapshot;
             if (rb.jobConfig != null) {
                 jobManager = new JobManager(rb.jobConfig);
             } else {
@@ -205,7 +222,20 @@ public class Suite implements Runnable {
             timeoutMinutes = rb.timeoutMinutes;
             parallel = threadCount > 1;
             if (parallel) {
-                scenarioExecutor = Executors.newFixedThreadPool(threadCount);
+                ExecutorService virtualThreadExecutor = null;
+                if (rb.virtualThreads > 0) {
+                    virtualThreadExecutor = LimitedExecutorService.ofVirtualThreads(rb.virtualThreads);
+                    if (virtualThreadExecutor == null) {
+                        logger.warn("virtual threads not supported by this jvm, will use {} threads", threadCount);
+                    }
+                }
+                if (virtualThreadExecutor != null) {
+                    scenarioExecutor = virtualThreadExecutor;
+                } else if (rb.workStealing) { // async mode, tasks that are never joined are processed in fifo order
+                    scenarioExecutor = new ForkJoinPool(threadCount, ForkJoinPool.defaultForkJoinWorkerThreadFactory, null, true);
+                } else {
+                    scenarioExecutor = Executors.newFixedThreadPool(threadCount);
+                }
                 pendingTasks = Executors.newSingleThreadExecutor();
             } else {
                 scenarioExecutor = SyncExecutorService.INSTANCE;
@@ -215,6 +245,44 @@ public class Suite implements Runnable {
         }
     }
 
+    private List<Feature> sortByPreviousDuration(List<Feature> list) {
+        Map<Feature, Double> durations = new HashMap(list.size());
+        for (Feature feature : list) {
+            File file = new File(reportDir + File.separator + feature.getKarateJsonFileName());
+            double duration = 0;
+            if (file.exists()) {
+                try {
+                    Map<String, Object> map = Json.of(FileUtils.toString(file)).asMap();
+                    Number millis = (Number) map.get("durationMillis");
+                    if (millis != null) {
+                        duration = millis.doubleValue();
+                    }
+                } catch (Exception e) {
+                    logger.warn("unable to read previous duration: {} - {}", file, e.getMessage());
+                }
+            }
+            durations.put(feature, duration);
+        }
+        List<Feature> sorted = new ArrayList(list);
+        // stable sort, features never run before keep their relative order
+        sorted.sort((a, b) -> Double.compare(durations.get(b), durations.get(a)));
+        return sorted;
+    }
+
+    // the first caller evaluates, other threads wait, null means evaluate per scenario
+    public ConfigSnapshot getConfigSnapshot(Supplier<ConfigSnapshot> evaluator) {
+        if (configSnapshotResolved) {
+            return configSnapshotValue;
+        }
+        synchronized (configSnapshotLock) {
+            if (!configSnapshotResolved) {
+                configSnapshotValue = evaluator.get();
+                configSnapshotResolved = true;
+            }
+            return configSnapshotValue;
+        }
+    }
+
     @Override
     public void run() {
         try {
@@ -255,14 +323,23 @@ public class Suite implements Runnable {
             if (jobManager != null) {
                 jobManager.server.stop();
             }
+            if (clientFactory instanceof PooledHttpClientFactory) {
+                ((PooledHttpClientFactory) clientFactory).close();
+            }
             hooks.forEach(h -> h.afterSuite(this));
         }
     }
 
     public void saveFeatureResults(FeatureResult fr) {
         File file = ReportUtils.saveKarateJson(reportDir, fr, null);
+        Map<String, Object> summary = fr.toSummaryJson();
         synchronized (featureResultFiles) {
             featureResultFiles.add(file);
+            if (featureSummaries.put(file, summary) == null) {
+                aggregator.add(fr);
+            } else { // a re-run (see updateResults) replaces
+                featureResultsReplaced = true;
+            }
         }
         if (outputHtmlReport) {
             suiteReports.featureReport(this, fr).render();
@@ -303,6 +380,19 @@ public class Suite implements Runnable {
                 .map(file -> FeatureResult.fromKarateJson(workingDir, Json.of(FileUtils.toString(file)).asMap()));
     }
 
+    // null if the totals can no longer be updated incrementally
+    ResultsAggregator getAggregatedResults() {
+        synchronized (featureResultFiles) {
+            return featureResultsReplaced ? null : aggregator;
+        }
+    }
+
+    public List<Map<String, Object>> getFeatureSummaries() {
+        synchronized (featureResultFiles) {
+            return new ArrayList(featureSummaries.values());
+        }
+    }
+
     public Stream<ScenarioResult> getScenarioResults() {
         return getFeatureResults().flatMap(fr -> fr.getScenarioResults().stream());
     }
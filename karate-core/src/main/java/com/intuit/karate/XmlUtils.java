@@ -67,6 +67,44 @@ public class XmlUtils {
         // only static methods
     }
 
+    private static final int XPATH_CACHE_SIZE = 256;
+
+    // the factory look-ups are expensive, but none of the factories, builders or compiled
+    // xpath expressions are thread-safe, so they are created once and kept per thread
+    private static class ThreadCache {
+
+        final XPath xpath = XPathFactory.newInstance().newXPath();
+        final TransformerFactory transformerFactory = TransformerFactory.newInstance();
+        final Map<String, XPathExpression> expressions = new LinkedHashMap<String, XPathExpression>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, XPathExpression> eldest) {
+                return size() > XPATH_CACHE_SIZE;
+            }
+        };
+        private DocumentBuilder builder;
+        private DocumentBuilder namespaceAwareBuilder;
+
+        DocumentBuilder builder(boolean namespaceAware) throws Exception {
+            DocumentBuilder db = namespaceAware ? namespaceAwareBuilder : builder;
+            if (db == null) {
+                DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+                factory.setNamespaceAware(namespaceAware);
+                db = factory.newDocumentBuilder();
+                if (namespaceAware) {
+                    namespaceAwareBuilder = db;
+                } else {
+                    builder = db;
+                }
+            } else {
+                db.reset();
+            }
+            return db;
+        }
+
+    }
+
+    private static final ThreadLocal<ThreadCache> THREAD_CACHE = ThreadLocal.withInitial(ThreadCache::new);
+
     public static String toString(Node node) {
         return toString(node, false);
     }
@@ -78,7 +116,7 @@ public class XmlUtils {
         DOMSource domSource = new DOMSource(node);
         StringWriter writer = new StringWriter();
         StreamResult result = new StreamResult(writer);
-        TransformerFactory tf = TransformerFactory.newInstance();
+        TransformerFactory tf = THREAD_CACHE.get().transformerFactory;
         try {
             Transformer transformer = tf.newTransformer();
             transformer.setOutputProperty(OutputKeys.OMIT_XML_DECLARATION, "yes");
@@ -124,10 +162,8 @@ public class XmlUtils {
     }
 
     public static Document toXmlDoc(String xml, boolean namespaceAware) {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
-        factory.setNamespaceAware(namespaceAware);
         try {
-            DocumentBuilder builder = factory.newDocumentBuilder();
+            DocumentBuilder builder = THREAD_CACHE.get().builder(namespaceAware);
             DtdEntityResolver dtdEntityResolver = new DtdEntityResolver();
             builder.setEntityResolver(dtdEntityResolver);
             InputStream is = FileUtils.toInputStream(xml);
@@ -145,13 +181,17 @@ public class XmlUtils {
     }
 
     private static XPathExpression compile(String path) {
-        XPathFactory xPathfactory = XPathFactory.newInstance();
-        XPath xpath = xPathfactory.newXPath();
-        try {
-            return xpath.compile(path);
-        } catch (Exception e) {
-            throw new RuntimeException(e);
+        ThreadCache cache = THREAD_CACHE.get();
+        XPathExpression expr = cache.expressions.get(path);
+        if (expr == null) {
+            try {
+                expr = cache.xpath.compile(path);
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+            cache.expressions.put(path, expr);
         }
+        return expr;
     }
 
     public static NodeList getNodeListByPath(Node node, String path) {
@@ -432,10 +472,9 @@ public class XmlUtils {
     }
 
     public static Document newDocument() {
-        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
         DocumentBuilder builder;
         try {
-            builder = factory.newDocumentBuilder();
+            builder = THREAD_CACHE.get().builder(false);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
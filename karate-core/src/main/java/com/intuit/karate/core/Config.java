@@ -29,6 +29,7 @@ import com.intuit.karate.driver.DockerTarget;
 import com.intuit.karate.driver.Target;
 import com.intuit.karate.graal.JsEngine;
 import com.intuit.karate.graal.JsFunction;
+import com.intuit.karate.http.BodyBuffer;
 import com.intuit.karate.http.Cookies;
 import com.intuit.karate.http.HttpLogModifier;
 import org.graalvm.polyglot.Value;
@@ -66,6 +67,7 @@ public class Config {
     private boolean followRedirects = true;
     private int readTimeout = DEFAULT_TIMEOUT;
     private int connectTimeout = DEFAULT_TIMEOUT;
+    private int spillBodySize = (int) BodyBuffer.DEFAULT_THRESHOLD;
     private Charset charset = StandardCharsets.UTF_8;
     private String proxyUri;
     private String proxyUsername;
@@ -104,8 +106,12 @@ public class Config {
 
     // call single cache config
     private int callSingleCacheMinutes = 0;
+    private int callSingleCacheMemoryMinutes = 0;
     private String callSingleCacheDir = FileUtils.getBuildDir();
 
+    // only applies if the suite has been set up to evaluate config once
+    private boolean configSnapshot = true;
+
     public Config() {
         // zero arg constructor
     }
@@ -133,6 +139,7 @@ public class Config {
         afterFeature = attach(afterFeature, je);
         headers = attach(headers, je);
         cookies = attach(cookies, je);
+        responseHeaders = attach(responseHeaders, je);
     }
 
     protected void detach() {
@@ -140,6 +147,7 @@ public class Config {
         afterFeature = detach(afterFeature);
         headers = detach(headers);
         cookies = detach(cookies);
+        responseHeaders = detach(responseHeaders);
     }
 
     private static <T> T get(Map<String, Object> map, String key, T defaultValue) {
@@ -238,12 +246,19 @@ public class Config {
                 if (value.isMap()) {
                     Map<String, Object> map = value.getValue();
                     callSingleCacheMinutes = get(map, "minutes", callSingleCacheMinutes);
+                    callSingleCacheMemoryMinutes = get(map, "memoryMinutes", callSingleCacheMemoryMinutes);
                     callSingleCacheDir = get(map, "dir", callSingleCacheDir);
                 }
                 return false;
+            case "configSnapshot":
+                configSnapshot = value.isTrue();
+                return false;
             case "logModifier":
                 logModifier = value.getValue();
                 return false;
+            case "spillBodySize":
+                spillBodySize = value.getAsInt();
+                return false;
             // here on the http client has to be re-constructed ================
             case "charset":
                 charset = value.isNull() ? null : Charset.forName(value.getAsString());
@@ -341,6 +356,7 @@ public class Config {
         followRedirects = parent.followRedirects;
         readTimeout = parent.readTimeout;
         connectTimeout = parent.connectTimeout;
+        spillBodySize = parent.spillBodySize;
         charset = parent.charset;
         proxyUri = parent.proxyUri;
         proxyUsername = parent.proxyUsername;
@@ -365,7 +381,9 @@ public class Config {
         abortedStepsShouldPass = parent.abortedStepsShouldPass;
         logModifier = parent.logModifier;
         callSingleCacheMinutes = parent.callSingleCacheMinutes;
+        callSingleCacheMemoryMinutes = parent.callSingleCacheMemoryMinutes;
         callSingleCacheDir = parent.callSingleCacheDir;
+        configSnapshot = parent.configSnapshot;
         headers = parent.headers;
         cookies = parent.cookies;
         responseHeaders = parent.responseHeaders;
@@ -423,6 +441,10 @@ public class Config {
         return readTimeout;
     }
 
+    public int getSpillBodySize() {
+        return spillBodySize;
+    }
+
     public int getConnectTimeout() {
         return connectTimeout;
     }
@@ -575,6 +597,14 @@ public class Config {
         return callSingleCacheMinutes;
     }
 
+    public int getCallSingleCacheMemoryMinutes() {
+        return callSingleCacheMemoryMinutes;
+    }
+
+    public boolean isConfigSnapshot() {
+        return configSnapshot;
+    }
+
     public List<Method> getContinueOnStepFailureMethods() {
         return continueOnStepFailureMethods;
     }
@@ -0,0 +1,76 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.core;
+
+import com.intuit.karate.JsonUtils;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * the frozen result of evaluating karate-config.js (and friends) once per
+ * suite, all js functions are held in detached form so that this can be
+ * safely re-used from any thread / js context
+ *
+ * @author pthomas3
+ */
+public class ConfigSnapshot {
+
+    private final Map<String, Object> vars;
+    private final Config config;
+
+    private ConfigSnapshot(Map<String, Object> vars, Config config) {
+        this.vars = vars;
+        this.config = config;
+    }
+
+    protected static ConfigSnapshot of(ScenarioEngine engine, Collection<String> names) {
+        Map<String, Object> vars = new LinkedHashMap(names.size());
+        for (String name : names) {
+            Variable v = engine.vars.get(name);
+            if (v != null) {
+                // copy first, detach works in-place and the source engine is still in use
+                Object copy = JsonUtils.deepCopy(v.getValue());
+                vars.put(name, engine.recurseAndDetachAndShallowClone(copy));
+            }
+        }
+        Config config = new Config(engine.getConfig());
+        config.detach();
+        return new ConfigSnapshot(vars, config);
+    }
+
+    protected void applyTo(ScenarioEngine engine) {
+        engine.setConfig(new Config(config));
+        vars.forEach((k, v) -> {
+            // attach works in-place, so never hand out the shared instance
+            Object copy = JsonUtils.deepCopy(v);
+            engine.setVariable(k, engine.recurseAndAttach(copy));
+        });
+    }
+
+    public Map<String, Object> getVars() {
+        return vars;
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.core;
+
+import com.intuit.karate.FileUtils;
+import com.intuit.karate.resource.FileResource;
+import com.intuit.karate.resource.Resource;
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * process-wide cache of parsed features, so that a feature that is called
+ * (or run by gatling) over and over again is parsed only once, entries are
+ * keyed by path plus call-tag and are re-parsed if the file last-modified
+ * time (or for in-memory resources the content) changes, jar resources cannot
+ * change at run time and are never re-parsed
+ *
+ * features handed out by this cache are shared across threads and must not
+ * be mutated, which is why the call-tag is part of the key
+ *
+ * @author pthomas3
+ */
+public class FeatureCache {
+
+    private static final int MAX_SIZE = 1000;
+    private static final String JAR_VERSION = "jar";
+
+    private static final Map<String, Entry> CACHE = new ConcurrentHashMap();
+    private static final AtomicLong HITS = new AtomicLong();
+    private static final AtomicLong PARSES = new AtomicLong();
+
+    private FeatureCache() {
+        // only static methods
+    }
+
+    private static class Entry {
+
+        final Object version;
+        final Feature feature;
+
+        Entry(Object version, Feature feature) {
+            this.version = version;
+            this.feature = feature;
+        }
+
+    }
+
+    private static Object version(Resource resource) {
+        if (resource instanceof FileResource) {
+            File file = resource.getFile();
+            return file.lastModified() + ":" + file.length();
+        } else if (resource.isClassPath()) { // jar
+            return JAR_VERSION;
+        } else { // in-memory, compared in full
+            return FileUtils.toString(resource.getStream());
+        }
+    }
+
+    public static Feature get(Resource resource, String callTag) {
+        String key = callTag == null ? resource.getPrefixedPath() : resource.getPrefixedPath() + callTag;
+        Object version = version(resource);
+        Entry entry = CACHE.get(key);
+        if (entry != null && entry.version.equals(version)) {
+            HITS.incrementAndGet();
+            return entry.feature;
+        }
+        // once full, stop caching new paths, features seen by then are the "hot" ones
+        if (entry == null && CACHE.size() >= MAX_SIZE) {
+            PARSES.incrementAndGet();
+            Feature feature = Feature.read(resource);
+            feature.setCallTag(callTag);
+            return feature;
+        }
+        // compute() so that concurrent callers of the same key parse only once
+        entry = CACHE.compute(key, (k, v) -> {
+            if (v != null && v.version.equals(version)) {
+                HITS.incrementAndGet();
+                return v;
+            }
+            PARSES.incrementAndGet();
+            Feature feature = Feature.read(resource);
+            feature.setCallTag(callTag);
+            return new Entry(version, feature);
+        });
+        return entry.feature;
+    }
+
+    public static long getHitCount() {
+        return HITS.get();
+    }
+
+    public static long getParseCount() {
+        return PARSES.get();
+    }
+
+    public static int size() {
+        return CACHE.size();
+    }
+
+    public static void clear() {
+        CACHE.clear();
+        HITS.set(0);
+        PARSES.set(0);
+    }
+
+}
@@ -30,6 +30,8 @@ import com.intuit.karate.KarateException;
 import com.intuit.karate.resource.Resource;
 import com.intuit.karate.resource.ResourceUtils;
 import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
@@ -135,6 +137,21 @@ public class FeatureResult {
     }
 
     public Map<String, Object> toKarateJson() {
+        Map<String, Object> map = toKarateJsonHeader();
+        List<Map<String, Object>> list = new ArrayList(scenarioResults.size());
+        map.put("scenarioResults", list);
+        for (ScenarioResult sr : scenarioResults) {
+            list.add(sr.toKarateJson());
+        }
+        return map;
+    }
+
+    public void writeKarateJson(Writer writer) throws IOException {
+        Map<String, Object> map = toKarateJsonHeader();
+        JsonUtils.writeJson(writer, map, "scenarioResults", scenarioResults.stream().map(ScenarioResult::toKarateJson).iterator());
+    }
+
+    private Map<String, Object> toKarateJsonHeader() {
         Map<String, Object> map = new HashMap();
         // these first few are only for the ease of reports
         // note that they are not involved in the reverse fromKarateJson()
@@ -151,11 +168,6 @@ public class FeatureResult {
         }
         map.put("resultDate", resultDate);
         map.put("prefixedPath", feature.getResource().getPrefixedPath());
-        List<Map<String, Object>> list = new ArrayList(scenarioResults.size());
-        map.put("scenarioResults", list);
-        for (ScenarioResult sr : scenarioResults) {
-            list.add(sr.toKarateJson());
-        }
         if (callArg != null) {
             String json = JsonUtils.toJsonSafe(callArg, false);
             map.put("callArg", JsonUtils.fromJson(json));
@@ -166,6 +178,32 @@ public class FeatureResult {
     }
 
     public Map<String, Object> toCucumberJson() {
+        Map<String, Object> map = toCucumberJsonHeader();
+        List<Map<String, Object>> list = new ArrayList(scenarioResults.size());
+        map.put("elements", list);
+        for (ScenarioResult sr : scenarioResults) {
+            list.addAll(toCucumberJsonElements(sr));
+        }
+        return map;
+    }
+
+    public void writeCucumberJson(Writer writer) throws IOException {
+        Map<String, Object> map = toCucumberJsonHeader();
+        JsonUtils.writeJson(writer, map, "elements", scenarioResults.stream().flatMap(sr -> toCucumberJsonElements(sr).stream()).iterator());
+    }
+
+    private static List<Map<String, Object>> toCucumberJsonElements(ScenarioResult sr) {
+        Map<String, Object> backgroundMap = sr.backgroundToCucumberJson();
+        if (backgroundMap == null) {
+            return Collections.singletonList(sr.toCucumberJson());
+        }
+        List<Map<String, Object>> list = new ArrayList(2);
+        list.add(backgroundMap);
+        list.add(sr.toCucumberJson());
+        return list;
+    }
+
+    private Map<String, Object> toCucumberJsonHeader() {
         Map<String, Object> map = new HashMap();
         map.put("keyword", Feature.KEYWORD);
         map.put("line", feature.getLine());
@@ -180,15 +218,6 @@ public class FeatureResult {
         if (feature.getTags() != null) {
             map.put("tags", ScenarioResult.tagsToCucumberJson(feature.getTags()));
         }
-        List<Map<String, Object>> list = new ArrayList(scenarioResults.size());
-        map.put("elements", list);
-        for (ScenarioResult sr : scenarioResults) {
-            Map<String, Object> backgroundMap = sr.backgroundToCucumberJson();
-            if (backgroundMap != null) {
-                list.add(backgroundMap);
-            }
-            list.add(sr.toCucumberJson());
-        }
         return map;
     }
 
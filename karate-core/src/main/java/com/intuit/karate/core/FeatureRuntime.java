@@ -30,10 +30,10 @@ import com.intuit.karate.http.HttpClientFactory;
 import com.intuit.karate.resource.MemoryResource;
 import com.intuit.karate.resource.Resource;
 import java.io.File;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -55,7 +55,7 @@ public class FeatureRuntime implements Runnable {
 
     private final ParallelProcessor<ScenarioRuntime> processor;
 
-    public final Map<String, ScenarioCall.Result> CALLONCE_CACHE = new HashMap();
+    public final Map<String, ScenarioCall.Result> CALLONCE_CACHE = new ConcurrentHashMap();
 
     private Runnable next;
 
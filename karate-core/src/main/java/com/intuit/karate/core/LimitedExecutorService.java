@@ -0,0 +1,130 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.core;
+
+import com.intuit.karate.graal.JsEngine;
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * caps the number of tasks running at the same time on an executor that
+ * itself has no limit, which is the case for a thread-per-task executor of
+ * virtual threads, tasks that are over the limit wait (cheaply, when on a
+ * virtual thread) for a permit instead of piling up in a queue
+ *
+ * @author pthomas3
+ */
+public class LimitedExecutorService extends AbstractExecutorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LimitedExecutorService.class);
+
+    private final ExecutorService delegate;
+    private final Semaphore permits;
+
+    public LimitedExecutorService(ExecutorService delegate, int limit) {
+        this.delegate = delegate;
+        this.permits = new Semaphore(limit);
+    }
+
+    // karate is built for java 8, so look up the java 21 api at runtime
+    public static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) method.invoke(null);
+        } catch (Exception e) { // also thrown when a preview api is not enabled
+            logger.debug("virtual threads not supported: {}", e + "");
+            return null;
+        }
+    }
+
+    public static LimitedExecutorService ofVirtualThreads(int limit) {
+        ExecutorService executor = newVirtualThreadPerTaskExecutor();
+        return executor == null ? null : new LimitedExecutorService(executor, limit);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        delegate.execute(() -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                return; // shutdownNow()
+            }
+            try {
+                command.run();
+            } finally {
+                permits.release();
+                // the thread will not run another task, let go of
+                // thread-locals (e.g. a js context) without waiting for gc
+                ScenarioEngine.remove();
+                JsEngine.remove();
+            }
+        });
+    }
+
+    /**
+     * for a running task that is about to block (e.g. a pause), so that a
+     * waiting task can run meanwhile, call acquirePermit() when done
+     */
+    public void releasePermit() {
+        permits.release();
+    }
+
+    public void acquirePermit() {
+        permits.acquireUninterruptibly(); // the task will release it when done
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+
+}
@@ -28,6 +28,7 @@ import com.intuit.karate.Suite;
 import com.intuit.karate.StringUtils;
 import com.intuit.karate.Json;
 import com.intuit.karate.KarateException;
+import com.intuit.karate.Logger;
 import com.intuit.karate.graal.JsValue;
 import com.intuit.karate.http.HttpClientFactory;
 import com.intuit.karate.http.HttpUtils;
@@ -35,15 +36,17 @@ import com.intuit.karate.http.Request;
 import com.intuit.karate.http.ResourceType;
 import com.intuit.karate.http.Response;
 import com.intuit.karate.http.ServerHandler;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.BiFunction;
 import java.util.function.Function;
-import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
@@ -52,7 +55,7 @@ import org.slf4j.LoggerFactory;
  */
 public class MockHandler implements ServerHandler {
 
-    private static final Logger logger = LoggerFactory.getLogger(MockHandler.class);
+    private static final org.slf4j.Logger logger = LoggerFactory.getLogger(MockHandler.class);
 
     private static final String REQUEST_BYTES = "requestBytes";
     private static final String REQUEST_PARAMS = "requestParams";
@@ -60,19 +63,22 @@ public class MockHandler implements ServerHandler {
 
     private static final String RESPONSE_DELAY = "responseDelay";
 
-    private static final String PATH_MATCHES = "pathMatches";
-    private static final String METHOD_IS = "methodIs";
-    private static final String TYPE_CONTAINS = "typeContains";
-    private static final String ACCEPT_CONTAINS = "acceptContains";
+    private static final String PATH_MATCHES = MockRouter.PATH_MATCHES;
+    private static final String METHOD_IS = MockRouter.METHOD_IS;
+    private static final String TYPE_CONTAINS = MockRouter.TYPE_CONTAINS;
+    private static final String ACCEPT_CONTAINS = MockRouter.ACCEPT_CONTAINS;
     private static final String HEADER_CONTAINS = "headerContains";
     private static final String PARAM_VALUE = "paramValue";
-    private static final String PARAM_EXISTS = "paramExists";
+    private static final String PARAM_EXISTS = MockRouter.PARAM_EXISTS;
     private static final String PATH_PARAMS = "pathParams";
     private static final String BODY_PATH = "bodyPath";
 
     private final LinkedHashMap<Feature, ScenarioRuntime> features = new LinkedHashMap<>(); // feature + holds global config and vars
-    private final Map<String, Variable> globals = new HashMap<>();
+    private final Map<Feature, Config> configs = new HashMap<>(); // detached, used as a template in concurrent mode
+    private final Map<Feature, MockRouter> routers = new HashMap<>();
+    private final Map<String, Variable> globals = new ConcurrentHashMap<>();
     private boolean corsEnabled;
+    private boolean concurrent;
 
     protected static final ThreadLocal<Request> LOCAL_REQUEST = new ThreadLocal<>();
     private String prefix = null;
@@ -82,6 +88,20 @@ public class MockHandler implements ServerHandler {
         return this;
     }
 
+    /**
+     * by default requests are served one at a time, in concurrent mode each
+     * request runs in its own engine over a private copy of the globals and
+     * only variables that were changed are written back (last write wins)
+     */
+    public MockHandler withConcurrency(boolean concurrent) {
+        this.concurrent = concurrent;
+        return this;
+    }
+
+    public boolean isConcurrent() {
+        return concurrent;
+    }
+
     public MockHandler(Feature feature) {
         this(feature, null);
     }
@@ -122,6 +142,10 @@ public class MockHandler implements ServerHandler {
             }
             corsEnabled = corsEnabled || runtime.engine.getConfig().isCorsEnabled();
             globals.putAll(runtime.engine.detachVariables());
+            Config config = new Config(runtime.engine.getConfig());
+            config.detach();
+            configs.put(feature, config);
+            routers.put(feature, new MockRouter(feature));
             runtime.logger.info("mock server initialized: {}", feature);
             this.features.put(feature, runtime);
         }
@@ -143,7 +167,16 @@ public class MockHandler implements ServerHandler {
     private static final String ALLOWED_METHODS = "GET, HEAD, POST, PUT, DELETE, PATCH";
 
     @Override
-    public synchronized Response handle(Request req) { // note the [synchronized]
+    public Response handle(Request req) {
+        if (concurrent) {
+            return handleRequest(req);
+        }
+        synchronized (this) {
+            return handleRequest(req);
+        }
+    }
+
+    private Response handleRequest(Request req) {
         if (corsEnabled && "OPTIONS".equals(req.getMethod())) {
             Response response = new Response(200);
             response.setHeader("Allow", ALLOWED_METHODS);
@@ -164,34 +197,42 @@ public class MockHandler implements ServerHandler {
         for (Map.Entry<Feature, ScenarioRuntime> entry : this.features.entrySet()) {
             Feature feature = entry.getKey();
             ScenarioRuntime runtime = entry.getValue();
+            MockRouter router = routers.get(feature);
+            List<MockRouter.Route> routes = router.candidates(req);
+            if (routes.isEmpty()) { // no need to even create an engine
+                continue;
+            }
             // important for graal to work properly
             Thread.currentThread().setContextClassLoader(runtime.featureRuntime.suite.classLoader);
             LOCAL_REQUEST.set(req);
             req.processBody();
-            ScenarioEngine engine = createScenarioEngine(req, runtime);
+            Map<String, Variable> snapshot = concurrent ? new HashMap<>(globals) : null;
+            ScenarioEngine engine = concurrent
+                    ? createIsolatedScenarioEngine(req, runtime, configs.get(feature), snapshot)
+                    : createScenarioEngine(req, runtime);
             Map<String, List<Map<String, Object>>> parts = req.getMultiParts();
             if (parts != null) {
                 engine.setHiddenVariable(REQUEST_PARTS, parts);
             }
-            for (FeatureSection fs : feature.getSections()) {
-                if (fs.isOutline()) {
-                    runtime.logger.warn("skipping scenario outline - {}:{}", feature, fs.getScenarioOutline().getLine());
-                    break;
-                }
-                Scenario scenario = fs.getScenario();
-                if (isMatchingScenario(scenario, engine)) {
+            for (MockRouter.Route route : routes) {
+                Scenario scenario = route.scenario;
+                if (isMatchingRoute(route, engine)) {
                     Map<String, Object> configureHeaders;
                     Variable response, responseStatus, responseHeaders, responseDelay;
                     ScenarioActions actions = new ScenarioActions(engine);
                     Result result = PASSED;
-                    result = executeScenarioSteps(feature, runtime, scenario, actions, result);
+                    result = executeScenarioSteps(feature, engine.logger, scenario, actions, result);
                     engine.mockAfterScenario();
                     configureHeaders = engine.mockConfigureHeaders();
                     response = engine.vars.remove(ScenarioEngine.RESPONSE);
                     responseStatus = engine.vars.remove(ScenarioEngine.RESPONSE_STATUS);
                     responseHeaders = engine.vars.remove(ScenarioEngine.RESPONSE_HEADERS);
                     responseDelay = engine.vars.remove(RESPONSE_DELAY);
-                    globals.putAll(engine.detachVariables());
+                    if (concurrent) {
+                        updateGlobals(snapshot, engine.detachVariables());
+                    } else {
+                        globals.putAll(engine.detachVariables());
+                    }
                     Response res = new Response(200);
                     if (result.isFailed()) {
                         response = new Variable(result.getError().getMessage());
@@ -226,6 +267,10 @@ public class MockHandler implements ServerHandler {
                     return res;
                 }
             }
+            if (router.size() < feature.getSections().size()) {
+                FeatureSection fs = feature.getSections().get(router.size());
+                engine.logger.warn("skipping scenario outline - {}:{}", feature, fs.getScenarioOutline().getLine());
+            }
         }
         logger.warn("no scenarios matched, returning 404: {}", req); // NOTE: not logging with engine.logger
         if (prevEngine != null) {
@@ -234,17 +279,17 @@ public class MockHandler implements ServerHandler {
         return new Response(404);
     }
 
-    private Result executeScenarioSteps(Feature feature, ScenarioRuntime runtime, Scenario scenario, ScenarioActions actions, Result result) {
+    private Result executeScenarioSteps(Feature feature, Logger logger, Scenario scenario, ScenarioActions actions, Result result) {
         for (Step step : scenario.getSteps()) {
             result = StepRuntime.execute(step, actions);
             if (result.isAborted()) {
-                runtime.logger.debug("abort at {}:{}", feature, step.getLine());
+                logger.debug("abort at {}:{}", feature, step.getLine());
                 break;
             }
             if (result.isFailed()) {
                 String message = "server-side scenario failed, " + feature + ":" + step.getLine()
                         + "\n" + step.toString() + "\n" + result.getError().getMessage();
-                runtime.logger.error(message);
+                logger.error(message);
                 break;
             }
         }
@@ -255,6 +300,28 @@ public class MockHandler implements ServerHandler {
         ScenarioEngine engine = new ScenarioEngine(runtime, new HashMap<>(globals));
         ScenarioEngine.set(engine);
         engine.init();
+        setRequestVariables(engine, req);
+        return engine;
+    }
+
+    private ScenarioEngine createIsolatedScenarioEngine(Request req, ScenarioRuntime runtime, Config config, Map<String, Variable> snapshot) {
+        // init() attaches js functions by mutating maps and lists in place
+        // so every request needs its own copy of anything that is shared
+        // one identity map for all variables, so that two globals that refer to the
+        // same map or list still refer to one (new) copy
+        Map<Object, Object> seen = new IdentityHashMap<>();
+        Map<String, Variable> vars = new HashMap<>(snapshot.size());
+        snapshot.forEach((k, v) -> vars.put(k, new Variable(deepCopy(v.getValue(), seen))));
+        // the shared log appender is not thread-safe, so each request gets its own logger
+        ScenarioEngine engine = new ScenarioEngine(new Config(config), runtime, vars, new Logger());
+        ScenarioEngine.set(engine);
+        engine.init();
+        engine.setConfig(engine.getConfig()); // attach configured functions to this request's js context
+        setRequestVariables(engine, req);
+        return engine;
+    }
+
+    private static void setRequestVariables(ScenarioEngine engine, Request req) {
         engine.setVariable(ScenarioEngine.REQUEST_URL_BASE, req.getUrlBase());
         engine.setVariable(ScenarioEngine.REQUEST_URI, req.getPath());
         engine.setVariable(ScenarioEngine.REQUEST_METHOD, req.getMethod());
@@ -262,15 +329,79 @@ public class MockHandler implements ServerHandler {
         engine.setVariable(ScenarioEngine.REQUEST, req.getBodyConverted());
         engine.setVariable(REQUEST_PARAMS, req.getParams());
         engine.setVariable(REQUEST_BYTES, req.getBody());
-        return engine;
     }
 
-    private boolean isMatchingScenario(Scenario scenario, ScenarioEngine engine) {
-        String expression = StringUtils.trimToNull(scenario.getName() + scenario.getDescription());
-        if (expression == null) {
-            engine.logger.debug("default scenario matched at line: {} - {}", scenario.getLine(), engine.getVariable(ScenarioEngine.REQUEST_URI));
-            return true;
+    static Object deepCopy(Object o, Map<Object, Object> seen) {
+        if (o instanceof List) {
+            Object existing = seen.get(o);
+            if (existing != null) {
+                return existing;
+            }
+            List<Object> list = (List) o;
+            List<Object> copy = new ArrayList<>(list.size());
+            seen.put(o, copy);
+            list.forEach(v -> copy.add(deepCopy(v, seen)));
+            return copy;
+        } else if (o instanceof Map) {
+            Object existing = seen.get(o);
+            if (existing != null) {
+                return existing;
+            }
+            Map<String, Object> map = (Map) o;
+            Map<String, Object> copy = new LinkedHashMap<>(map.size());
+            seen.put(o, copy);
+            map.forEach((k, v) -> copy.put(k, deepCopy(v, seen)));
+            return copy;
+        } else {
+            return o;
+        }
+    }
+
+    private void updateGlobals(Map<String, Variable> snapshot, Map<String, Variable> detached) {
+        detached.forEach((k, v) -> {
+            Variable before = snapshot.get(k);
+            if (before == null || !Objects.equals(before.getValue(), v.getValue())) {
+                globals.put(k, v);
+            }
+        });
+    }
+
+    private boolean isMatchingRoute(MockRouter.Route route, ScenarioEngine engine) {
+        if (!route.isStatic()) {
+            return isMatchingScenario(route.scenario, route.expression, engine);
         }
+        for (StringUtils.Pair call : route.calls) { // same order and short-circuit as the js would be
+            boolean result;
+            switch (call.left) {
+                case PATH_MATCHES:
+                    result = pathMatches(call.right);
+                    break;
+                case METHOD_IS:
+                    result = methodIs(call.right);
+                    break;
+                case TYPE_CONTAINS:
+                    result = typeContains(call.right);
+                    break;
+                case ACCEPT_CONTAINS:
+                    result = acceptContains(call.right);
+                    break;
+                default: // PARAM_EXISTS
+                    result = paramExists(call.right);
+            }
+            if (!result) {
+                engine.logger.trace("scenario skipped at line {}: {}", route.scenario.getLine(), route.expression);
+                return false;
+            }
+        }
+        if (route.expression == null) {
+            engine.logger.debug("default scenario matched at line: {} - {}", route.scenario.getLine(), engine.getVariable(ScenarioEngine.REQUEST_URI));
+        } else {
+            engine.logger.debug("scenario matched at line {}: {}", route.scenario.getLine(), route.expression);
+        }
+        return true;
+    }
+
+    private boolean isMatchingScenario(Scenario scenario, String expression, ScenarioEngine engine) {
         try {
             Variable v = engine.evalJs(expression);
             if (v.isTrue()) {
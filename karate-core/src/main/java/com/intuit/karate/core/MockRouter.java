@@ -0,0 +1,220 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.core;
+
+import com.intuit.karate.StringUtils;
+import com.intuit.karate.http.Request;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * most mock scenarios are of the form pathMatches('/foo/{id}') &&
+ * methodIs('get'), such conditions are parsed once and indexed by method and
+ * path so that a request only needs to be checked against the scenarios that
+ * can possibly match, anything else is still evaluated as js
+ *
+ * @author pthomas3
+ */
+class MockRouter {
+
+    static final String PATH_MATCHES = "pathMatches";
+    static final String METHOD_IS = "methodIs";
+    static final String TYPE_CONTAINS = "typeContains";
+    static final String ACCEPT_CONTAINS = "acceptContains";
+    static final String PARAM_EXISTS = "paramExists";
+
+    private static final Pattern CALL = Pattern.compile("^\\s*\\(?\\s*(\\w+)\\s*\\(\\s*(['\"])([^'\"\\\\]*)\\2\\s*\\)\\s*\\)?\\s*$");
+
+    static class Route {
+
+        final Scenario scenario;
+        final String expression; // null for the default scenario
+        final List<StringUtils.Pair> calls; // null if js has to be evaluated
+
+        Route(Scenario scenario, String expression, List<StringUtils.Pair> calls) {
+            this.scenario = scenario;
+            this.expression = expression;
+            this.calls = calls;
+        }
+
+        boolean isStatic() {
+            return calls != null;
+        }
+
+    }
+
+    private static class Node {
+
+        final Map<String, Node> children = new HashMap();
+        Node param;
+        final BitSet routes = new BitSet();
+
+    }
+
+    private final List<Route> routes = new ArrayList();
+    private final Node root = new Node();
+    private final BitSet anyPath = new BitSet();
+    private final BitSet anyMethod = new BitSet();
+    private final Map<String, BitSet> methods = new HashMap();
+    private int staticCount;
+
+    MockRouter(Feature feature) {
+        for (FeatureSection fs : feature.getSections()) {
+            if (fs.isOutline()) { // handled (skipped) by the caller, and ends the feature
+                break;
+            }
+            Scenario scenario = fs.getScenario();
+            String expression = StringUtils.trimToNull(scenario.getName() + scenario.getDescription());
+            List<StringUtils.Pair> calls = expression == null ? Collections.emptyList() : parse(expression);
+            int index = routes.size();
+            routes.add(new Route(scenario, expression, calls));
+            if (calls == null) {
+                anyPath.set(index);
+                anyMethod.set(index);
+                continue;
+            }
+            staticCount++;
+            String path = null;
+            String method = null;
+            for (StringUtils.Pair call : calls) {
+                if (path == null && PATH_MATCHES.equals(call.left)) {
+                    path = call.right;
+                } else if (method == null && METHOD_IS.equals(call.left)) {
+                    method = call.right.toUpperCase();
+                }
+            }
+            if (path == null) {
+                anyPath.set(index);
+            } else {
+                Node node = root;
+                for (String segment : StringUtils.split(path, '/', false)) {
+                    if (segment.startsWith("{") && segment.endsWith("}")) {
+                        if (node.param == null) {
+                            node.param = new Node();
+                        }
+                        node = node.param;
+                    } else {
+                        node = node.children.computeIfAbsent(segment, k -> new Node());
+                    }
+                }
+                node.routes.set(index);
+            }
+            if (method == null) {
+                anyMethod.set(index);
+            } else {
+                methods.computeIfAbsent(method, k -> new BitSet()).set(index);
+            }
+        }
+    }
+
+    /**
+     * @return the calls if the expression is only a chain of supported calls
+     * with literal string arguments joined by &&, else null
+     */
+    static List<StringUtils.Pair> parse(String expression) {
+        if (expression.contains("||")) {
+            return null;
+        }
+        List<StringUtils.Pair> calls = new ArrayList();
+        for (String term : expression.split("&&")) {
+            Matcher matcher = CALL.matcher(term);
+            if (!matcher.matches()) {
+                return null;
+            }
+            String name = matcher.group(1);
+            switch (name) {
+                case PATH_MATCHES:
+                case METHOD_IS:
+                case TYPE_CONTAINS:
+                case ACCEPT_CONTAINS:
+                case PARAM_EXISTS:
+                    calls.add(StringUtils.pair(name, matcher.group(3)));
+                    break;
+                default:
+                    return null;
+            }
+        }
+        return calls;
+    }
+
+    /**
+     * @return the routes in feature order, that are either js or that match
+     * the request method and path, the caller still has to check each one
+     */
+    List<Route> candidates(Request request) {
+        if (staticCount == 0) {
+            return routes;
+        }
+        String path = request.getPath();
+        int pos = path.indexOf('?');
+        if (pos != -1) {
+            path = path.substring(0, pos);
+        }
+        BitSet byPath = (BitSet) anyPath.clone();
+        collect(root, StringUtils.split(path, '/', false), 0, byPath);
+        BitSet byMethod = (BitSet) anyMethod.clone();
+        BitSet forMethod = methods.get(request.getMethod().toUpperCase());
+        if (forMethod != null) {
+            byMethod.or(forMethod);
+        }
+        byPath.and(byMethod);
+        if (byPath.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<Route> list = new ArrayList(byPath.cardinality());
+        for (int i = byPath.nextSetBit(0); i >= 0; i = byPath.nextSetBit(i + 1)) {
+            list.add(routes.get(i));
+        }
+        return list;
+    }
+
+    private static void collect(Node node, List<String> segments, int depth, BitSet result) {
+        if (depth == segments.size()) {
+            result.or(node.routes);
+            return;
+        }
+        Node child = node.children.get(segments.get(depth));
+        if (child != null) {
+            collect(child, segments, depth + 1, result);
+        }
+        if (node.param != null) {
+            collect(node.param, segments, depth + 1, result);
+        }
+    }
+
+    int getStaticCount() {
+        return staticCount;
+    }
+
+    int size() {
+        return routes.size();
+    }
+
+}
@@ -23,12 +23,15 @@
  */
 package com.intuit.karate.core;
 
+import com.intuit.karate.FileUtils;
 import com.intuit.karate.http.HttpServer;
 import com.intuit.karate.http.HttpServerHandler;
 import com.intuit.karate.http.Request;
 import com.intuit.karate.http.Response;
 import com.intuit.karate.http.ServerHandler;
 import com.intuit.karate.http.SslContextFactory;
+import com.intuit.karate.resource.FileResource;
+import com.intuit.karate.resource.ResourceUtils;
 import com.linecorp.armeria.server.HttpService;
 import com.linecorp.armeria.server.Server;
 import com.linecorp.armeria.server.ServerBuilder;
@@ -64,6 +67,7 @@ public class MockServer extends HttpServer {
         int port;
         boolean ssl;
         boolean watch;
+        boolean concurrent;
         File certFile;
         File keyFile;
         Map<String, Object> args;
@@ -74,6 +78,11 @@ public class MockServer extends HttpServer {
             return this;
         }
 
+        public Builder concurrent(boolean value) {
+            concurrent = value;
+            return this;
+        }
+
         public Builder http(int value) {
             port = value;
             return this;
@@ -129,7 +138,8 @@ public class MockServer extends HttpServer {
             } else {
                 sb.http(port);
             }
-            ServerHandler handler = watch ? new ReloadingMockHandler(features, args, prefix) : new MockHandler(features, args).withPrefix(prefix);
+            ServerHandler handler = watch ? new ReloadingMockHandler(features, args, prefix, concurrent)
+                    : new MockHandler(features, args).withPrefix(prefix).withConcurrency(concurrent);
             HttpService service = new HttpServerHandler(handler);
             sb.service("prefix:" + (prefix == null ? "/" : prefix), service);
             return new MockServer(sb);
@@ -140,26 +150,28 @@ public class MockServer extends HttpServer {
     private static class ReloadingMockHandler implements ServerHandler {
 
         private final Map<String, Object> args;
-        private MockHandler handler;
+        private volatile MockHandler handler;
         private final LinkedHashMap<File, Long> files = new LinkedHashMap<>();
         private final String prefix;
+        private final boolean concurrent;
 
-        public ReloadingMockHandler(List<Feature> features, Map<String, Object> args, String prefix) {
+        public ReloadingMockHandler(List<Feature> features, Map<String, Object> args, String prefix, boolean concurrent) {
             this.args = args;
             this.prefix = prefix;
+            this.concurrent = concurrent;
             for (Feature f : features) {
                 this.files.put(f.getResource().getFile(), f.getResource().getFile().lastModified());
             }
             logger.debug("watch mode init - {}", files);
-            handler = new MockHandler(features, args).withPrefix(prefix);
+            handler = new MockHandler(features, args).withPrefix(prefix).withConcurrency(concurrent);
         }
 
         @Override
         public Response handle(Request request) {
             boolean reload = files.entrySet().stream().reduce(false, (modified, entry) -> entry.getKey().lastModified() > entry.getValue(), (a, b) -> a || b);
             if (reload) {
-                List<Feature> features = files.keySet().stream().map(f -> Feature.read(f)).collect(Collectors.toList());
-                handler = new MockHandler(features, args).withPrefix(prefix);
+                List<Feature> features = files.keySet().stream().map(f -> FeatureCache.get(new FileResource(f), null)).collect(Collectors.toList());
+                handler = new MockHandler(features, args).withPrefix(prefix).withConcurrency(concurrent);
             }
             return handler.handle(request);
         }
@@ -167,11 +179,11 @@ public class MockServer extends HttpServer {
     }
 
     public static Builder feature(String path) {
-        return new Builder(Feature.read(path));
+        return new Builder(FeatureCache.get(ResourceUtils.getResource(FileUtils.WORKING_DIR, path), null));
     }
 
     public static Builder feature(File file) {
-        return new Builder(Feature.read(file));
+        return new Builder(FeatureCache.get(new FileResource(file), null));
     }
 
     public static Builder feature(Feature feature) {
@@ -179,7 +191,7 @@ public class MockServer extends HttpServer {
     }
     
     public static Builder featurePaths(List<String> paths) {
-        return new Builder(paths.stream().map(p -> Feature.read(p)).collect(Collectors.toList()));
+        return new Builder(paths.stream().map(p -> FeatureCache.get(ResourceUtils.getResource(FileUtils.WORKING_DIR, p), null)).collect(Collectors.toList()));
     }    
 
     public static Builder featurePaths(String... paths) {
@@ -187,7 +199,7 @@ public class MockServer extends HttpServer {
     }
 
     public static Builder featureFiles(List<File> features) {
-        return new Builder(features.stream().map(file -> Feature.read(file)).collect(Collectors.toList()));
+        return new Builder(features.stream().map(file -> FeatureCache.get(new FileResource(file), null)).collect(Collectors.toList()));
     }
 
     public static Builder features(List<Feature> features) {
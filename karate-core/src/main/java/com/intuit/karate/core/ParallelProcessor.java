@@ -50,35 +50,35 @@ public abstract class ParallelProcessor<T> {
         this.monitor = monitor;
     }
 
-    private Runnable toRunnable(final CompletableFuture prevFuture, final T next, final CompletableFuture future) {
+    private Runnable toRunnable(final T next) {
         return () -> {
-            if (prevFuture != null) {
-                prevFuture.join();
-            }
             try {
                 process(next);
             } catch (Exception e) {
                 logger.error("[parallel] input item failed: {}", e.getMessage());
             }
-            future.complete(Boolean.TRUE);
         };
     }
 
     public void execute() {
         CompletableFuture prevFuture = null;
         while (publisher.hasNext()) {
-            final CompletableFuture future = new CompletableFuture();
-            futures.add(future);
             T next = publisher.next();
             boolean sync = shouldRunSynchronously(next);
-            executor.submit(toRunnable(prevFuture, next, future));
+            final CompletableFuture future;
+            if (prevFuture == null) {
+                future = CompletableFuture.runAsync(toRunnable(next), executor);
+            } else {
+                // dependency edge, the item is submitted only when the previous one is done
+                // so that no pool thread is blocked waiting for it
+                future = prevFuture.thenRunAsync(toRunnable(next), executor);
+            }
+            futures.add(future);
             prevFuture = sync ? future : null;
         }
         final CompletableFuture[] futuresArray = futures.toArray(new CompletableFuture[futures.size()]);
-        monitor.submit(() -> {
-            CompletableFuture.allOf(futuresArray).join();
-            onComplete();
-        });
+        // and the monitor is not held up either, by a feature that was started earlier
+        CompletableFuture.allOf(futuresArray).thenRunAsync(this::onComplete, monitor);
     }
 
     public boolean shouldRunSynchronously(T in) {
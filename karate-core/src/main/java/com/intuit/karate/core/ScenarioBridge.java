@@ -193,34 +193,28 @@ public class ScenarioBridge implements PerfContext, EventContext {
     public Object callSingle(String fileName, Value arg) throws Exception {
         ScenarioEngine engine = getEngine();
         final Map<String, Object> CACHE = engine.runtime.featureRuntime.suite.callSingleCache;
-        int minutes = engine.getConfig().getCallSingleCacheMinutes();
-        if ((minutes == 0) && CACHE.containsKey(fileName)) {
-            engine.logger.trace("callSingle cache hit: {}", fileName);
-            return callSingleResult(engine, CACHE.get(fileName));
-        }
-        long startTime = System.currentTimeMillis();
-        engine.logger.trace("callSingle waiting for lock: {}", fileName);
-        synchronized (CACHE) { // lock
-            if ((minutes == 0) && CACHE.containsKey(fileName)) { // retry
-                long endTime = System.currentTimeMillis() - startTime;
-                engine.logger.warn("this thread waited {} milliseconds for callSingle lock: {}", endTime, fileName);
-                return callSingleResult(engine, CACHE.get(fileName));
-            }
+        Object result = SingleFlight.getExpiring(CACHE, fileName, () -> {
             // this thread is the 'winner'
-            engine.logger.info(">> lock acquired, begin callSingle: {}", fileName);
-            Object result = null;
+            engine.logger.info(">> begin callSingle: {}", fileName);
+            int minutes = engine.getConfig().getCallSingleCacheMinutes();
+            // memoryMinutes (no file involved) wins over the minutes the file is valid for
+            int memoryMinutes = engine.getConfig().getCallSingleCacheMemoryMinutes();
+            int expiresMinutes = memoryMinutes > 0 ? memoryMinutes : minutes;
+            long expires = expiresMinutes > 0 ? System.currentTimeMillis() + expiresMinutes * 60 * 1000L : Long.MAX_VALUE;
             File cacheFile = null;
             if (minutes > 0) {
                 String cleanedName = StringUtils.toIdString(fileName);
                 String cacheFileName = engine.getConfig().getCallSingleCacheDir() + File.separator + cleanedName + ".txt";
                 cacheFile = new File(cacheFileName);
-                long since = System.currentTimeMillis() - minutes * 60 * 1000;
+                long since = System.currentTimeMillis() - minutes * 60 * 1000L;
                 if (cacheFile.exists()) {
                     long lastModified = cacheFile.lastModified();
                     if (lastModified > since) {
                         String json = FileUtils.toString(cacheFile);
-                        result = JsonUtils.fromJson(json);
                         engine.logger.info("callSingleCache hit: {}", cacheFile);
+                        // expire in memory at the same time the file goes stale
+                        long fileExpires = lastModified + minutes * 60 * 1000L;
+                        return new SingleFlight.Expiring(JsonUtils.fromJson(json), memoryMinutes > 0 ? Math.min(expires, fileExpires) : fileExpires);
                     } else {
                         engine.logger.info("callSingleCache stale, last modified {} - is before {} (minutes: {})",
                                 lastModified, since, minutes);
@@ -229,41 +223,38 @@ public class ScenarioBridge implements PerfContext, EventContext {
                     engine.logger.info("callSingleCache file does not exist, will create: {}", cacheFile);
                 }
             }
-            if (result == null) {
-                Variable called = new Variable(read(fileName));
-                Variable argVar;
-                if (arg == null || arg.isNull()) {
-                    argVar = null;
+            Variable called = new Variable(read(fileName));
+            Variable argVar;
+            if (arg == null || arg.isNull()) {
+                argVar = null;
+            } else {
+                argVar = new Variable(arg);
+            }
+            Variable resultVar;
+            try {
+                Variable featureResult = engine.call(called, argVar, false);
+                resultVar = engine.getCallFeatureVariables(featureResult);
+            } catch (Exception e) {
+                // don't retain any vestiges of graal-js 
+                RuntimeException re = new RuntimeException(e.getMessage());
+                // we do this so that an exception is also "cached"
+                resultVar = new Variable(re); // will be thrown at end
+                engine.logger.warn("callSingle() will cache an exception");
+            }
+            if (minutes > 0) { // cacheFile will be not null
+                if (resultVar.isMapOrList()) {
+                    String json = resultVar.getAsString();
+                    FileUtils.writeToFile(cacheFile, json);
+                    engine.logger.info("callSingleCache write: {}", cacheFile);
                 } else {
-                    argVar = new Variable(arg);
+                    engine.logger.warn("callSingleCache write failed, not json-like: {}", resultVar);
                 }
-                Variable resultVar;
-                try {
-                    Variable featureResult = engine.call(called, argVar, false);
-                    resultVar = engine.getCallFeatureVariables(featureResult);
-                } catch (Exception e) {
-                    // don't retain any vestiges of graal-js 
-                    RuntimeException re = new RuntimeException(e.getMessage());
-                    // we do this so that an exception is also "cached"
-                    resultVar = new Variable(re); // will be thrown at end
-                    engine.logger.warn("callSingle() will cache an exception");
-                }
-                if (minutes > 0) { // cacheFile will be not null
-                    if (resultVar.isMapOrList()) {
-                        String json = resultVar.getAsString();
-                        FileUtils.writeToFile(cacheFile, json);
-                        engine.logger.info("callSingleCache write: {}", cacheFile);
-                    } else {
-                        engine.logger.warn("callSingleCache write failed, not json-like: {}", resultVar);
-                    }
-                }
-                // functions have to be detached so that they can be re-hydrated in another js context
-                result = engine.recurseAndDetachAndShallowClone(resultVar.getValue());
             }
-            CACHE.put(fileName, result);
-            engine.logger.info("<< lock released, cached callSingle: {}", fileName);
-            return callSingleResult(engine, result);
-        }
+            engine.logger.info("<< cached callSingle: {}", fileName);
+            // functions have to be detached so that they can be re-hydrated in another js context
+            return new SingleFlight.Expiring(engine.recurseAndDetachAndShallowClone(resultVar.getValue()), expires);
+        }, engine.logger);
+        return callSingleResult(engine, result);
     }
 
     public Object callonce(String path) {
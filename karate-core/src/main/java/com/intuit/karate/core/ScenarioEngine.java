@@ -44,7 +44,6 @@ import com.intuit.karate.http.*;
 import com.intuit.karate.resource.Resource;
 import com.intuit.karate.resource.ResourceResolver;
 import com.intuit.karate.shell.Command;
-import com.intuit.karate.template.KarateTemplateEngine;
 import com.intuit.karate.template.TemplateUtils;
 import com.jayway.jsonpath.PathNotFoundException;
 import org.graalvm.polyglot.Value;
@@ -601,18 +600,24 @@ public class ScenarioEngine {
         if (hooks != null) {
             hooks.forEach(h -> h.afterHttpCall(request, response, runtime));
         }
-        byte[] bytes = response.getBody();
+        Object bytes;
         Object body;
         String responseType;
         ResourceType resourceType = response.getResourceType();
         if (resourceType != null && resourceType.isBinary()) {
             responseType = "binary";
+            if (response.isBodySpilled()) { // stays on disk until a step reads response or responseBytes
+                bytes = Variable.lazy(Variable.Type.BYTES, response::getBody);
+            } else {
+                bytes = response.getBody();
+            }
             body = bytes;
         } else {
+            bytes = response.getBody();
             try {
-                body = JsValue.fromBytes(bytes, true, resourceType);
+                body = JsValue.fromBytes((byte[]) bytes, true, resourceType);
             } catch (Exception e) {
-                body = FileUtils.toString(bytes);
+                body = FileUtils.toString((byte[]) bytes);
                 logger.warn("auto-conversion of response failed: {}", e.getMessage());
             }
             if (body instanceof Map || body instanceof List) {
@@ -974,8 +979,6 @@ public class ScenarioEngine {
 
     // doc =====================================================================
     //    
-    private KarateTemplateEngine templateEngine;
-    
     private ResourceResolver resourceResolver;
 
     public void setResourceResolver(ResourceResolver resourceResolver) {
@@ -998,15 +1001,11 @@ public class ScenarioEngine {
             if (html == null) {
                 logger.warn("'read' or 'html' property is mandatory: {}", options);
                 return null;
-            } else { // TODO do we cache this
-                KarateTemplateEngine stringEngine = TemplateUtils.forStrings(JS, getResourceResolver());
-                return stringEngine.process(html);
+            } else {
+                return TemplateUtils.renderHtmlString(html, JS, getResourceResolver());
             }
         }
-        if (templateEngine == null) {
-            templateEngine = TemplateUtils.forResourceResolver(JS, getResourceResolver());
-        }
-        return templateEngine.process(path);
+        return TemplateUtils.renderResourcePath(path, JS, getResourceResolver());
     }
 
     public void doc(String exp) {
@@ -1043,6 +1042,10 @@ public class ScenarioEngine {
             JS.put(k, o == null ? v : o); // attach returns null if "not dirty"
         });
         vars.forEach((k, v) -> {
+            if (!v.isLoaded()) { // no functions to re-hydrate in a lazy value
+                JS.putLazy(k, v::getValue);
+                return;
+            }
             // re-hydrate any functions from caller or background  
             Object o = recurseAndAttach(k, v.getValue(), seen);
             // note that we don't update the vars !
@@ -1083,6 +1086,7 @@ public class ScenarioEngine {
         Set<Object> seen = Collections.newSetFromMap(new IdentityHashMap());
         Map<String, Variable> detached = new HashMap(vars.size());
         vars.forEach((k, v) -> {
+            // lazy bytes are loaded here, the spilled file goes away when the scenario ends
             Object o = recurseAndDetachAndShallowClone(k, v.getValue(), seen);
             detached.put(k, new Variable(o));
         });
@@ -1351,7 +1355,12 @@ public class ScenarioEngine {
 
     public void setHiddenVariable(String key, Object value) {
         if (value instanceof Variable) {
-            value = ((Variable) value).getValue();
+            Variable v = (Variable) value;
+            if (!v.isLoaded()) {
+                JS.putLazy(key, v::getValue);
+                return;
+            }
+            value = v.getValue();
         }
         JS.put(key, value);
     }
@@ -1365,7 +1374,7 @@ public class ScenarioEngine {
         Object o;
         if (value instanceof Variable) {
             v = (Variable) value;
-            o = v.getValue();
+            o = v.isLoaded() ? v.getValue() : null;
         } else {
             o = value;
             try {
@@ -1379,7 +1388,11 @@ public class ScenarioEngine {
             vars.put(key, v);
         }
         if (JS != null) {
-            JS.put(key, o);
+            if (v != null && !v.isLoaded()) {
+                JS.putLazy(key, v::getValue);
+            } else {
+                JS.put(key, o);
+            }
         }
     }
 
@@ -2125,22 +2138,8 @@ public class ScenarioEngine {
         } else {
             CACHE = runtime.featureRuntime.CALLONCE_CACHE;
         }
-        ScenarioCall.Result result = CACHE.get(cacheKey);
-        if (result != null) {
-            logger.trace("callonce cache hit for: {}", cacheKey);
-            return callOnceResult(result, sharedScope);
-        }
-        long startTime = System.currentTimeMillis();
-        logger.trace("callonce waiting for lock: {}", cacheKey);
-        synchronized (CACHE) {
-            result = CACHE.get(cacheKey); // retry
-            if (result != null) {
-                long endTime = System.currentTimeMillis() - startTime;
-                logger.warn("this thread waited {} milliseconds for callonce lock: {}", endTime, cacheKey);
-                return callOnceResult(result, sharedScope);
-            }
-            // this thread is the 'winner'
-            logger.info(">> lock acquired, begin callonce: {}", cacheKey);
+        ScenarioCall.Result result = SingleFlight.get(CACHE, cacheKey, () -> {
+            logger.info(">> begin callonce: {}", cacheKey);
             Variable resultValue = call(called, arg, sharedScope);
             Variable resultVariables = this.getCallFeatureVariables(resultValue);
             // we clone result (and config) here, to snapshot state at the point the callonce was invoked
@@ -2150,13 +2149,12 @@ public class ScenarioEngine {
             Config clonedConfig = new Config(config);
             clonedConfig.detach();
             Object resultObject = recurseAndDetachAndShallowClone(resultVariables.getValue());
-            result = new ScenarioCall.Result(new Variable(resultObject), clonedConfig, clonedVars);
-            CACHE.put(cacheKey, result);
-            logger.info("<< lock released, cached callonce: {}", cacheKey);
-             // another routine will apply globally if needed
-             // wrap and attach if being used immediately in a Scenario
-            return callOnceResult(result, sharedScope); 
-        }
+            logger.info("<< cached callonce: {}", cacheKey);
+            return new ScenarioCall.Result(new Variable(resultObject), clonedConfig, clonedVars);
+        }, logger);
+        // another routine will apply globally if needed
+        // wrap and attach if being used immediately in a Scenario
+        return callOnceResult(result, sharedScope);
     }
 
     public Object callFeature(Feature feature, Variable arg, int index, boolean sharedScope) {
@@ -50,8 +50,8 @@ public class ScenarioFileReader {
         StringUtils.Pair pair = parsePathAndTags(text);
         text = pair.left;
         if (text == null && pair.right != null && pair.right.startsWith("@")) {
-            this.featureRuntime.feature.setCallTag(pair.right);
-            return this.featureRuntime.feature;
+            // don't mutate the feature that is running, it may be shared
+            return FeatureCache.get(featureRuntime.feature.getResource(), pair.right);
         } else if (isJsonFile(text) || isXmlFile(text)) {
             String contents = readFileAsString(text);
             Variable temp = engine.evalKarateExpression(contents);
@@ -64,9 +64,7 @@ public class ScenarioFileReader {
             return readFileAsString(text);
         } else if (isFeatureFile(text)) {
             Resource fr = toResource(text);
-            Feature feature = Feature.read(fr);
-            feature.setCallTag(pair.right);
-            return feature;
+            return FeatureCache.get(fr, pair.right);
         } else if (isCsvFile(text)) {
             String contents = readFileAsString(text);
             return JsonUtils.fromCsv(contents);
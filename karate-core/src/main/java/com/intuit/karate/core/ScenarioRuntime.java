@@ -29,18 +29,22 @@ import com.intuit.karate.Logger;
 import com.intuit.karate.RuntimeHook;
 import com.intuit.karate.ScenarioActions;
 import com.intuit.karate.StringUtils;
+import com.intuit.karate.Suite;
 import com.intuit.karate.debug.DebugThread;
 import com.intuit.karate.graal.JsEngine;
 import com.intuit.karate.http.HttpClient;
 import com.intuit.karate.http.HttpRequestBuilder;
 import com.intuit.karate.http.ResourceType;
+import com.intuit.karate.http.Response;
 import com.intuit.karate.shell.StringLogAppender;
 
 import java.io.File;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * @author pthomas3
@@ -183,12 +187,36 @@ public class ScenarioRuntime implements Runnable {
         return logAppender;
     }
 
+    private List<Response> spilledResponses;
+
+    // called features hand over to the top-level scenario, which deletes the files when done
+    public void addSpilledResponse(Response response) {
+        if (!caller.isNone()) {
+            caller.parentRuntime.addSpilledResponse(response);
+            return;
+        }
+        synchronized (this) {
+            if (spilledResponses == null) {
+                spilledResponses = new ArrayList();
+            }
+            spilledResponses.add(response);
+        }
+    }
+
+    private synchronized void discardSpilledResponses() {
+        if (spilledResponses != null) {
+            spilledResponses.forEach(Response::discardSpilledBody);
+            spilledResponses = null;
+        }
+    }
+
     private List<Step> steps;
     private List<Embed> embeds;
     private StepResult currentStepResult;
     private Step currentStep;
     private Throwable error;
     private boolean configFailed;
+    private boolean configEvaluated; // config snapshot mode only
     private boolean skipped; // beforeScenario hook only
     private boolean stopped;
     private boolean aborted;
@@ -305,7 +333,44 @@ public class ScenarioRuntime implements Runnable {
         return map;
     }
 
-    private void evalConfigJs(String js, String displayName) {
+    private void evalConfig() {
+        Suite suite = featureRuntime.suite;
+        if (!suite.configSnapshot) {
+            evalConfigJs();
+            return;
+        }
+        configEvaluated = false;
+        ConfigSnapshot snapshot = suite.getConfigSnapshot(() -> {
+            Set<String> names = evalConfigJs();
+            configEvaluated = true;
+            if (configFailed) {
+                return null; // every scenario will re-try and report the failure
+            }
+            if (!engine.getConfig().isConfigSnapshot()) {
+                logger.debug("config snapshot disabled by config js, will evaluate per scenario");
+                return null;
+            }
+            return ConfigSnapshot.of(engine, names);
+        });
+        if (configEvaluated) {
+            return;
+        }
+        if (snapshot == null) {
+            evalConfigJs();
+        } else {
+            snapshot.applyTo(engine);
+        }
+    }
+
+    private Set<String> evalConfigJs() {
+        Set<String> names = new LinkedHashSet();
+        evalConfigJs(featureRuntime.suite.karateBase, "karate-base.js", names);
+        evalConfigJs(featureRuntime.suite.karateConfig, "karate-config.js", names);
+        evalConfigJs(featureRuntime.suite.karateConfigEnv, "karate-config-" + featureRuntime.suite.env + ".js", names);
+        return names;
+    }
+
+    private void evalConfigJs(String js, String displayName, Set<String> names) {
         if (js == null || configFailed) {
             return;
         }
@@ -317,6 +382,9 @@ public class ScenarioRuntime implements Runnable {
             }
             Map<String, Object> map = engine.getOrEvalAsMap(fun);
             engine.setVariables(map);
+            if (map != null) {
+                names.addAll(map.keySet());
+            }
         } catch (Exception e) {
             String message = ">> " + scenario.getDebugInfo() + "\n>> " + displayName + " failed\n>> " + e.getMessage();
             error = JsEngine.fromJsEvalException(js, e, message);
@@ -394,9 +462,7 @@ public class ScenarioRuntime implements Runnable {
         if (!dryRun) {
             if (caller.isNone() && !caller.isKarateConfigDisabled()) {
                 // evaluate config js, variables above will apply !
-                evalConfigJs(featureRuntime.suite.karateBase, "karate-base.js");
-                evalConfigJs(featureRuntime.suite.karateConfig, "karate-config.js");
-                evalConfigJs(featureRuntime.suite.karateConfigEnv, "karate-config-" + featureRuntime.suite.env + ".js");
+                evalConfig();
             }
             if (isDynamicBackground()) {
                 featureRuntime.suite.hooks.forEach(h -> h.beforeBackground(this));
@@ -465,6 +531,10 @@ public class ScenarioRuntime implements Runnable {
             }
             if (caller.isNone()) {
                 logAppender.close(); // reclaim memory
+                if (isDynamicBackground()) { // the examples get a copy of the variables after this
+                    engine.vars.values().forEach(Variable::getValue);
+                }
+                discardSpilledResponses();
             }
         }
     }
@@ -518,6 +588,12 @@ public class ScenarioRuntime implements Runnable {
             boolean hidden = reportDisabled || (step.isPrefixStar() && !step.isPrint() && !engine.getConfig().isShowAllSteps());
             currentStepResult.setHidden(hidden);
         }
+        if (engine.driver != null) {
+            long waitTime = engine.driver.getOptions().collectWaitTime();
+            if (waitTime > 0) { // so that the report shows where ui test time goes
+                logger.info("driver waits: {} milliseconds", waitTime);
+            }
+        }
         addStepLogEmbedsAndCallResults();
         if (currentStepResult.isErrorIgnored()) {
             this.engine.setFailedReason(null);
@@ -0,0 +1,210 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.core;
+
+import com.intuit.karate.Logger;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * per-key "single flight" for the callonce and callSingle caches, only one
+ * thread computes the value for a given key and other threads that want the
+ * same key park on a future, threads that want a different key never wait
+ *
+ * the in-flight futures (and expiry times) are held here and not in the cache
+ * itself because the cache maps are public and can be supplied by the caller
+ * (e.g. gatling), they are held per cache map, which is weakly referenced so
+ * that a suite and its cached results can still be garbage collected
+ *
+ * a concurrent map is read and written without locking, a plain hash map
+ * supplied by the caller is locked for every read and write - but never
+ * while a value is computed
+ *
+ * @author pthomas3
+ */
+public class SingleFlight {
+
+    private SingleFlight() {
+        // only static methods
+    }
+
+    private static final Map<CacheRef, Flights> FLIGHTS = new ConcurrentHashMap();
+    private static final ReferenceQueue<Map> COLLECTED = new ReferenceQueue();
+
+    // identity of the cache map, which is not its equals() / hashCode()
+    private static class CacheRef extends WeakReference<Map> {
+
+        final int hash;
+
+        CacheRef(Map cache, ReferenceQueue<Map> queue) {
+            super(cache, queue);
+            hash = System.identityHashCode(cache);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (o == this) {
+                return true;
+            }
+            if (!(o instanceof CacheRef)) {
+                return false;
+            }
+            Map cache = get();
+            return cache != null && cache == ((CacheRef) o).get();
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+    }
+
+    private static class Flights {
+
+        final boolean concurrent;
+        final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap();
+        final Map<String, Long> expires = new ConcurrentHashMap();
+
+        Flights(Map cache) {
+            concurrent = cache instanceof ConcurrentMap;
+        }
+
+    }
+
+    private static Flights flights(Map cache) {
+        CacheRef collected;
+        while ((collected = (CacheRef) COLLECTED.poll()) != null) {
+            FLIGHTS.remove(collected);
+        }
+        Flights flights = FLIGHTS.get(new CacheRef(cache, null));
+        if (flights == null) {
+            flights = FLIGHTS.computeIfAbsent(new CacheRef(cache, COLLECTED), k -> new Flights(cache));
+        }
+        return flights;
+    }
+
+    public static class Expiring<T> {
+
+        final T value;
+        final long expires;
+
+        public Expiring(T value, long expires) {
+            this.value = value;
+            this.expires = expires;
+        }
+
+    }
+
+    public static <T> T get(Map<String, T> cache, String key, Supplier<T> loader, Logger logger) {
+        return getExpiring(cache, key, () -> new Expiring<>(loader.get(), Long.MAX_VALUE), logger);
+    }
+
+    /**
+     * values put into the cache by the caller (and not via this class) never
+     * expire
+     */
+    public static <T> T getExpiring(Map<String, T> cache, String key, Supplier<Expiring<T>> loader, Logger logger) {
+        Flights flights = flights(cache);
+        while (true) {
+            T value = getFresh(cache, flights, key);
+            if (value != null) {
+                logger.trace("cache hit: {}", key);
+                return value;
+            }
+            CompletableFuture<Object> future = new CompletableFuture();
+            CompletableFuture<Object> existing = flights.inFlight.putIfAbsent(key, future);
+            if (existing != null) {
+                long startTime = System.currentTimeMillis();
+                try {
+                    value = (T) existing.join();
+                    long endTime = System.currentTimeMillis() - startTime;
+                    logger.warn("this thread waited {} milliseconds for: {}", endTime, key);
+                    return value;
+                } catch (CompletionException e) {
+                    // the winner failed and nothing was cached, try again just like
+                    // the next thread to acquire a lock would have done
+                    logger.debug("in-flight call failed, will retry: {}", key);
+                    continue;
+                }
+            }
+            // this thread is the 'winner'
+            try {
+                value = getFresh(cache, flights, key); // retry, a flight may have landed just before ours took off
+                if (value == null) {
+                    Expiring<T> loaded = loader.get();
+                    value = loaded.value;
+                    if (flights.concurrent) {
+                        put(cache, flights, key, loaded);
+                    } else {
+                        synchronized (cache) {
+                            put(cache, flights, key, loaded);
+                        }
+                    }
+                }
+                future.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                future.completeExceptionally(e);
+                throw e;
+            } finally {
+                flights.inFlight.remove(key, future);
+            }
+        }
+    }
+
+    private static <T> void put(Map<String, T> cache, Flights flights, String key, Expiring<T> loaded) {
+        // value first, a reader that sees it with the old expiry only takes the slow path
+        cache.put(key, loaded.value);
+        if (loaded.expires == Long.MAX_VALUE) {
+            flights.expires.remove(key);
+        } else {
+            flights.expires.put(key, loaded.expires);
+        }
+    }
+
+    private static <T> T getFresh(Map<String, T> cache, Flights flights, String key) {
+        if (flights.concurrent) {
+            return fresh(cache.get(key), flights, key);
+        }
+        synchronized (cache) {
+            return fresh(cache.get(key), flights, key);
+        }
+    }
+
+    private static <T> T fresh(T value, Flights flights, String key) {
+        if (value == null) {
+            return null;
+        }
+        Long expires = flights.expires.get(key);
+        return expires == null || System.currentTimeMillis() < expires ? value : null;
+    }
+
+}
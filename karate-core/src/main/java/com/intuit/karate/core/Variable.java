@@ -34,6 +34,7 @@ import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.graalvm.polyglot.Value;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -66,7 +67,8 @@ public class Variable {
     public static final Variable NOT_PRESENT = new Variable("#notpresent");
     
     public final Type type;
-    private final Object value;
+    private Object value;
+    private volatile Supplier<Object> supplier;
     
     public Variable(Object o) {
         if (o instanceof Value) {
@@ -107,8 +109,33 @@ public class Variable {
         value = o;
     }
     
+    private Variable(Type type, Supplier<Object> supplier) {
+        this.type = type;
+        this.supplier = supplier;
+    }
+    
+    /**
+     * a variable whose value is only loaded when first asked for, e.g. a
+     * (large) response body that was written to disk by the http client
+     */
+    public static Variable lazy(Type type, Supplier<Object> supplier) {
+        return new Variable(type, supplier);
+    }
+    
+    public boolean isLoaded() {
+        return supplier == null;
+    }
+    
+    private synchronized Object load() {
+        if (supplier != null) {
+            value = supplier.get();
+            supplier = null;
+        }
+        return value;
+    }
+    
     public <T> T getValue() {
-        return (T) value;
+        return (T) (supplier == null ? value : load());
     }
     
     public boolean isJsOrJavaFunction() {
@@ -197,7 +224,7 @@ public class Variable {
     }
     
     public Object getValueAndConvertIfXmlToMap() {
-        return isXml() ? XmlUtils.toObject(getValue()) : value;
+        return isXml() ? XmlUtils.toObject(getValue()) : getValue();
     }
     
     public Object getValueAndForceParsingAsJson() {
@@ -231,7 +258,7 @@ public class Variable {
             case NULL:
                 return null;
             case BYTES:
-                return FileUtils.toString((byte[]) value);
+                return FileUtils.toString((byte[]) getValue());
             case LIST:
             case MAP:
                 try {
@@ -308,7 +335,7 @@ public class Variable {
     public String toString() {
         StringBuilder sb = new StringBuilder();
         sb.append("[type: ").append(type);
-        sb.append(", value: ").append(value);
+        sb.append(", value: ").append(isLoaded() ? value : "(not loaded)");
         sb.append("]");
         return sb.toString();
     }
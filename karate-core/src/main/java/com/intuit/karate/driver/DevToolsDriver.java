@@ -49,6 +49,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Predicate;
 
 import com.jayway.jsonpath.PathNotFoundException;
@@ -66,6 +67,7 @@ public abstract class DevToolsDriver implements Driver {
     private boolean terminated;
 
     private final DevToolsWait wait;
+    private final DevToolsPipeline pipeline;
     protected final String rootFrameId;
 
     private Integer windowId;
@@ -84,10 +86,10 @@ public abstract class DevToolsDriver implements Driver {
 
     protected String currentDialogText;
 
-    private int nextId;
+    private final AtomicInteger nextId = new AtomicInteger();
 
     public int nextId() {
-        return ++nextId;
+        return nextId.incrementAndGet();
     }
 
     private MockHandler mockHandler;
@@ -106,6 +108,7 @@ public abstract class DevToolsDriver implements Driver {
         }
 
         this.wait = new DevToolsWait(this, options);
+        this.pipeline = new DevToolsPipeline(this::send, logger);
         int pos = webSocketUrl.lastIndexOf('/');
         rootFrameId = webSocketUrl.substring(pos + 1);
         mainFrameId = rootFrameId;
@@ -160,8 +163,13 @@ public abstract class DevToolsDriver implements Driver {
             submit = false;
             condition = DevToolsWait.ALL_FRAMES_LOADED;
         }
-        // do stuff inside wait to avoid missing messages
-        DevToolsMessage result = wait.send(dtm, condition);
+        DevToolsMessage result;
+        if (condition == null) { // plain command, the reply is matched by id
+            result = pipeline.send(dtm, getTimeout(dtm));
+        } else {
+            // do stuff inside wait to avoid missing messages
+            result = wait.send(dtm, condition);
+        }
         if (result == null && !wasSubmit) {
             if (condition == DevToolsWait.ALL_FRAMES_LOADED) {
                 logger.error("failed to get reply for :" + dtm + ". Will try to check by running a script.");
@@ -178,7 +186,35 @@ public abstract class DevToolsDriver implements Driver {
         return result;
     }
 
+    private long getTimeout(DevToolsMessage dtm) {
+        return dtm.getTimeout() == null ? options.getTimeout() : dtm.getTimeout();
+    }
+
+    // all messages are sent before waiting for any reply, chrome handles them in order
+    public List<DevToolsMessage> sendAll(List<DevToolsMessage> messages) {
+        if (messages.isEmpty()) {
+            return Collections.emptyList();
+        }
+        long timeout = 0;
+        for (DevToolsMessage dtm : messages) {
+            timeout = Math.max(timeout, getTimeout(dtm));
+        }
+        List<DevToolsMessage> results = pipeline.sendAll(messages, timeout);
+        for (int i = 0; i < results.size(); i++) {
+            if (results.get(i) == null) {
+                throw new RuntimeException("failed to get reply for: " + messages.get(i));
+            }
+        }
+        return results;
+    }
+
     public void receive(DevToolsMessage dtm) {
+        if (dtm.getId() != null) { // command reply, events have no id
+            if (!pipeline.receive(dtm)) {
+                wait.receive(dtm);
+            }
+            return;
+        }
         if (dtm.methodIs("Page.domContentEventFired")) {
             domContentEventFired = true;
             logger.trace("** set dom ready flag to true");
@@ -187,6 +223,7 @@ public abstract class DevToolsDriver implements Driver {
             currentDialogText = dtm.getParam("message");
             // this will stop waiting NOW
             wait.setCondition(DevToolsWait.DIALOG_OPENING);
+            pipeline.releaseAll(dtm);
         }
         if (dtm.methodIs("Page.frameStartedLoading")) {
             String frameLoadingId = dtm.getParam("frameId");
@@ -298,6 +335,15 @@ public abstract class DevToolsDriver implements Driver {
     //==========================================================================
     //
     private DevToolsMessage evalOnce(String expression, boolean quickly, boolean fireAndForget, boolean returnByValue) {
+        DevToolsMessage toSend = evalMessage(expression, quickly, returnByValue);
+        if (fireAndForget) {
+            toSend.sendWithoutWaiting();
+            return null;
+        }
+        return toSend.send();
+    }
+
+    private DevToolsMessage evalMessage(String expression, boolean quickly, boolean returnByValue) {
         DevToolsMessage toSend = method("Runtime.evaluate")
                 .param("expression", expression);
         if (returnByValue) {
@@ -310,11 +356,7 @@ public abstract class DevToolsDriver implements Driver {
         if (quickly) {
             toSend.setTimeout(options.getRetryInterval());
         }
-        if (fireAndForget) {
-            toSend.sendWithoutWaiting();
-            return null;
-        }
-        return toSend.send();
+        return toSend;
     }
 
     protected DevToolsMessage eval(String expression) {
@@ -373,9 +415,18 @@ public abstract class DevToolsDriver implements Driver {
     @Override
     public List elementIds(String locator) {
         List<Element> elements = locateAll(locator);
-        List<String> objectIds = new ArrayList(elements.size());
+        List<DevToolsMessage> messages = new ArrayList(elements.size());
         for (Element e : elements) {
-            String objectId = evalForObjectId(e.getLocator());
+            messages.add(evalMessage(e.getLocator(), false, false));
+        }
+        List<DevToolsMessage> results = sendAll(messages);
+        List<String> objectIds = new ArrayList(elements.size());
+        for (int i = 0; i < elements.size(); i++) {
+            DevToolsMessage dtm = results.get(i);
+            String objectId = dtm.isResultError() ? null : dtm.getResult("objectId", String.class);
+            if (objectId == null) { // fall back to one by one with re-tries
+                objectId = evalForObjectId(elements.get(i).getLocator());
+            }
             objectIds.add(objectId);
         }
         return objectIds;
@@ -582,7 +633,7 @@ public abstract class DevToolsDriver implements Driver {
         return DriverElement.locatorExists(this, locator);
     }
 
-    private void sendKey(Character c, int modifiers, String type, Integer keyCode) {
+    private void addKey(List<DevToolsMessage> keys, Character c, int modifiers, String type, Integer keyCode) {
         DevToolsMessage dtm = method("Input.dispatchKeyEvent")
                 .param("modifiers", modifiers)
                 .param("type", type);
@@ -614,7 +665,7 @@ public abstract class DevToolsDriver implements Driver {
             }
             dtm.param("windowsVirtualKeyCode", keyCode);
         }
-        dtm.send();
+        keys.add(dtm);
     }
 
     @Override
@@ -623,6 +674,7 @@ public abstract class DevToolsDriver implements Driver {
         // focus
         eval(options.focusJs(locator));
         Input input = new Input(value);
+        List<DevToolsMessage> keys = new ArrayList();
         while (input.hasNext()) {
             char c = input.next();
             int modifiers = input.getModifierFlags();
@@ -634,23 +686,31 @@ public abstract class DevToolsDriver implements Driver {
                     case Keys.CODE_ALT:
                     case Keys.CODE_META:
                         if (input.release) {
-                            sendKey(null, modifiers, "keyUp", keyCode);
+                            addKey(keys, null, modifiers, "keyUp", keyCode);
                         } else {
-                            sendKey(null, modifiers, "rawKeyDown", keyCode);
+                            addKey(keys, null, modifiers, "rawKeyDown", keyCode);
                         }
                         break;
                     default:
-                        sendKey(c, modifiers, "rawKeyDown", keyCode);
-                        sendKey(c, modifiers, "char", keyCode);
-                        sendKey(c, modifiers, "keyUp", keyCode);
+                        addKey(keys, c, modifiers, "rawKeyDown", keyCode);
+                        addKey(keys, c, modifiers, "char", keyCode);
+                        addKey(keys, c, modifiers, "keyUp", keyCode);
                 }
             } else {
                 logger.warn("unknown character / key code: {}", c);
-                sendKey(c, modifiers, "char", null);
+                addKey(keys, c, modifiers, "char", null);
             }
         }
         for (int keyCode : input.getKeyCodesToRelease()) {
-            sendKey(null, 0, "keyUp", keyCode);
+            addKey(keys, null, 0, "keyUp", keyCode);
+        }
+        // key events are pipelined, only the LAST one is handled as a submit()
+        if (submit && !keys.isEmpty()) {
+            int last = keys.size() - 1;
+            sendAll(keys.subList(0, last));
+            keys.get(last).send();
+        } else {
+            sendAll(keys);
         }
         return DriverElement.locatorExists(this, locator);
     }
@@ -762,14 +822,25 @@ public abstract class DevToolsDriver implements Driver {
 
     @Override
     public boolean waitUntil(String expression) {
-        return options.retry(() -> {
+        return options.waitUntil(expression, this::awaitTrue, () -> {
             try {
                 return evalQuickly(expression).getResult().isTrue();
             } catch (Exception e) {
                 logger.warn("waitUntil evaluate failed: {}", e.getMessage());
                 return false;
             }
-        }, b -> b, "waitUntil (js)", true);
+        });
+    }
+
+    private Boolean awaitTrue(String promiseJs) {
+        DevToolsMessage toSend = evalMessage(promiseJs, false, true).param("awaitPromise", true);
+        // the promise resolves (false) on its own after the wait timeout
+        toSend.setTimeout((int) options.getWaitTimeout() + options.getRetryInterval());
+        DevToolsMessage dtm = toSend.send();
+        if (dtm == null || dtm.isResultError() || dtm.getResult() == null) {
+            return null; // e.g. the execution context was destroyed by a navigation
+        }
+        return dtm.getResult().isTrue();
     }
 
     @Override
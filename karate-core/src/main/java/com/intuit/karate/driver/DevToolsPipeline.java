@@ -0,0 +1,136 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.driver;
+
+import com.intuit.karate.Logger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+/**
+ * command replies are correlated by message id, so any number of commands
+ * can be in flight at the same time, chrome processes commands on a session
+ * in the order received so a batch costs one round trip instead of one each
+ *
+ * @author pthomas3
+ */
+public class DevToolsPipeline {
+
+    private final Consumer<DevToolsMessage> sender;
+    private final Logger logger;
+    private final Map<Integer, CompletableFuture<DevToolsMessage>> pending = new ConcurrentHashMap();
+
+    public DevToolsPipeline(Consumer<DevToolsMessage> sender, Logger logger) {
+        this.sender = sender;
+        this.logger = logger;
+    }
+
+    public CompletableFuture<DevToolsMessage> sendAsync(DevToolsMessage dtm) {
+        CompletableFuture<DevToolsMessage> future = new CompletableFuture();
+        // register before sending, the reply can arrive before send() returns
+        pending.put(dtm.getId(), future);
+        try {
+            sender.accept(dtm);
+        } catch (RuntimeException e) {
+            pending.remove(dtm.getId());
+            throw e;
+        }
+        return future;
+    }
+
+    public DevToolsMessage send(DevToolsMessage dtm, long timeout) {
+        return await(dtm, sendAsync(dtm), timeout);
+    }
+
+    public List<DevToolsMessage> sendAll(List<DevToolsMessage> messages, long timeout) {
+        List<CompletableFuture<DevToolsMessage>> futures = new ArrayList(messages.size());
+        for (DevToolsMessage dtm : messages) {
+            futures.add(sendAsync(dtm));
+        }
+        // the timeout applies to the whole batch, not to each message
+        long deadline = System.currentTimeMillis() + timeout;
+        List<DevToolsMessage> results = new ArrayList(messages.size());
+        for (int i = 0; i < messages.size(); i++) {
+            long remaining = Math.max(deadline - System.currentTimeMillis(), 1);
+            results.add(await(messages.get(i), futures.get(i), remaining));
+        }
+        return results;
+    }
+
+    private DevToolsMessage await(DevToolsMessage dtm, CompletableFuture<DevToolsMessage> future, long timeout) {
+        try {
+            DevToolsMessage result = future.get(timeout, TimeUnit.MILLISECONDS);
+            logger.trace("<< notified: {}", dtm);
+            return result;
+        } catch (TimeoutException e) {
+            logger.error("<< timed out after milliseconds: {} - {}", timeout, dtm);
+        } catch (InterruptedException e) {
+            logger.error("interrupted: {} wait: {}", e.getMessage(), dtm);
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.error("failed: {} wait: {}", e.getMessage(), dtm);
+        }
+        pending.remove(dtm.getId());
+        return null;
+    }
+
+    public boolean receive(DevToolsMessage dtm) {
+        Integer id = dtm.getId();
+        if (id == null) {
+            return false;
+        }
+        CompletableFuture<DevToolsMessage> future = pending.remove(id);
+        if (future == null) {
+            return false;
+        }
+        if (dtm.isResultError()) {
+            logger.warn("devtools error: {}", dtm);
+        } else {
+            logger.trace("<< notify: {}", dtm);
+        }
+        future.complete(dtm);
+        return true;
+    }
+
+    public void releaseAll(DevToolsMessage dtm) {
+        // e.g. a dialog blocks the page and no reply will come until it is handled
+        pending.keySet().forEach(id -> {
+            CompletableFuture<DevToolsMessage> future = pending.remove(id);
+            if (future != null) {
+                future.complete(dtm);
+            }
+        });
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+}
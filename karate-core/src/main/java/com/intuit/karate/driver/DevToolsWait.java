@@ -118,6 +118,9 @@ public class DevToolsWait {
 
     public void receive(DevToolsMessage dtm) {
         synchronized (this) {
+            if (condition == null) { // nothing sent yet that waits for an event
+                return;
+            }
             if (condition.test(dtm)) {
                 if (dtm.isResultError()) {
                     logger.warn("devtools error: {}", dtm);
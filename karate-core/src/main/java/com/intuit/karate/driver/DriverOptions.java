@@ -52,6 +52,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
@@ -103,6 +104,7 @@ public class DriverOptions {
     public final boolean screenshotOnFailure;
     public final String playwrightUrl;
     public final Map<String, Object> playwrightOptions;
+    public final boolean eventWait;
 
     // mutable during a test
     private boolean retryEnabled;
@@ -111,6 +113,8 @@ public class DriverOptions {
     private String preSubmitHash = null;
 
     private Integer timeoutOverride;
+    private long waitTime;
+    private boolean retrying;
 
     public static final String SCROLL_JS_FUNCTION = "function(e){ var d = window.getComputedStyle(e).display;"
             + " while(d == 'none'){ e = e.parentElement; d = window.getComputedStyle(e).display }"
@@ -210,6 +214,7 @@ public class DriverOptions {
         screenshotOnFailure = get("screenshotOnFailure", true);
         playwrightUrl = get("playwrightUrl", null);
         playwrightOptions = get("playwrightOptions", null);
+        eventWait = get("eventWait", false);
         // do this last to ensure things like logger, start-flag, webDriverUrl etc. are set
         port = resolvePort(defaultPort);
     }
@@ -497,8 +502,25 @@ public class DriverOptions {
     }
 
     public <T> T retry(Supplier<T> action, Predicate<T> condition, String logDescription, boolean failWithException) {
+        return retry(action, condition, logDescription, failWithException, getRetryCount());
+    }
+
+    private <T> T retry(Supplier<T> action, Predicate<T> condition, String logDescription, boolean failWithException, int max) {
         long startTime = System.currentTimeMillis();
-        int count = 0, max = getRetryCount();
+        if (retrying) { // nested, e.g. a driver call within waitUntil(function), only the outer one is timed
+            return retryInternal(action, condition, logDescription, failWithException, startTime, max);
+        }
+        retrying = true;
+        try {
+            return retryInternal(action, condition, logDescription, failWithException, startTime, max);
+        } finally {
+            retrying = false;
+            addWaitTime(System.currentTimeMillis() - startTime);
+        }
+    }
+
+    private <T> T retryInternal(Supplier<T> action, Predicate<T> condition, String logDescription, boolean failWithException, long startTime, int max) {
+        int count = 0;
         T result;
         boolean success;
         do {
@@ -520,6 +542,65 @@ public class DriverOptions {
         return result;
     }
 
+    // the page is observed instead of polled, the promise resolves as soon as the expression is true
+    // mutations cover the dom, animation frames cover properties (e.g. value, disabled) that change without one
+    public static String waitUntilJs(String expression, long timeout) {
+        return "new Promise(function(resolve){"
+                + " var check = function(){ try { return !!(" + expression + ") } catch(e) { return false } };"
+                + " if (check()) return resolve(true);"
+                + " var done = false, timer, observer;"
+                + " var finish = function(v){ if (done) return; done = true; observer.disconnect(); clearTimeout(timer); resolve(v) };"
+                + " observer = new MutationObserver(function(){ if (check()) finish(true) });"
+                + " observer.observe(document, { childList: true, subtree: true, attributes: true, characterData: true });"
+                + " var frame = function(){ if (done) return; if (check()) finish(true); else next() };"
+                + " var next = function(){ document.hidden ? setTimeout(frame, 100) : requestAnimationFrame(frame) };"
+                + " next(); timer = setTimeout(function(){ finish(check()) }, " + timeout + ") })";
+    }
+
+    // same total time as polling, i.e. retry count x retry interval
+    public long getWaitTimeout() {
+        return (long) getRetryCount() * getRetryInterval();
+    }
+
+    public boolean waitUntil(String expression, Function<String, Boolean> awaitScript, Supplier<Boolean> poll) {
+        int max = getRetryCount();
+        if (eventWait) {
+            long startTime = System.currentTimeMillis();
+            Boolean result;
+            try {
+                result = awaitScript.apply(waitUntilJs(expression, getWaitTimeout()));
+            } catch (Exception e) {
+                logger.warn("waitUntil (event) failed, will poll: {}", e.getMessage());
+                result = null;
+            }
+            long elapsedTime = System.currentTimeMillis() - startTime;
+            addWaitTime(elapsedTime);
+            if (result != null) { // null means the page could not be observed, e.g. a navigation happened
+                logger.debug("waitUntil (event): {} after {} milliseconds", result, elapsedTime);
+                if (!result) {
+                    String message = "waitUntil (event): failed after " + elapsedTime + " milliseconds";
+                    logger.warn(message);
+                    throw new RuntimeException(message);
+                }
+                return true;
+            }
+            // only what is left of the total time, but at least one check
+            max = (int) Math.max(0, (getWaitTimeout() - elapsedTime) / getRetryInterval());
+        }
+        return retry(poll, b -> b, "waitUntil (js)", true, max);
+    }
+
+    public void addWaitTime(long millis) {
+        waitTime += millis;
+    }
+
+    // returns the time spent waiting since the last call, called once per step
+    public long collectWaitTime() {
+        long temp = waitTime;
+        waitTime = 0;
+        return temp;
+    }
+
     public static String wrapInFunctionInvoke(String text) {
         return "(function(){ " + text + " })()";
     }
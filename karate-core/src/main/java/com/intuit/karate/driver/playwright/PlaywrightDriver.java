@@ -512,14 +512,29 @@ public class PlaywrightDriver implements Driver {
 
     @Override
     public boolean waitUntil(String expression) {
-        return options.retry(() -> {
+        return options.waitUntil(expression, this::awaitTrue, () -> {
             try {
                 return eval(expression, true).getResultValue();
             } catch (Exception e) {
                 logger.warn("waitUntil evaluate failed: {}", e.getMessage());
                 return false;
             }
-        }, b -> b, "waitUntil (js)", true);
+        });
+    }
+
+    private Boolean awaitTrue(String promiseJs) {
+        PlaywrightMessage toSend = frame("evaluateExpression")
+                .param("expression", promiseJs)
+                .param("isFunction", false)
+                .param("arg", NO_ARGS);
+        // playwright awaits a returned promise, which resolves (false) on its own after the wait timeout
+        toSend.setTimeout((int) options.getWaitTimeout() + options.getRetryInterval());
+        PlaywrightMessage pwm = toSend.send();
+        if (pwm == null || pwm.isError()) {
+            return null; // e.g. the execution context was destroyed by a navigation
+        }
+        Object value = pwm.getResultValue();
+        return value instanceof Boolean ? (Boolean) value : null;
     }
 
     @Override
@@ -33,9 +33,11 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import org.graalvm.polyglot.Context;
 import org.graalvm.polyglot.Engine;
 import org.graalvm.polyglot.Value;
+import org.graalvm.polyglot.proxy.ProxyExecutable;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -56,19 +58,26 @@ public class JsEngine {
     private static final String TRUE = "true";
     private static final String FALSE = "false";
 
+    // contexts are single-threaded, but all of them share one engine
+    // which is what allows graal to re-use parsed and compiled code
+    private static final Engine ENGINE = Engine.newBuilder()
+            .option(ENGINE_WARN_INTERPRETER_ONLY, FALSE)
+            .build();
+
+    private static final int SOURCE_CACHE_SIZE = 10000;
+    private static final int SOURCE_CACHE_MAX_ENTRY_CHARS = 256 * 1024;
+    private static final long SOURCE_CACHE_MAX_CHARS = 16 * 1024 * 1024;
+
+    public static final JsSourceCache SOURCE_CACHE = new JsSourceCache(SOURCE_CACHE_SIZE, SOURCE_CACHE_MAX_ENTRY_CHARS, SOURCE_CACHE_MAX_CHARS);
+
     private static final ThreadLocal<JsEngine> GLOBAL_JS_ENGINE = new ThreadLocal<JsEngine>() {
         @Override
         protected JsEngine initialValue() {
-            return new JsEngine(createContext(null));
+            return new JsEngine(createContext(ENGINE));
         }
     };
 
     private static Context createContext(Engine engine) {
-        if (engine == null) {
-            engine = Engine.newBuilder()
-                    .option(ENGINE_WARN_INTERPRETER_ONLY, FALSE)
-                    .build();
-        }
         return Context.newBuilder(JS)
                 .allowExperimentalOptions(true)
                 .allowAllAccess(true)
@@ -94,9 +103,12 @@ public class JsEngine {
         GLOBAL_JS_ENGINE.remove();
     }
 
+    public static void set(JsEngine engine) {
+        GLOBAL_JS_ENGINE.set(engine);
+    }
+
     public static JsEngine local() {
-        Engine engine = GLOBAL_JS_ENGINE.get().context.getEngine();
-        return new JsEngine(createContext(engine));
+        return new JsEngine(createContext(ENGINE));
     }
 
     //==========================================================================
@@ -138,7 +150,7 @@ public class JsEngine {
     }
 
     public Value evalForValue(String exp) {
-        return context.eval(JS, exp);
+        return context.eval(SOURCE_CACHE.get(exp));
     }
 
     public void put(String key, Object value) {
@@ -149,6 +161,21 @@ public class JsEngine {
         bindings.removeMember(key);
     }
 
+    // the getter replaces itself with the value on first access
+    // and an assignment simply replaces the getter
+    private static final String PUT_LAZY = "(function(k, s){ var d = function(v){ Object.defineProperty(globalThis, k,"
+            + " { value: v, writable: true, configurable: true, enumerable: true }) };"
+            + " Object.defineProperty(globalThis, k, { configurable: true, enumerable: true,"
+            + " get: function(){ var v = s(); d(v); return v }, set: d }) })";
+
+    /**
+     * binds a variable whose value is only loaded when script first reads it
+     */
+    public void putLazy(String key, Supplier<Object> supplier) {
+        ProxyExecutable loader = args -> JsValue.fromJava(supplier.get());
+        evalForValue(PUT_LAZY).execute(key, loader);
+    }
+
     public void putAll(Map<String, Object> map) {
         map.forEach((k, v) -> put(k, v));
     }
@@ -0,0 +1,225 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.graal;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.graalvm.polyglot.Value;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * a bounded pool of pre-warmed js engines (all sharing the one graal engine)
+ * for servers that would otherwise create a new context per request, an
+ * engine is reset when returned: the bindings added during use are removed,
+ * top-level var / function declarations (which cannot be removed) are set to
+ * undefined, and the engine is dropped and replaced instead of re-used if
+ * there are top-level let / const declarations (which can be neither removed
+ * nor declared again) or if any of the globals it started with (e.g. JSON or
+ * Math) now has a different value
+ *
+ * note that changes made inside a global object (e.g. a function added to
+ * Array.prototype) are not detected, and will be seen by the next request
+ *
+ * @author pthomas3
+ */
+public class JsEnginePool {
+
+    private static final Logger logger = LoggerFactory.getLogger(JsEnginePool.class);
+
+    private final int maxSize;
+    private final Semaphore permits;
+    private final ConcurrentLinkedQueue<JsEngine> idle = new ConcurrentLinkedQueue();
+    private final Map<JsEngine, State> states = new ConcurrentHashMap();
+
+    private final AtomicLong acquireCount = new AtomicLong();
+    private final AtomicLong waitCount = new AtomicLong();
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicInteger createdCount = new AtomicInteger();
+    private final AtomicInteger discardedCount = new AtomicInteger();
+
+    private static class State {
+
+        final Set<String> baseline;
+        final Value clearGlobal;
+        final Value changedGlobal;
+
+        State(JsEngine engine) {
+            baseline = new HashSet(engine.bindings.getMemberKeys());
+            // true if the key was a var (or function) on the global object, which can be re-declared
+            clearGlobal = engine.evalForValue("(function(k){ if (Object.prototype.hasOwnProperty.call(globalThis, k)) {"
+                    + " globalThis[k] = undefined; return true } return false })");
+            // returns the first global that is no longer what it was when the engine was created
+            changedGlobal = engine.evalForValue("(function(){ var keys = Object.getOwnPropertyNames(globalThis);"
+                    + " var values = keys.map(function(k){ return globalThis[k] });"
+                    + " return function(){ for (var i = 0; i < keys.length; i++) {"
+                    + " if (!Object.is(globalThis[keys[i]], values[i])) return keys[i] } return null } })()");
+        }
+
+    }
+
+    public JsEnginePool(int maxSize) {
+        this(maxSize, Math.min(maxSize, Runtime.getRuntime().availableProcessors()));
+    }
+
+    public JsEnginePool(int maxSize, int prewarm) {
+        this.maxSize = maxSize;
+        permits = new Semaphore(maxSize, true);
+        for (int i = 0; i < prewarm; i++) {
+            idle.add(create());
+        }
+    }
+
+    private JsEngine create() {
+        JsEngine engine = JsEngine.local();
+        states.put(engine, new State(engine)); // also initializes the js realm, which is the slow part
+        createdCount.incrementAndGet();
+        return engine;
+    }
+
+    public JsEngine acquire() {
+        long start = System.nanoTime();
+        if (!permits.tryAcquire()) {
+            waitCount.incrementAndGet();
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        long waited = System.nanoTime() - start;
+        totalWaitNanos.addAndGet(waited);
+        maxWaitNanos.accumulateAndGet(waited, Math::max);
+        acquireCount.incrementAndGet();
+        JsEngine engine = idle.poll();
+        if (engine == null) {
+            try {
+                engine = create();
+            } catch (RuntimeException e) {
+                permits.release();
+                throw e;
+            }
+        }
+        return engine;
+    }
+
+    public void release(JsEngine engine) {
+        try {
+            if (reset(engine)) {
+                idle.add(engine);
+            } else {
+                discard(engine);
+            }
+        } finally {
+            permits.release();
+        }
+    }
+
+    private boolean reset(JsEngine engine) {
+        State state = states.get(engine);
+        if (state == null) { // not from this pool
+            return false;
+        }
+        try {
+            for (String key : engine.bindings.getMemberKeys()) {
+                if (state.baseline.contains(key)) {
+                    continue;
+                }
+                try {
+                    engine.bindings.removeMember(key);
+                } catch (UnsupportedOperationException e) {
+                    if (!state.clearGlobal.execute(key).asBoolean()) {
+                        logger.trace("js engine not re-usable, top-level declaration: {}", key);
+                        return false;
+                    }
+                }
+            }
+            Value changed = state.changedGlobal.execute();
+            if (!changed.isNull()) {
+                logger.trace("js engine not re-usable, global changed: {}", changed.asString());
+                return false;
+            }
+            return true;
+        } catch (Exception e) {
+            logger.warn("js engine reset failed: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void discard(JsEngine engine) {
+        discardedCount.incrementAndGet();
+        // not closed, values created in it may still be referenced (e.g. functions
+        // in session data) so it is left to the gc, just like a non-pooled engine
+        states.remove(engine);
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public int getIdleCount() {
+        return idle.size();
+    }
+
+    public int getActiveCount() {
+        return maxSize - permits.availablePermits();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> map = new LinkedHashMap();
+        long acquired = acquireCount.get();
+        map.put("max", maxSize);
+        map.put("active", getActiveCount());
+        map.put("idle", getIdleCount());
+        map.put("created", createdCount.get());
+        map.put("discarded", discardedCount.get());
+        map.put("acquired", acquired);
+        map.put("waited", waitCount.get());
+        map.put("avgWaitMillis", acquired == 0 ? 0 : totalWaitNanos.get() / acquired / 1000000d);
+        map.put("maxWaitMillis", maxWaitNanos.get() / 1000000d);
+        return map;
+    }
+
+    public void clear() {
+        JsEngine engine;
+        while ((engine = idle.poll()) != null) {
+            states.remove(engine);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getStats().toString();
+    }
+
+}
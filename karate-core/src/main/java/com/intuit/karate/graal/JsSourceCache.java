@@ -0,0 +1,108 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.graal;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.graalvm.polyglot.Source;
+
+/**
+ * graal re-uses parsed (and compiled) code across contexts only if the same
+ * Source instance is evaluated in contexts that share an engine, so this
+ * keeps one Source per expression text, bounded by count and by the total
+ * number of characters, and very long texts are not cached at all
+ *
+ * @author pthomas3
+ */
+public class JsSourceCache {
+
+    private static final String JS = "js";
+    // the name Context.eval() gives a Source, so stack traces read as before
+    // the file (if any) the text came from is not known at this level
+    private static final String NAME = "Unnamed";
+
+    private final int maxSize;
+    private final int maxEntryChars;
+    private final long maxChars;
+    private final AtomicLong chars = new AtomicLong();
+    private final Map<String, Source> cache = new ConcurrentHashMap();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public JsSourceCache(int maxSize, int maxEntryChars, long maxChars) {
+        this.maxSize = maxSize;
+        this.maxEntryChars = maxEntryChars;
+        this.maxChars = maxChars;
+    }
+
+    public Source get(String exp) {
+        Source source = cache.get(exp);
+        if (source != null) {
+            hits.incrementAndGet();
+            return source;
+        }
+        misses.incrementAndGet();
+        source = Source.newBuilder(JS, exp, NAME).cached(true).buildLiteral();
+        int length = exp.length();
+        // once full, stop caching, expressions seen by then are the "hot" ones
+        if (length <= maxEntryChars && cache.size() < maxSize && chars.get() + length <= maxChars) {
+            Source existing = cache.putIfAbsent(exp, source);
+            if (existing != null) {
+                return existing;
+            }
+            chars.addAndGet(length);
+        }
+        return source;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getCharCount() {
+        return chars.get();
+    }
+
+    public void clear() {
+        cache.clear();
+        chars.set(0);
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "size: " + cache.size() + ", chars: " + chars.get() + ", hits: " + hits.get() + ", misses: " + misses.get();
+    }
+
+}
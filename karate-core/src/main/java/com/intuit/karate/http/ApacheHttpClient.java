@@ -24,11 +24,11 @@
 package com.intuit.karate.http;
 
 import com.intuit.karate.Constants;
-import com.intuit.karate.FileUtils;
 import com.intuit.karate.Logger;
 import com.intuit.karate.core.Config;
 import com.intuit.karate.core.ScenarioEngine;
 import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.InetAddress;
@@ -94,7 +94,10 @@ public class ApacheHttpClient implements HttpClient, HttpRequestInterceptor {
     private final Logger logger;
     private final HttpLogger httpLogger;
 
+    private final PooledHttpClientFactory pool;
+
     private HttpClientBuilder clientBuilder;
+    private CloseableHttpClient pooledClient;
     private CookieStore cookieStore;
 
     public static class LenientCookieSpec extends DefaultCookieSpec {
@@ -124,7 +127,12 @@ public class ApacheHttpClient implements HttpClient, HttpRequestInterceptor {
     }
 
     public ApacheHttpClient(ScenarioEngine engine) {
+        this(engine, null);
+    }
+
+    public ApacheHttpClient(ScenarioEngine engine, PooledHttpClientFactory pool) {
         this.engine = engine;
+        this.pool = pool;
         logger = engine.logger;
         httpLogger = new HttpLogger(logger);
         configure(engine.getConfig());
@@ -142,40 +150,14 @@ public class ApacheHttpClient implements HttpClient, HttpRequestInterceptor {
         clientBuilder.setDefaultCookieStore(cookieStore);
         clientBuilder.setDefaultCookieSpecRegistry(LenientCookieSpec.registry());
         clientBuilder.useSystemProperties();
-        if (config.isSslEnabled()) {
-            // System.setProperty("jsse.enableSNIExtension", "false");
-            String algorithm = config.getSslAlgorithm(); // could be null
-            KeyStore trustStore = engine.getKeyStore(config.getSslTrustStore(), config.getSslTrustStorePassword(), config.getSslTrustStoreType());
-            KeyStore keyStore = engine.getKeyStore(config.getSslKeyStore(), config.getSslKeyStorePassword(), config.getSslKeyStoreType());
-            SSLContext sslContext;
-            try {
-                SSLContextBuilder builder = SSLContexts.custom()
-                        .setProtocol(algorithm); // will default to TLS if null
-                if (trustStore == null && config.isSslTrustAll()) {
-                    builder = builder.loadTrustMaterial(new TrustAllStrategy());
-                } else {
-                    if (config.isSslTrustAll()) {
-                        builder = builder.loadTrustMaterial(trustStore, new TrustSelfSignedStrategy());
-                    } else {
-                        builder = builder.loadTrustMaterial(trustStore, null); // will use system / java default
-                    }
-                }
-                if (keyStore != null) {
-                    char[] keyPassword = config.getSslKeyStorePassword() == null ? null : config.getSslKeyStorePassword().toCharArray();
-                    builder = builder.loadKeyMaterial(keyStore, keyPassword);
-                }
-                sslContext = builder.build();
-                SSLConnectionSocketFactory socketFactory;
-                if (keyStore != null) {
-                    socketFactory = new SSLConnectionSocketFactory(sslContext, new NoopHostnameVerifier());
-                } else {
-                    socketFactory = new LenientSslConnectionSocketFactory(sslContext, new NoopHostnameVerifier());
-                }
-                clientBuilder.setSSLSocketFactory(socketFactory);
-            } catch (Exception e) {
-                logger.error("ssl context init failed: {}", e.getMessage());
-                throw new RuntimeException(e);
-            }
+        if (pool != null) {
+            // ssl and socket settings belong to the shared connection manager
+            clientBuilder.setConnectionManager(pool.getConnectionManager(engine, config, () -> sslSocketFactory(config)));
+            clientBuilder.setConnectionManagerShared(true);
+            // pools are already keyed by key-store, so connections can be re-used by any client
+            clientBuilder.disableConnectionState();
+        } else if (config.isSslEnabled()) {
+            clientBuilder.setSSLSocketFactory(sslSocketFactory(config));
         }
         RequestConfig.Builder configBuilder = RequestConfig.custom()
                 .setCookieSpec(LenientCookieSpec.KARATE)
@@ -226,6 +208,41 @@ public class ApacheHttpClient implements HttpClient, HttpRequestInterceptor {
             }
         }
         clientBuilder.addInterceptorLast(this);
+        pooledClient = pool == null ? null : clientBuilder.build();
+    }
+
+    private SSLConnectionSocketFactory sslSocketFactory(Config config) {
+        // System.setProperty("jsse.enableSNIExtension", "false");
+        String algorithm = config.getSslAlgorithm(); // could be null
+        KeyStore trustStore = engine.getKeyStore(config.getSslTrustStore(), config.getSslTrustStorePassword(), config.getSslTrustStoreType());
+        KeyStore keyStore = engine.getKeyStore(config.getSslKeyStore(), config.getSslKeyStorePassword(), config.getSslKeyStoreType());
+        SSLContext sslContext;
+        try {
+            SSLContextBuilder builder = SSLContexts.custom()
+                    .setProtocol(algorithm); // will default to TLS if null
+            if (trustStore == null && config.isSslTrustAll()) {
+                builder = builder.loadTrustMaterial(new TrustAllStrategy());
+            } else {
+                if (config.isSslTrustAll()) {
+                    builder = builder.loadTrustMaterial(trustStore, new TrustSelfSignedStrategy());
+                } else {
+                    builder = builder.loadTrustMaterial(trustStore, null); // will use system / java default
+                }
+            }
+            if (keyStore != null) {
+                char[] keyPassword = config.getSslKeyStorePassword() == null ? null : config.getSslKeyStorePassword().toCharArray();
+                builder = builder.loadKeyMaterial(keyStore, keyPassword);
+            }
+            sslContext = builder.build();
+            if (keyStore != null) {
+                return new SSLConnectionSocketFactory(sslContext, new NoopHostnameVerifier());
+            } else {
+                return new LenientSslConnectionSocketFactory(sslContext, new NoopHostnameVerifier());
+            }
+        } catch (Exception e) {
+            logger.error("ssl context init failed: {}", e.getMessage());
+            throw new RuntimeException(e);
+        }
     }
 
     @Override
@@ -244,8 +261,14 @@ public class ApacheHttpClient implements HttpClient, HttpRequestInterceptor {
     public Response invoke(HttpRequest request) {
         this.request = request;
         RequestBuilder requestBuilder = RequestBuilder.create(request.getMethod()).setUri(request.getUrl());
-        if (request.getBody() != null) {
-            EntityBuilder entityBuilder = EntityBuilder.create().setBinary(request.getBody());
+        File bodyFile = request.getBodyFile();
+        if (bodyFile != null || request.getBody() != null) {
+            EntityBuilder entityBuilder = EntityBuilder.create();
+            if (bodyFile != null) { // streamed from disk
+                entityBuilder.setFile(bodyFile);
+            } else {
+                entityBuilder.setBinary(request.getBody());
+            }
             List<String> transferEncoding = request.getHeaderValues(HttpConstants.HDR_TRANSFER_ENCODING);
             if (transferEncoding != null) {
                 for (String te : transferEncoding) {
@@ -266,9 +289,10 @@ public class ApacheHttpClient implements HttpClient, HttpRequestInterceptor {
         if (request.getHeaders() != null) {
             request.getHeaders().forEach((k, vals) -> vals.forEach(v -> requestBuilder.addHeader(k, v)));
         }
-        CloseableHttpClient client = clientBuilder.build();
+        CloseableHttpClient client = pooledClient == null ? clientBuilder.build() : pooledClient;
         CloseableHttpResponse httpResponse;
         byte[] bytes;
+        File spilled = null;
         try {
             httpResponse = client.execute(requestBuilder.build());
             HttpEntity responseEntity = httpResponse.getEntity();
@@ -276,7 +300,9 @@ public class ApacheHttpClient implements HttpClient, HttpRequestInterceptor {
                 bytes = Constants.ZERO_BYTES;
             } else {
                 InputStream is = responseEntity.getContent();
-                bytes = FileUtils.toBytes(is);
+                BodyBuffer buffer = BodyBuffer.read(is, responseEntity.getContentLength(), getConfig().getSpillBodySize());
+                bytes = buffer.getBytes();
+                spilled = buffer.getFile();
             }
             request.setEndTimeMillis(System.currentTimeMillis());
         } catch (Exception e) {
@@ -314,6 +340,10 @@ public class ApacheHttpClient implements HttpClient, HttpRequestInterceptor {
             headers = toHeaders(httpResponse);            
         }
         Response response = new Response(httpResponse.getStatusLine().getStatusCode(), headers, bytes);
+        if (spilled != null) {
+            response.setSpilledBody(spilled);
+            engine.runtime.addSpilledResponse(response);
+        }
         httpLogger.logResponse(getConfig(), request, response);
         return response;
     }
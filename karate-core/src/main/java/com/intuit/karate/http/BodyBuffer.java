@@ -0,0 +1,180 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.http;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+/**
+ * reads an http body into memory, unless it turns out to be bigger than the
+ * threshold, in which case it is written to a temp file instead so that huge
+ * downloads never need a huge (and growing) byte array
+ *
+ * @author pthomas3
+ */
+public class BodyBuffer {
+
+    public static final long DEFAULT_THRESHOLD = 10 * 1024 * 1024;
+
+    private static final int BUFFER_SIZE = 8192;
+
+    private final byte[] bytes;
+    private final File file;
+
+    private BodyBuffer(byte[] bytes, File file) {
+        this.bytes = bytes;
+        this.file = file;
+    }
+
+    /**
+     * null if the body was spilled to a file
+     */
+    public byte[] getBytes() {
+        return bytes;
+    }
+
+    /**
+     * a temp file, only if the body was bigger than the threshold
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @param length the content-length if known, else -1
+     * @param threshold bodies bigger than this go to a temp file, 0 or less
+     * to disable
+     */
+    public static BodyBuffer read(InputStream is, long length, long threshold) throws IOException {
+        try {
+            if (threshold <= 0 || length <= threshold) {
+                if (length >= 0 && length <= Integer.MAX_VALUE) {
+                    return new BodyBuffer(readExactly(is, (int) length), null);
+                }
+                if (threshold <= 0) {
+                    return new BodyBuffer(readFully(is), null);
+                }
+            }
+            // length unknown or too big, buffer in memory only up to the threshold
+            ByteArrayOutputStream baos = length > threshold ? null : new ByteArrayOutputStream(BUFFER_SIZE);
+            byte[] buffer = new byte[BUFFER_SIZE];
+            File file = null;
+            OutputStream os = baos;
+            try {
+                if (baos == null) {
+                    file = createTempFile();
+                    os = new FileOutputStream(file);
+                }
+                int count;
+                while ((count = is.read(buffer)) != -1) {
+                    if (file == null && baos.size() + count > threshold) {
+                        file = createTempFile();
+                        os = new FileOutputStream(file);
+                        baos.writeTo(os);
+                        baos = null;
+                    }
+                    os.write(buffer, 0, count);
+                }
+            } catch (IOException e) {
+                if (file != null) {
+                    os.close();
+                    file.delete();
+                }
+                throw e;
+            }
+            if (file == null) {
+                return new BodyBuffer(baos.toByteArray(), null);
+            }
+            os.close();
+            return new BodyBuffer(null, file);
+        } finally {
+            is.close();
+        }
+    }
+
+    private static byte[] readExactly(InputStream is, int length) throws IOException {
+        byte[] bytes = new byte[length];
+        int pos = 0;
+        while (pos < length) {
+            int count = is.read(bytes, pos, length - pos);
+            if (count == -1) { // content-length was wrong, be lenient
+                return Arrays.copyOf(bytes, pos);
+            }
+            pos += count;
+        }
+        int next = is.read();
+        if (next != -1) { // more than the content-length, keep it all as before
+            ByteArrayOutputStream baos = new ByteArrayOutputStream(length * 2);
+            baos.write(bytes);
+            baos.write(next);
+            baos.write(readFully(is));
+            return baos.toByteArray();
+        }
+        return bytes;
+    }
+
+    private static byte[] readFully(InputStream is) throws IOException {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int count;
+        while ((count = is.read(buffer)) != -1) {
+            baos.write(buffer, 0, count);
+        }
+        return baos.toByteArray();
+    }
+
+    private static File createTempFile() throws IOException {
+        // deleted when read, or when the scenario ends, see ScenarioRuntime
+        return File.createTempFile("karate-body-", ".tmp");
+    }
+
+    public static byte[] readFile(File file) {
+        try {
+            return Files.readAllBytes(file.toPath());
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * at most max bytes from the start of the file, for logging
+     */
+    public static byte[] readFile(File file, int max) {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "r")) {
+            byte[] bytes = new byte[(int) Math.min(max, raf.length())];
+            raf.readFully(bytes);
+            return bytes;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+}
@@ -0,0 +1,228 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.http;
+
+import com.intuit.karate.JsonUtils;
+import java.io.Closeable;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * a session store for long-running servers, holds at most max-size sessions
+ * (the least recently used one is evicted to make room) and removes expired
+ * sessions in the background instead of only when a client comes back with
+ * the same session id
+ *
+ * in off-heap mode the session data is kept as json in direct byte-buffers,
+ * which keeps the heap flat under high session churn, the trade-off is that
+ * only json-like data survives and get() returns a new session instance
+ * every time, so changes are visible only after a save()
+ *
+ * @author pthomas3
+ */
+public class EvictingSessionStore implements SessionStore, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(EvictingSessionStore.class);
+
+    public static final int DEFAULT_SWEEP_SECONDS = 60;
+
+    private static final AtomicLong COUNTER = new AtomicLong();
+
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "karate-session-sweeper");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final int maxSize;
+    private final boolean offHeap;
+    private final Map<String, Entry> sessions;
+    private final AtomicLong evictedCount = new AtomicLong();
+    private final AtomicLong expiredCount = new AtomicLong();
+    private final ScheduledFuture<?> sweepTask;
+
+    private static class Entry {
+
+        final Session session; // on-heap
+        final ByteBuffer data; // off-heap
+        final long created;
+        final long updated;
+        final long expires;
+
+        Entry(Session session, boolean offHeap) {
+            if (offHeap) {
+                this.session = null;
+                byte[] bytes = JsonUtils.toJsonBytes(session.getData());
+                data = ByteBuffer.allocateDirect(bytes.length);
+                data.put(bytes).flip();
+            } else {
+                this.session = session;
+                data = null;
+            }
+            created = session.getCreated();
+            updated = session.getUpdated();
+            expires = session.getExpires();
+        }
+
+        Session toSession(String id) {
+            if (session != null) {
+                return session;
+            }
+            byte[] bytes = new byte[data.remaining()];
+            data.duplicate().get(bytes);
+            Map<String, Object> map = (Map) JsonUtils.fromJson(new String(bytes, StandardCharsets.UTF_8));
+            return new Session(id, map, created, updated, expires);
+        }
+
+        boolean isExpired(long now) {
+            // some stores / tests create sessions with no expiry
+            return expires > 0 && expires < now;
+        }
+
+    }
+
+    public static EvictingSessionStore onHeap(int maxSize) {
+        return new EvictingSessionStore(maxSize, false, DEFAULT_SWEEP_SECONDS);
+    }
+
+    public static EvictingSessionStore offHeap(int maxSize) {
+        return new EvictingSessionStore(maxSize, true, DEFAULT_SWEEP_SECONDS);
+    }
+
+    public EvictingSessionStore(int maxSize, boolean offHeap, int sweepSeconds) {
+        this.maxSize = maxSize;
+        this.offHeap = offHeap;
+        sessions = new LinkedHashMap<String, Entry>(16, 0.75f, true) { // access-order, for lru
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > EvictingSessionStore.this.maxSize) {
+                    evictedCount.incrementAndGet();
+                    logger.debug("session evicted: {}", eldest.getKey());
+                    return true;
+                }
+                return false;
+            }
+        };
+        sweepTask = sweepSeconds > 0 ? SWEEPER.scheduleWithFixedDelay(this::sweep, sweepSeconds, sweepSeconds, TimeUnit.SECONDS) : null;
+    }
+
+    @Override
+    public Session create(long now, long expires) {
+        String id = COUNTER.incrementAndGet() + "-" + System.currentTimeMillis();
+        return new Session(id, new HashMap(), now, now, expires);
+    }
+
+    @Override
+    public Session get(String id) {
+        Entry entry;
+        synchronized (sessions) {
+            entry = sessions.get(id);
+        }
+        return entry == null ? null : entry.toSession(id);
+    }
+
+    @Override
+    public void save(Session session) {
+        Entry entry = new Entry(session, offHeap); // serialize outside the lock
+        synchronized (sessions) {
+            sessions.put(session.getId(), entry);
+        }
+    }
+
+    @Override
+    public void delete(String id) {
+        synchronized (sessions) {
+            sessions.remove(id);
+        }
+    }
+
+    public int sweep() {
+        long now = Instant.now().getEpochSecond();
+        int count = 0;
+        synchronized (sessions) {
+            Iterator<Entry> iterator = sessions.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(now)) {
+                    iterator.remove();
+                    count++;
+                }
+            }
+        }
+        if (count > 0) {
+            expiredCount.addAndGet(count);
+            logger.debug("removed {} expired session(s)", count);
+        }
+        return count;
+    }
+
+    public int getSize() {
+        synchronized (sessions) {
+            return sessions.size();
+        }
+    }
+
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    public boolean isOffHeap() {
+        return offHeap;
+    }
+
+    public long getEvictedCount() {
+        return evictedCount.get();
+    }
+
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    @Override
+    public void close() {
+        if (sweepTask != null) {
+            sweepTask.cancel(false);
+        }
+        synchronized (sessions) {
+            sessions.clear();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "size: " + getSize() + ", evicted: " + evictedCount.get() + ", expired: " + expiredCount.get();
+    }
+
+}
@@ -50,6 +50,13 @@ public class HttpConstants {
     public static final String HDR_ACCEPT = "Accept";
     public static final String HDR_ALLOW = "Allow";
     public static final String HDR_CACHE_CONTROL = "Cache-Control";
+    public static final String HDR_ETAG = "ETag";
+    public static final String HDR_LAST_MODIFIED = "Last-Modified";
+    public static final String HDR_IF_NONE_MATCH = "If-None-Match";
+    public static final String HDR_IF_MODIFIED_SINCE = "If-Modified-Since";
+    public static final String HDR_ACCEPT_ENCODING = "Accept-Encoding";
+    public static final String HDR_CONTENT_ENCODING = "Content-Encoding";
+    public static final String HDR_VARY = "Vary";
 
     public static final String HDR_HX_REQUEST = "HX-Request";
     public static final String HDR_HX_REDIRECT = "HX-Redirect";
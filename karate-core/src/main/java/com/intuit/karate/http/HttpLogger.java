@@ -63,13 +63,27 @@ public class HttpLogger {
         });
     }
 
+    // a body bigger than the spill size is never converted as a whole into a string
+    private static final int PREVIEW_BYTES = 4096;
+
+    private static boolean isLarge(Config config, long length) {
+        int max = config == null ? (int) BodyBuffer.DEFAULT_THRESHOLD : config.getSpillBodySize();
+        return max > 0 && length > max;
+    }
+
+    private static String truncated(byte[] preview, long length) {
+        return FileUtils.toString(preview) + "\n... [truncated, " + length + " bytes]";
+    }
+
     private static void logBody(Config config, HttpLogModifier logModifier,
-            StringBuilder sb, String uri, byte[] body, boolean request, ResourceType rt) {
+            StringBuilder sb, String uri, byte[] body, long length, boolean request, ResourceType rt) {
         if (body == null) {
             return;
         }
         String text;
-        if (config != null && needsPrettyLogging(config, request)) {
+        if (body.length < length) { // preview
+            text = FileUtils.toString(body);
+        } else if (config != null && needsPrettyLogging(config, request)) {
             Object converted = JsValue.fromBytes(body, false, rt);
             Variable v = new Variable(converted);
             text = v.getAsPrettyString();
@@ -80,6 +94,9 @@ public class HttpLogger {
             text = request ? logModifier.request(uri, text) : logModifier.response(uri, text);
         }
         sb.append(text);
+        if (body.length < length) {
+            sb.append("\n... [truncated, ").append(length).append(" bytes]");
+        }
     }
 
     private static boolean needsPrettyLogging(Config config, boolean request) {
@@ -103,7 +120,8 @@ public class HttpLogger {
         String url = request.getUrl();
         HttpLogModifier logModifier = logModifier(config, url);
         String maskedUrl = logModifier == null ? url : logModifier.uri(url);
-        String rawResponse = response.getBodyAsString();
+        long length = response.getBodyLength();
+        String rawResponse = isLarge(config, length) ? truncated(response.getBodyPreview(PREVIEW_BYTES), length) : response.getBodyAsString();
         if (rawResponse != null && logModifier != null) {
             rawResponse = logModifier.response(url, rawResponse);
         }
@@ -127,12 +145,15 @@ public class HttpLogger {
             // don't log body
         } else {
             byte[] body;
+            long length;
             if (rt == ResourceType.MULTIPART) {
                 body = request.getBodyForDisplay() == null ? null : request.getBodyForDisplay().getBytes();
+                length = body == null ? 0 : body.length;
             } else {
-                body = request.getBody();
+                length = request.getBodyLength();
+                body = isLarge(config, length) ? request.getBodyPreview(PREVIEW_BYTES) : request.getBody();
             }
-            logBody(config, requestModifier, sb, uri, body, true, rt);
+            logBody(config, requestModifier, sb, uri, body, length, true, rt);
         }
         sb.append('\n');
         logger.debug("{}", sb);
@@ -151,7 +172,9 @@ public class HttpLogger {
         if (rt == null || rt.isBinary()) {
             // don't log body
         } else {
-            logBody(config, responseModifier, sb, uri, response.getBody(), false, rt);
+            long length = response.getBodyLength();
+            byte[] body = isLarge(config, length) ? response.getBodyPreview(PREVIEW_BYTES) : response.getBody();
+            logBody(config, responseModifier, sb, uri, body, length, false, rt);
         }
         sb.append('\n');
         logger.debug("{}", sb);
@@ -25,6 +25,7 @@ package com.intuit.karate.http;
 
 import com.intuit.karate.FileUtils;
 import com.intuit.karate.StringUtils;
+import java.io.File;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
@@ -42,6 +43,7 @@ public class HttpRequest {
     private String method;
     private Map<String, List<String>> headers;
     private byte[] body;
+    private File bodyFile;
     private String bodyForDisplay;
 
     public void putHeader(String name, String... values) {
@@ -102,11 +104,40 @@ public class HttpRequest {
     }
 
     public byte[] getBody() {
+        if (body == null && bodyFile != null) {
+            // read from disk only once, clients that can stream use getBodyFile()
+            body = BodyBuffer.readFile(bodyFile);
+        }
         return body;
     }
 
     public String getBodyAsString() {
-        return FileUtils.toString(body);
+        return FileUtils.toString(getBody());
+    }
+
+    /**
+     * a body that http clients that can stream will upload from disk
+     */
+    public File getBodyFile() {
+        return bodyFile;
+    }
+
+    public void setBodyFile(File bodyFile) {
+        this.bodyFile = bodyFile;
+    }
+
+    public long getBodyLength() {
+        if (body == null) {
+            return bodyFile == null ? 0 : bodyFile.length();
+        }
+        return body.length;
+    }
+
+    public byte[] getBodyPreview(int max) {
+        if (body == null && bodyFile != null) {
+            return BodyBuffer.readFile(bodyFile, max);
+        }
+        return body == null || body.length <= max ? body : Arrays.copyOf(body, max);
     }
 
     public void setBody(byte[] body) {
@@ -156,7 +187,7 @@ public class HttpRequest {
         request.setMethod(method);
         request.setUrl(url);
         request.setHeaders(headers);
-        request.setBody(body);
+        request.setBody(getBody());
         return request;
     }
 
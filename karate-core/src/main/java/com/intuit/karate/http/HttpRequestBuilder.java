@@ -31,6 +31,7 @@ import com.intuit.karate.graal.Methods;
 import io.netty.handler.codec.http.cookie.ClientCookieEncoder;
 import io.netty.handler.codec.http.cookie.Cookie;
 import io.netty.handler.codec.http.cookie.DefaultCookie;
+import java.io.File;
 import java.net.URI;
 import java.net.URISyntaxException;
 import java.nio.charset.Charset;
@@ -152,7 +153,9 @@ public class HttpRequestBuilder implements ProxyObject {
         if (multiPart != null) {
             request.setBodyForDisplay(multiPart.getBodyForDisplay());
         }
-        if (body != null) {
+        if (body instanceof File) {
+            request.setBodyFile((File) body);
+        } else if (body != null) {
             request.setBody(JsValue.toBytes(body));
         }
         request.setHeaders(headers);
@@ -33,12 +33,17 @@ import com.linecorp.armeria.common.ResponseHeaders;
 import com.linecorp.armeria.common.ResponseHeadersBuilder;
 import com.linecorp.armeria.server.HttpService;
 import com.linecorp.armeria.server.ServiceRequestContext;
+import com.linecorp.armeria.server.file.HttpFile;
+import com.linecorp.armeria.server.file.HttpFileBuilder;
 import io.netty.util.AsciiString;
+import java.io.File;
 import java.time.Duration;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 /**
  *
@@ -54,11 +59,16 @@ public class HttpServerHandler implements HttpService {
 
     @Override
     public HttpResponse serve(ServiceRequestContext ctx, HttpRequest req) throws Exception {
-        return HttpResponse.from(req.aggregate().thenApply(ahr -> {
+        Function<AggregatedHttpRequest, HttpResponse> serve = ahr -> {
             Request request = toRequest(ctx, ahr);
             Response response = handler.handle(request);
             return toResponse(ctx, response);
-        }));
+        };
+        CompletableFuture<AggregatedHttpRequest> future = req.aggregate();
+        if (handler.isBlocking()) {
+            return HttpResponse.from(future.thenApplyAsync(serve, ctx.blockingTaskExecutor()));
+        }
+        return HttpResponse.from(future.thenApply(serve));
     }
 
     private Request toRequest(ServiceRequestContext ctx, AggregatedHttpRequest req) {
@@ -87,16 +97,27 @@ public class HttpServerHandler implements HttpService {
     }
 
     private HttpResponse toResponse(ServiceRequestContext ctx, Response response) {
-        byte[] body = response.getBody();
-        if (body == null) {
-            body = Constants.ZERO_BYTES;
-        }
-        ResponseHeadersBuilder rhb = ResponseHeaders.builder(response.getStatus());
+        HttpResponse hr;
         Map<String, List<String>> headers = response.getHeaders();
-        if (headers != null) {
-            headers.forEach((k, v) -> rhb.add(k, v));
+        File file = response.getBodyFile();
+        if (file != null) { // streamed in chunks, never fully in memory
+            HttpFileBuilder hfb = HttpFile.builder(file).date(false).lastModified(false)
+                    .entityTag(false).autoDetectedContentType(false);
+            if (headers != null) {
+                headers.forEach((k, v) -> v.forEach(value -> hfb.addHeader(k, value)));
+            }
+            hr = HttpResponse.from(hfb.build().read(ctx.blockingTaskExecutor(), ctx.alloc()));
+        } else {
+            byte[] body = response.getBody();
+            if (body == null) {
+                body = Constants.ZERO_BYTES;
+            }
+            ResponseHeadersBuilder rhb = ResponseHeaders.builder(response.getStatus());
+            if (headers != null) {
+                headers.forEach((k, v) -> rhb.add(k, v));
+            }
+            hr = HttpResponse.of(rhb.build(), HttpData.wrap(body));
         }
-        HttpResponse hr = HttpResponse.of(rhb.build(), HttpData.wrap(body));
         if (response.getDelay() > 0) {
             return HttpResponse.delayed(hr, Duration.ofMillis(response.getDelay()), ctx.eventLoop());
         } else {
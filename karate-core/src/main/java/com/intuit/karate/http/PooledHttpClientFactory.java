@@ -0,0 +1,163 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.http;
+
+import com.intuit.karate.core.Config;
+import com.intuit.karate.core.ScenarioEngine;
+import java.io.Closeable;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.apache.http.config.RegistryBuilder;
+import org.apache.http.config.SocketConfig;
+import org.apache.http.conn.socket.ConnectionSocketFactory;
+import org.apache.http.conn.socket.PlainConnectionSocketFactory;
+import org.apache.http.conn.ssl.SSLConnectionSocketFactory;
+import org.apache.http.impl.client.IdleConnectionEvictor;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.pool.PoolStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * creates apache http clients that share pooled connections across scenarios,
+ * one connection pool is kept per distinct ssl / proxy / timeout configuration
+ * so that ssl contexts are built and tls handshakes are done once per suite
+ * instead of once per scenario
+ *
+ * @author pthomas3
+ */
+public class PooledHttpClientFactory implements HttpClientFactory, Closeable {
+
+    private static final Logger logger = LoggerFactory.getLogger(PooledHttpClientFactory.class);
+
+    public static final int DEFAULT_MAX_TOTAL = 200;
+    public static final int DEFAULT_MAX_PER_ROUTE = 50;
+    public static final int DEFAULT_IDLE_SECONDS = 30;
+
+    private final int maxTotal;
+    private final int maxPerRoute;
+    private final int idleSeconds;
+    private final Map<List<Object>, Pool> pools = new ConcurrentHashMap();
+    private final AtomicInteger counter = new AtomicInteger();
+
+    private static class Pool {
+
+        final String name;
+        final PoolingHttpClientConnectionManager manager;
+        final IdleConnectionEvictor evictor;
+
+        Pool(String name, PoolingHttpClientConnectionManager manager, IdleConnectionEvictor evictor) {
+            this.name = name;
+            this.manager = manager;
+            this.evictor = evictor;
+        }
+
+        void close() {
+            evictor.shutdown();
+            manager.close();
+        }
+
+    }
+
+    public PooledHttpClientFactory() {
+        this(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE, DEFAULT_IDLE_SECONDS);
+    }
+
+    public PooledHttpClientFactory(int maxTotal, int maxPerRoute, int idleSeconds) {
+        this.maxTotal = maxTotal;
+        this.maxPerRoute = maxPerRoute;
+        this.idleSeconds = idleSeconds;
+    }
+
+    @Override
+    public HttpClient create(ScenarioEngine engine) {
+        return new ApacheHttpClient(engine, this);
+    }
+
+    private static List<Object> toKey(ScenarioEngine engine, Config config) {
+        // key-stores are resolved relative to the calling feature
+        String trustStore = config.getSslTrustStore() == null ? null : engine.fileReader.toAbsolutePath(config.getSslTrustStore());
+        String keyStore = config.getSslKeyStore() == null ? null : engine.fileReader.toAbsolutePath(config.getSslKeyStore());
+        return Arrays.asList(config.isSslEnabled(), config.getSslAlgorithm(), config.isSslTrustAll(),
+                trustStore, config.getSslTrustStorePassword(), config.getSslTrustStoreType(),
+                keyStore, config.getSslKeyStorePassword(), config.getSslKeyStoreType(),
+                config.getProxyUri(), config.getProxyUsername(), config.getProxyPassword(), config.getNonProxyHosts(),
+                config.getLocalAddress(), config.getConnectTimeout(), config.getReadTimeout());
+    }
+
+    protected PoolingHttpClientConnectionManager getConnectionManager(ScenarioEngine engine, Config config, Supplier<SSLConnectionSocketFactory> sslFactory) {
+        List<Object> key = toKey(engine, config);
+        return pools.computeIfAbsent(key, k -> {
+            RegistryBuilder<ConnectionSocketFactory> registry = RegistryBuilder.<ConnectionSocketFactory>create()
+                    .register("http", PlainConnectionSocketFactory.getSocketFactory());
+            SSLConnectionSocketFactory ssl = config.isSslEnabled() ? sslFactory.get() : null;
+            registry.register("https", ssl == null ? SSLConnectionSocketFactory.getSystemSocketFactory() : ssl);
+            PoolingHttpClientConnectionManager manager = new PoolingHttpClientConnectionManager(registry.build());
+            manager.setMaxTotal(maxTotal);
+            manager.setDefaultMaxPerRoute(maxPerRoute);
+            manager.setDefaultSocketConfig(SocketConfig.custom().setSoTimeout(config.getConnectTimeout()).build());
+            IdleConnectionEvictor evictor = new IdleConnectionEvictor(manager, idleSeconds, TimeUnit.SECONDS);
+            evictor.start();
+            String name = "pool" + counter.incrementAndGet();
+            logger.debug("created http connection pool: {}, ssl: {}, proxy: {}", name, config.isSslEnabled(), config.getProxyUri());
+            return new Pool(name, manager, evictor);
+        }).manager;
+    }
+
+    public int getPoolCount() {
+        return pools.size();
+    }
+
+    public Map<String, Map<String, Object>> getStats() {
+        Map<String, Map<String, Object>> map = new LinkedHashMap();
+        pools.values().forEach(pool -> {
+            PoolStats stats = pool.manager.getTotalStats();
+            Map<String, Object> temp = new LinkedHashMap();
+            temp.put("leased", stats.getLeased());
+            temp.put("available", stats.getAvailable());
+            temp.put("pending", stats.getPending());
+            temp.put("max", stats.getMax());
+            temp.put("routes", pool.manager.getRoutes().size());
+            map.put(pool.name, temp);
+        });
+        return map;
+    }
+
+    @Override
+    public void close() {
+        if (!pools.isEmpty()) {
+            logger.debug("closing http connection pools: {}", getStats());
+        }
+        // pools will be re-created on demand if this factory is re-used
+        pools.values().forEach(Pool::close);
+        pools.clear();
+    }
+
+}
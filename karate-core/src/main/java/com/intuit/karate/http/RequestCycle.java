@@ -24,6 +24,7 @@
 package com.intuit.karate.http;
 
 import com.intuit.karate.graal.JsEngine;
+import com.intuit.karate.graal.JsEnginePool;
 import com.intuit.karate.graal.JsValue;
 import com.intuit.karate.resource.ResourceResolver;
 import com.intuit.karate.template.KarateTemplateEngine;
@@ -55,12 +56,28 @@ public class RequestCycle {
     }
 
     protected static RequestCycle init(KarateTemplateEngine te, ServerContext context) {
-        RequestCycle rc = new RequestCycle(JsEngine.global(), te, context);
-        THREAD_LOCAL.set(rc);
-        return rc;
+        JsEnginePool pool = context.getConfig().getJsEnginePool();
+        if (pool == null) {
+            RequestCycle rc = new RequestCycle(JsEngine.global(), null, te, context);
+            THREAD_LOCAL.set(rc);
+            return rc;
+        }
+        JsEngine engine = pool.acquire();
+        // code that looks up the thread's global engine should see the same one
+        JsEngine.set(engine);
+        try {
+            RequestCycle rc = new RequestCycle(engine, pool, te, context);
+            THREAD_LOCAL.set(rc);
+            return rc;
+        } catch (RuntimeException e) {
+            JsEngine.remove();
+            pool.release(engine);
+            throw e;
+        }
     }
 
     private final JsEngine engine;
+    private final JsEnginePool pool;
     private final KarateTemplateEngine templateEngine;
     private final Request request;
     private final Response response;
@@ -71,8 +88,9 @@ public class RequestCycle {
     private String switchTemplate;
     private Map<String, Object> switchParams;
 
-    private RequestCycle(JsEngine engine, KarateTemplateEngine templateEngine, ServerContext context) {
+    private RequestCycle(JsEngine engine, JsEnginePool pool, KarateTemplateEngine templateEngine, ServerContext context) {
         this.engine = engine;
+        this.pool = pool;
         this.templateEngine = templateEngine;
         this.context = context;
         config = context.getConfig();
@@ -101,7 +119,7 @@ public class RequestCycle {
     public RequestCycle copy(Request request, Map<String, Object> variables) {
         ServerContext temp = new ServerContext(config, request, variables);
         temp.setSession(context.getSession());
-        return new RequestCycle(JsEngine.local(), templateEngine, temp);
+        return new RequestCycle(JsEngine.local(), null, templateEngine, temp);
     }
 
     public JsEngine getEngine() {
@@ -117,24 +135,30 @@ public class RequestCycle {
     }
 
     private void close() {
-        Session session = context.getSession();
-        if (session != null && !session.isTemporary()) {
-            if (context.isClosed()) {
-                // note that session cookie is deleted in response-builder
-                context.getConfig().getSessionStore().delete(session.getId());
-                logger.debug("session deleted: {}", session.getId());
-            } else {
-                JsValue sessionValue = engine.get(SESSION);
-                if (sessionValue.isObject()) {
-                    session.getData().putAll(sessionValue.getAsMap());
-                    context.getConfig().getSessionStore().save(session);
+        try {
+            Session session = context.getSession();
+            if (session != null && !session.isTemporary()) {
+                if (context.isClosed()) {
+                    // note that session cookie is deleted in response-builder
+                    context.getConfig().getSessionStore().delete(session.getId());
+                    logger.debug("session deleted: {}", session.getId());
                 } else {
-                    logger.error("invalid session, not map-like: {}", sessionValue);
+                    JsValue sessionValue = engine.get(SESSION);
+                    if (sessionValue.isObject()) {
+                        session.getData().putAll(sessionValue.getAsMap());
+                        context.getConfig().getSessionStore().save(session);
+                    } else {
+                        logger.error("invalid session, not map-like: {}", sessionValue);
+                    }
                 }
             }
+        } finally {
+            JsEngine.remove();
+            THREAD_LOCAL.remove();
+            if (pool != null) {
+                pool.release(engine);
+            }
         }
-        JsEngine.remove();
-        THREAD_LOCAL.remove();
     }
 
     public Session getSession() {
@@ -54,6 +54,11 @@ public class RequestHandler implements ServerHandler {
         stripHostContextPath = config.isStripContextPathFromRequest() ? config.getHostContextPath() : null;
     }
 
+    @Override
+    public boolean isBlocking() {
+        return config.getJsEnginePool() != null; // waits when all engines are in use
+    }
+
     @Override
     public Response handle(Request request) {
         if (stripHostContextPath != null) {
@@ -137,7 +142,8 @@ public class RequestHandler implements ServerHandler {
             return true;
         }
         session.setUpdated(now);
-        session.setExpires(expires);
+        // sliding expiry, so that stores that sweep expired sessions see the new deadline
+        session.setExpires(now + config.getSessionExpirySeconds());
         return false;
     }
 
@@ -23,6 +23,7 @@
  */
 package com.intuit.karate.http;
 
+import java.io.File;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -202,7 +203,7 @@ public enum ResourceType {
             return TEXT;
         } else if (o instanceof Node) {
             return XML;
-        } else if (o instanceof byte[]) {
+        } else if (o instanceof byte[] || o instanceof File) {
             return BINARY;
         } else {
             return defaultType;
@@ -33,6 +33,7 @@ import com.intuit.karate.graal.JsValue;
 import com.intuit.karate.graal.Methods;
 import io.netty.handler.codec.http.cookie.ClientCookieDecoder;
 import io.netty.handler.codec.http.cookie.Cookie;
+import java.io.File;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -69,6 +70,8 @@ public class Response implements ProxyObject {
     private int status;
     private Map<String, List<String>> headers;
     private Object body;
+    private File bodyFile;
+    private boolean bodySpilled;
 
     private ResourceType resourceType;
     private int delay;
@@ -133,9 +136,77 @@ public class Response implements ProxyObject {
         if (body instanceof byte[]) {
             return (byte[]) body;
         }
+        if (body == null && bodyFile != null) {
+            if (!bodySpilled) {
+                return BodyBuffer.readFile(bodyFile);
+            }
+            // materialize only once, and the temp file is not needed after that
+            byte[] bytes = BodyBuffer.readFile(bodyFile);
+            bodyFile.delete();
+            bodyFile = null;
+            bodySpilled = false;
+            body = bytes;
+            return bytes;
+        }
         return JsValue.toBytes(body);
     }
 
+    /**
+     * a (large) static file that the server can stream instead of calling
+     * getBody() which reads the whole file into memory
+     */
+    public File getBodyFile() {
+        return bodyFile;
+    }
+
+    public void setBodyFile(File bodyFile) {
+        this.bodyFile = bodyFile;
+    }
+
+    /**
+     * a (large) body that was written to a temp file by the http client, read
+     * into memory only if getBody() is called
+     */
+    public void setSpilledBody(File file) {
+        bodyFile = file;
+        bodySpilled = true;
+    }
+
+    public boolean isBodySpilled() {
+        return bodySpilled;
+    }
+
+    /**
+     * deletes the temp file of a spilled body that was never read, after
+     * which getBody() returns null
+     */
+    public void discardSpilledBody() {
+        if (bodySpilled) {
+            bodyFile.delete();
+            bodyFile = null;
+            bodySpilled = false;
+        }
+    }
+
+    public long getBodyLength() {
+        if (body == null) {
+            return bodyFile == null ? 0 : bodyFile.length();
+        }
+        return getBody().length;
+    }
+
+    /**
+     * at most max bytes from the start of the body, without reading all of a
+     * body that is in a file
+     */
+    public byte[] getBodyPreview(int max) {
+        if (body == null && bodyFile != null) {
+            return BodyBuffer.readFile(bodyFile, max);
+        }
+        byte[] bytes = getBody();
+        return bytes == null || bytes.length <= max ? bytes : Arrays.copyOf(bytes, max);
+    }
+
     public void setBody(byte[] body) {
         this.body = body;
     }
@@ -145,7 +216,7 @@ public class Response implements ProxyObject {
     }
 
     public String getBodyAsString() {
-        return body == null ? null : FileUtils.toString(getBody());
+        return body == null && bodyFile == null ? null : FileUtils.toString(getBody());
     }
 
     public Object getBodyConverted() {
@@ -23,6 +23,7 @@
  */
 package com.intuit.karate.http;
 
+import com.intuit.karate.resource.Resource;
 import com.intuit.karate.resource.ResourceResolver;
 import com.intuit.karate.FileUtils;
 import com.intuit.karate.StringUtils;
@@ -30,6 +31,10 @@ import io.netty.handler.codec.http.cookie.Cookie;
 import io.netty.handler.codec.http.cookie.DefaultCookie;
 import io.netty.handler.codec.http.cookie.ServerCookieEncoder;
 import java.io.InputStream;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
@@ -194,21 +199,92 @@ public class ResponseBuilder {
         return merged;
     }
     
-    public Response buildStatic(Request request) { // TODO ETag header handling
+    public Response buildStatic(Request request) {
         resourceType = request.getResourceType();
         if (resourceType == null) {
             resourceType = ResourceType.BINARY;
         }
         contentType(resourceType.contentType);
         try {
-            InputStream is = resourceResolver.resolve(request.getResourcePath()).getStream();
-            body(is);
-            header(HttpConstants.HDR_CACHE_CONTROL, "max-age=31536000");
+            Resource resource = resourceResolver.resolve(request.getResourcePath());
+            StaticResourceCache.Entry entry = config.getStaticResourceCache().get(resource, !resourceType.isBinary());
+            // in dev mode the browser has to check every time, which is cheap now
+            header(HttpConstants.HDR_CACHE_CONTROL, config.isDevMode() ? "no-cache" : "max-age=31536000");
+            String encoding = null;
+            if (entry.getGzip() != null) {
+                header(HttpConstants.HDR_VARY, HttpConstants.HDR_ACCEPT_ENCODING);
+                String acceptEncoding = request.getHeader(HttpConstants.HDR_ACCEPT_ENCODING);
+                if (acceptEncoding != null) {
+                    if (entry.getBrotli() != null && accepts(acceptEncoding, "br")) {
+                        encoding = "br";
+                    } else if (accepts(acceptEncoding, "gzip")) {
+                        encoding = "gzip";
+                    }
+                }
+            }
+            // each encoding is a different representation, so it gets its own etag
+            String etag = entry.getEtag(encoding);
+            header(HttpConstants.HDR_ETAG, etag);
+            header(HttpConstants.HDR_LAST_MODIFIED, toHttpDate(entry.getLastModified()));
+            if (isNotModified(request, etag, entry)) {
+                return buildWithStatus(304);
+            }
+            if (entry.getBytes() == null) {
+                Response response = buildWithStatus(200);
+                response.setBodyFile(entry.getFile());
+                return response;
+            }
+            if (encoding == null) {
+                body = entry.getBytes();
+            } else {
+                body = "br".equals(encoding) ? entry.getBrotli() : entry.getGzip();
+                header(HttpConstants.HDR_CONTENT_ENCODING, encoding);
+            }
         } catch (Exception e) {
             logger.error("local resource failed: {} - {}", request, e.toString());
         }
         return buildWithStatus(200);
     }
+
+    private static boolean isNotModified(Request request, String entityTag, StaticResourceCache.Entry entry) {
+        String ifNoneMatch = request.getHeader(HttpConstants.HDR_IF_NONE_MATCH);
+        if (ifNoneMatch != null) { // takes precedence over if-modified-since
+            for (String etag : ifNoneMatch.split(",")) {
+                etag = etag.trim();
+                if (etag.startsWith("W/")) {
+                    etag = etag.substring(2);
+                }
+                if (etag.equals("*") || etag.equals(entityTag)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+        String ifModifiedSince = request.getHeader(HttpConstants.HDR_IF_MODIFIED_SINCE);
+        if (ifModifiedSince != null) {
+            try {
+                long since = ZonedDateTime.parse(ifModifiedSince, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli();
+                return entry.getLastModified() <= since;
+            } catch (Exception e) {
+                logger.debug("invalid if-modified-since: {}", ifModifiedSince);
+            }
+        }
+        return false;
+    }
+
+    private static boolean accepts(String acceptEncoding, String encoding) {
+        for (String part : acceptEncoding.split(",")) {
+            String[] pair = part.split(";");
+            if (encoding.equals(pair[0].trim())) {
+                return pair.length == 1 || !pair[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private static String toHttpDate(long millis) {
+        return DateTimeFormatter.RFC_1123_DATE_TIME.format(Instant.ofEpochMilli(millis).atZone(ZoneOffset.UTC));
+    }
     
     public Response buildWithStatus(int status) {
         return new Response(status, headers, status == 204 ? null : body, resourceType);
@@ -25,6 +25,7 @@ package com.intuit.karate.http;
 
 import com.intuit.karate.Logger;
 import com.intuit.karate.core.Config;
+import com.intuit.karate.graal.JsEnginePool;
 import com.intuit.karate.resource.ResourceResolver;
 import com.linecorp.armeria.common.RequestContext;
 import java.util.HashMap;
@@ -49,6 +50,8 @@ public class ServerConfig {
     private boolean devMode;
     private SessionStore sessionStore = JvmSessionStore.INSTANCE;
     private int sessionExpirySeconds = 60 * 10;
+    private JsEnginePool jsEnginePool;
+    private StaticResourceCache staticResourceCache = new StaticResourceCache();
 
     public static final Session GLOBAL_SESSION = new Session("-1", new HashMap(), -1, -1, -1);
 
@@ -123,6 +126,14 @@ public class ServerConfig {
         return sessionExpirySeconds;
     }
 
+    public JsEnginePool getJsEnginePool() {
+        return jsEnginePool;
+    }
+
+    public StaticResourceCache getStaticResourceCache() {
+        return staticResourceCache;
+    }
+
     public SessionStore getSessionStore() {
         return sessionStore;
     }
@@ -196,6 +207,25 @@ public class ServerConfig {
         return this;
     }
 
+    /**
+     * re-use (at most this many) js engines across requests instead of
+     * creating a new one per request, requests wait if all are in use, on
+     * the blocking task executor instead of the event loop
+     */
+    public ServerConfig jsEnginePool(int maxSize) {
+        jsEnginePool = new JsEnginePool(maxSize);
+        return this;
+    }
+
+    /**
+     * limits for keeping static resources in memory, files bigger than
+     * maxEntryBytes are streamed from disk and a maxBytes of 0 disables caching
+     */
+    public ServerConfig staticResourceCache(int maxEntryBytes, long maxBytes) {
+        staticResourceCache = new StaticResourceCache(maxEntryBytes, maxBytes);
+        return this;
+    }
+
     public ServerConfig contextFactory(Function<Request, ServerContext> value) {
         contextFactory = value;
         return this;
@@ -30,5 +30,13 @@ package com.intuit.karate.http;
 public interface ServerHandler {
     
     Response handle(Request request);
+
+    /**
+     * true if handle() can wait (e.g. for a pooled js engine), so it is run on
+     * the blocking task executor instead of the event loop
+     */
+    default boolean isBlocking() {
+        return false;
+    }
     
 }
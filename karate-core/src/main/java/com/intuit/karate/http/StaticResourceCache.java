@@ -0,0 +1,272 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.http;
+
+import com.intuit.karate.FileUtils;
+import com.intuit.karate.resource.Resource;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.handler.codec.compression.Brotli;
+import io.netty.handler.codec.compression.BrotliEncoder;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.CRC32;
+import java.util.zip.GZIPOutputStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * static resources (js, css, images) are read once and kept in memory along
+ * with an etag and pre-compressed variants, files too big to cache are
+ * streamed from disk by the server instead of being read into memory
+ *
+ * @author pthomas3
+ */
+public class StaticResourceCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaticResourceCache.class);
+
+    public static final int DEFAULT_MAX_ENTRY_BYTES = 256 * 1024;
+    public static final long DEFAULT_MAX_BYTES = 32 * 1024 * 1024;
+
+    // below this compression rarely pays for the extra header
+    private static final int MIN_COMPRESS_BYTES = 256;
+
+    private static final boolean BROTLI = isBrotliAvailable();
+
+    private static boolean isBrotliAvailable() {
+        try {
+            return Brotli.isAvailable();
+        } catch (Throwable t) { // brotli4j is optional and native
+            logger.debug("brotli not available: {}", t.toString());
+            return false;
+        }
+    }
+
+    public static class Entry {
+
+        private final byte[] bytes;
+        private final File file;
+        private final long length;
+        private final long fileLastModified;
+        private final long lastModified;
+        private final String etag;
+        private byte[] gzip;
+        private byte[] brotli;
+
+        private Entry(byte[] bytes, File file) {
+            this.bytes = bytes;
+            this.file = file;
+            if (file == null) {
+                length = bytes.length;
+                fileLastModified = -1;
+                lastModified = System.currentTimeMillis();
+            } else {
+                length = file.length();
+                fileLastModified = file.lastModified();
+                lastModified = fileLastModified;
+            }
+            if (bytes == null) {
+                etag = '"' + Long.toHexString(fileLastModified) + "-" + Long.toHexString(length) + '"';
+            } else {
+                CRC32 crc = new CRC32();
+                crc.update(bytes, 0, bytes.length);
+                etag = '"' + Long.toHexString(crc.getValue()) + "-" + Long.toHexString(length) + '"';
+            }
+        }
+
+        private boolean isStale() {
+            return file != null && (file.lastModified() != fileLastModified || file.length() != length);
+        }
+
+        private long getSize() {
+            long size = bytes == null ? 0 : bytes.length;
+            size += gzip == null ? 0 : gzip.length;
+            size += brotli == null ? 0 : brotli.length;
+            return size;
+        }
+
+        /**
+         * null if the resource is a file that was too big to read into memory
+         */
+        public byte[] getBytes() {
+            return bytes;
+        }
+
+        public File getFile() {
+            return file;
+        }
+
+        public byte[] getGzip() {
+            return gzip;
+        }
+
+        public byte[] getBrotli() {
+            return brotli;
+        }
+
+        public String getEtag() {
+            return etag;
+        }
+
+        /**
+         * the etag of the gzip or br variant has the encoding appended, e.g.
+         * "1a2b-3c-gzip", and null gives the etag of the uncompressed bytes
+         */
+        public String getEtag(String contentEncoding) {
+            if (contentEncoding == null) {
+                return etag;
+            }
+            return etag.substring(0, etag.length() - 1) + "-" + contentEncoding + '"';
+        }
+
+        /**
+         * http dates have a resolution of seconds
+         */
+        public long getLastModified() {
+            return lastModified / 1000 * 1000;
+        }
+
+    }
+
+    private final int maxEntryBytes;
+    private final long maxBytes;
+    private final Map<String, Entry> cache = new ConcurrentHashMap();
+    private final AtomicLong bytes = new AtomicLong();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public StaticResourceCache() {
+        this(DEFAULT_MAX_ENTRY_BYTES, DEFAULT_MAX_BYTES);
+    }
+
+    public StaticResourceCache(int maxEntryBytes, long maxBytes) {
+        this.maxEntryBytes = maxEntryBytes;
+        this.maxBytes = maxBytes;
+    }
+
+    public Entry get(Resource resource, boolean compressible) {
+        String key = resource.getPrefixedPath();
+        Entry entry = cache.get(key);
+        if (entry != null) {
+            if (!entry.isStale()) {
+                hits.incrementAndGet();
+                return entry;
+            }
+            if (cache.remove(key, entry)) {
+                bytes.addAndGet(-entry.getSize());
+            }
+        }
+        misses.incrementAndGet();
+        File file = resource.isFile() ? resource.getFile() : null;
+        if (file != null && file.length() > maxEntryBytes) {
+            return new Entry(null, file);
+        }
+        entry = new Entry(FileUtils.toBytes(resource.getStream()), file);
+        if (entry.length > maxEntryBytes) { // not a file, no choice but to read
+            return entry;
+        }
+        boolean cacheable = bytes.get() + entry.length <= maxBytes;
+        if (cacheable && compressible && entry.length >= MIN_COMPRESS_BYTES) {
+            entry.gzip = smaller(gzip(entry.bytes), entry.bytes);
+            if (BROTLI) {
+                entry.brotli = smaller(brotli(entry.bytes), entry.bytes);
+            }
+        }
+        // once full, stop caching, resources seen by then are the "hot" ones
+        long size = entry.getSize();
+        if (cacheable && cache.putIfAbsent(key, entry) == null) {
+            bytes.addAndGet(size);
+        }
+        return entry;
+    }
+
+    private static byte[] smaller(byte[] compressed, byte[] bytes) {
+        return compressed == null || compressed.length >= bytes.length ? null : compressed;
+    }
+
+    private static byte[] gzip(byte[] bytes) {
+        ByteArrayOutputStream baos = new ByteArrayOutputStream(bytes.length / 2);
+        try (GZIPOutputStream gos = new GZIPOutputStream(baos)) {
+            gos.write(bytes);
+        } catch (Exception e) {
+            logger.warn("gzip failed: {}", e.toString());
+            return null;
+        }
+        return baos.toByteArray();
+    }
+
+    private static byte[] brotli(byte[] bytes) {
+        EmbeddedChannel channel = new EmbeddedChannel(new BrotliEncoder());
+        try {
+            channel.writeOutbound(Unpooled.wrappedBuffer(bytes));
+            ByteBuf buf = channel.readOutbound();
+            try {
+                byte[] result = new byte[buf.readableBytes()];
+                buf.readBytes(result);
+                return result;
+            } finally {
+                buf.release();
+            }
+        } catch (Throwable t) {
+            logger.warn("brotli failed: {}", t.toString());
+            return null;
+        } finally {
+            channel.finishAndReleaseAll();
+        }
+    }
+
+    public int size() {
+        return cache.size();
+    }
+
+    public long getBytes() {
+        return bytes.get();
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    public void clear() {
+        cache.clear();
+        bytes.set(0);
+        hits.set(0);
+        misses.set(0);
+    }
+
+    @Override
+    public String toString() {
+        return "size: " + cache.size() + ", bytes: " + bytes.get() + ", hits: " + hits.get() + ", misses: " + misses.get();
+    }
+
+}
@@ -31,8 +31,6 @@ import io.netty.channel.Channel;
 import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultHttpHeaders;
 import io.netty.handler.codec.http.FullHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
@@ -52,8 +50,10 @@ import io.netty.handler.ssl.SslContextBuilder;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
 import java.net.URI;
 import java.util.Map;
-import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import javax.net.ssl.SSLException;
 
@@ -63,6 +63,8 @@ import javax.net.ssl.SSLException;
  */
 public class WebSocketClient implements WebSocketListener {
 
+    private static final int CLOSE_TIMEOUT = 5000;
+
     // mutable
     private Logger logger;
 
@@ -74,6 +76,10 @@ public class WebSocketClient implements WebSocketListener {
     private final SslContext sslContext;
     private final WebSocketClientHandshaker handShaker;
     private final WebSocketClientHandler handler;
+    private final int maxQueueSize;
+    private final BlockingQueue<Object> queue = new LinkedBlockingQueue();
+    private boolean paused; // guarded by queue
+    private final AtomicBoolean closed = new AtomicBoolean();
 
     private Function<String, Boolean> textHandler;
     private Function<byte[], Boolean> binaryHandler;
@@ -106,11 +112,13 @@ public class WebSocketClient implements WebSocketListener {
         binaryHandler = options.getBinaryHandler();
         uri = options.getUri();
         port = options.getPort();
-        group = new NioEventLoopGroup();
+        maxQueueSize = options.getMaxQueueSize();
+        group = WebSocketEventLoop.acquire();
         if (options.isSsl()) {
             try {
                 sslContext = SslContextBuilder.forClient().trustManager(InsecureTrustManagerFactory.INSTANCE).build();
             } catch (SSLException e) {
+                WebSocketEventLoop.release();
                 throw new RuntimeException(e);
             }
         } else {
@@ -127,7 +135,7 @@ public class WebSocketClient implements WebSocketListener {
         try {
             Bootstrap b = new Bootstrap();
             b.group(group)
-                    .channel(NioSocketChannel.class)
+                    .channel(WebSocketEventLoop.channelClass())
                     .handler(new ChannelInitializer() {
                         @Override
                         protected void initChannel(Channel c) {
@@ -145,6 +153,7 @@ public class WebSocketClient implements WebSocketListener {
             handler.handshakeFuture().sync();
         } catch (Exception e) {
             logger.error("websocket client init failed: {}", e.getMessage());
+            WebSocketEventLoop.release();
             throw new RuntimeException(e);
         }
     }
@@ -172,9 +181,28 @@ public class WebSocketClient implements WebSocketListener {
     }
 
     public void close() {
-        channel.writeAndFlush(new CloseWebSocketFrame());
-        waitSync();
-        group.shutdownGracefully();
+        if (!closed.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            // nobody will listen() any more, and reads have to be on for the close reply to arrive
+            synchronized (queue) {
+                queue.clear();
+                paused = false;
+            }
+            channel.config().setAutoRead(true);
+            channel.writeAndFlush(new CloseWebSocketFrame());
+            if (!channel.closeFuture().await(CLOSE_TIMEOUT)) {
+                logger.warn("websocket close not acknowledged within {} ms, closing channel", CLOSE_TIMEOUT);
+                channel.close();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            channel.close();
+        } finally {
+            // the event loop is shared, it is shut down only when the last client lets go
+            WebSocketEventLoop.release();
+        }
     }
 
     public void ping() {
@@ -200,19 +228,40 @@ public class WebSocketClient implements WebSocketListener {
         channel.writeAndFlush(frame);
     }
 
-    private CompletableFuture SIGNAL = new CompletableFuture();
-
     public void signal(Object result) {
         logger.trace("signal called: {}", result);
-        SIGNAL.complete(result);
+        if (closed.get()) {
+            return;
+        }
+        synchronized (queue) {
+            queue.offer(result);
+            // stop reading from the socket until listen() catches up, instead of dropping messages
+            if (!paused && queue.size() >= maxQueueSize) {
+                logger.debug("websocket queue full ({}), pausing reads", maxQueueSize);
+                paused = true;
+                channel.config().setAutoRead(false);
+            }
+        }
     }
 
-    public synchronized Object listen(long timeout) {
+    public Object listen(long timeout) {
         try {
             logger.trace("entered listen wait state");
-            return SIGNAL.get(timeout, TimeUnit.MILLISECONDS);
-        } catch (Exception e) {
-            logger.error("listen timed out: {}", e + "");
+            Object result = queue.poll(timeout, TimeUnit.MILLISECONDS);
+            if (result == null) {
+                logger.error("listen timed out after {} ms", timeout);
+                return null;
+            }
+            synchronized (queue) {
+                if (paused && queue.size() <= maxQueueSize / 2) {
+                    paused = false;
+                    channel.config().setAutoRead(true);
+                }
+            }
+            return result;
+        } catch (InterruptedException e) {
+            logger.error("listen interrupted: {}", e + "");
+            Thread.currentThread().interrupt();
             return null;
         }
     }
@@ -0,0 +1,131 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.http;
+
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.netty.util.concurrent.DefaultThreadFactory;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * a single netty event loop group shared by all websocket clients in the
+ * process, created on first use and shut down only after it has had no
+ * clients for a minute, so that tests that open and close clients one after
+ * the other do not pay for a new group (and threads) each time, set the
+ * system property "karate.websocket.epoll" to true to use
+ * the native epoll transport on linux, looked up via reflection since the
+ * netty epoll classes are only a runtime (transitive) dependency
+ *
+ * @author pthomas3
+ */
+class WebSocketEventLoop {
+
+    private static final Logger logger = LoggerFactory.getLogger(WebSocketEventLoop.class);
+
+    public static final String EPOLL_PROPERTY = "karate.websocket.epoll";
+
+    private static EventLoopGroup group;
+    private static Class<? extends SocketChannel> channelClass;
+    private static int refCount;
+    private static ScheduledFuture<?> idleShutdown;
+    static long idleMillis = 60000; // tests can make this shorter
+
+    private WebSocketEventLoop() {
+        // only static methods
+    }
+
+    static synchronized EventLoopGroup acquire() {
+        if (idleShutdown != null) {
+            idleShutdown.cancel(false);
+            idleShutdown = null;
+        }
+        if (group == null) {
+            // daemon threads, a client that is never closed should not keep the jvm alive
+            ThreadFactory threadFactory = new DefaultThreadFactory("karate-websocket", true);
+            if (Boolean.getBoolean(EPOLL_PROPERTY)) {
+                initEpoll(threadFactory);
+            }
+            if (group == null) {
+                group = new NioEventLoopGroup(0, threadFactory);
+                channelClass = NioSocketChannel.class;
+            }
+            logger.debug("created websocket event loop: {}", channelClass.getSimpleName());
+        }
+        refCount++;
+        return group;
+    }
+
+    private static void initEpoll(ThreadFactory threadFactory) {
+        try {
+            Class epoll = Class.forName("io.netty.channel.epoll.Epoll");
+            if (!(Boolean) epoll.getMethod("isAvailable").invoke(null)) {
+                Object cause = epoll.getMethod("unavailabilityCause").invoke(null);
+                logger.warn("epoll not available, will use nio: {}", cause);
+                return;
+            }
+            Class groupClass = Class.forName("io.netty.channel.epoll.EpollEventLoopGroup");
+            group = (EventLoopGroup) groupClass.getConstructor(int.class, ThreadFactory.class).newInstance(0, threadFactory);
+            channelClass = (Class) Class.forName("io.netty.channel.epoll.EpollSocketChannel");
+        } catch (Exception e) {
+            logger.warn("epoll init failed, will use nio: {}", e + "");
+            group = null;
+        }
+    }
+
+    static synchronized Class<? extends SocketChannel> channelClass() {
+        return channelClass;
+    }
+
+    static synchronized void release() {
+        if (refCount == 0) {
+            return;
+        }
+        if (--refCount == 0) {
+            EventLoopGroup idle = group;
+            idleShutdown = idle.schedule(() -> shutdownIfIdle(idle), idleMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static synchronized void shutdownIfIdle(EventLoopGroup idle) {
+        if (refCount > 0 || group != idle) { // acquired again in the meantime
+            return;
+        }
+        idleShutdown = null;
+        group.shutdownGracefully();
+        group = null;
+        channelClass = null;
+        logger.debug("websocket event loop shut down after being idle");
+    }
+
+    static synchronized int getRefCount() {
+        return refCount;
+    }
+
+}
@@ -42,6 +42,7 @@ public class WebSocketOptions {
     private Function<byte[], Boolean> binaryHandler;
     private Map<String, Object> headers;
     private int maxPayloadSize = 4194304;
+    private int maxQueueSize = 1000;
 
     public WebSocketOptions(String url) {
         this(url, null);
@@ -57,6 +58,10 @@ public class WebSocketOptions {
             if (temp != null) {
                 maxPayloadSize = temp;
             }
+            temp = (Integer) options.get("maxQueueSize");
+            if (temp != null) {
+                maxQueueSize = temp;
+            }
             headers = (Map) options.get("headers");
         }
     }
@@ -120,4 +125,12 @@ public class WebSocketOptions {
         this.maxPayloadSize = maxPayloadSize;
     }
 
+    public int getMaxQueueSize() {
+        return maxQueueSize;
+    }
+
+    public void setMaxQueueSize(int maxQueueSize) {
+        this.maxQueueSize = maxQueueSize;
+    }
+
 }
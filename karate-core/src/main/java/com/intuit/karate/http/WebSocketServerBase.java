@@ -73,7 +73,6 @@ public class WebSocketServerBase {
     }
 
     public WebSocketServerBase(int port, String path, SimpleChannelInboundHandler handler) {
-        this.port = port;
         bossGroup = new NioEventLoopGroup(1);
         workerGroup = new NioEventLoopGroup(8);
         WebSocketServerProtocolConfig config = WebSocketServerProtocolConfig.newBuilder()
@@ -98,8 +97,8 @@ public class WebSocketServerBase {
             channel = b.bind(port).sync().channel();
             InetSocketAddress isa = (InetSocketAddress) channel.localAddress();
             String host = "127.0.0.1"; //isa.getHostString();
-            port = isa.getPort();
-            logger.info("proxy server started - ws://{}:{}", host, port);
+            this.port = isa.getPort();
+            logger.info("proxy server started - ws://{}:{}", host, this.port);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -25,7 +25,7 @@ package com.intuit.karate.report;
 
 import com.intuit.karate.FileUtils;
 import com.intuit.karate.graal.JsEngine;
-import com.intuit.karate.template.KarateTemplateEngine;
+import com.intuit.karate.resource.ResourceResolver;
 import com.intuit.karate.template.TemplateUtils;
 import java.io.File;
 import java.util.HashMap;
@@ -53,8 +53,8 @@ public interface Report {
 
     default File render(String reportDir) {
         JsEngine je = getJsEngine();
-        KarateTemplateEngine engine = TemplateUtils.forResourceRoot(je, getResourceRoot());
-        String html = engine.process(getTemplate());
+        ResourceResolver resolver = new ResourceResolver(getResourceRoot());
+        String html = TemplateUtils.renderResourcePath(getTemplate(), je, resolver);
         if (reportDir == null) {
             reportDir = getReportDir();
         }
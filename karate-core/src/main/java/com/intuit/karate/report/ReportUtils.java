@@ -25,22 +25,25 @@ package com.intuit.karate.report;
 
 import com.intuit.karate.FileUtils;
 import com.intuit.karate.XmlUtils;
-import com.intuit.karate.JsonUtils;
 import com.intuit.karate.StringUtils;
 import com.intuit.karate.core.FeatureResult;
 import com.intuit.karate.core.ScenarioResult;
 import com.intuit.karate.core.StepResult;
 import com.intuit.karate.resource.ResourceUtils;
+import java.io.BufferedWriter;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
 import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
 import java.text.SimpleDateFormat;
-import java.util.Collections;
 import java.util.Date;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import org.w3c.dom.Document;
@@ -109,13 +112,33 @@ public class ReportUtils {
         return (double) nanos / MILLION;
     }
 
+    private interface ReportWriter {
+
+        void write(Writer writer) throws IOException;
+
+    }
+
+    // reports are streamed to the file, a feature with large (http log) step
+    // results would otherwise be held in memory as one big string
+    private static File writeToFile(File file, ReportWriter reportWriter) {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (!parent.exists()) {
+            parent.mkdirs();
+        }
+        try (Writer writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            reportWriter.write(writer);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        return file;
+    }
+
     public static File saveKarateJson(String targetDir, FeatureResult result, String fileName) {
         if (fileName == null) {
             fileName = result.getFeature().getKarateJsonFileName();
         }
         File file = new File(targetDir + File.separator + fileName);
-        FileUtils.writeToFile(file, JsonUtils.toJson(result.toKarateJson()));
-        return file;
+        return writeToFile(file, result::writeKarateJson);
     }
 
     public static File saveCucumberJson(String targetDir, FeatureResult result, String fileName) {
@@ -123,9 +146,11 @@ public class ReportUtils {
             fileName = result.getFeature().getPackageQualifiedName() + ".json";
         }
         File file = new File(targetDir + File.separator + fileName);
-        String json = JsonUtils.toJson(Collections.singletonList(result.toCucumberJson()));
-        FileUtils.writeToFile(file, json);
-        return file;
+        return writeToFile(file, writer -> {
+            writer.write('[');
+            result.writeCucumberJson(writer);
+            writer.write(']');
+        });
     }
 
     private static Throwable appendSteps(List<StepResult> steps, StringBuilder sb) {
@@ -165,40 +190,38 @@ public class ReportUtils {
         root.setAttribute("time", formatter.format(result.getDurationMillis() / 1000));
         root.setAttribute("name", result.getDisplayName()); // will be uri
         root.setAttribute("skipped", "0");
-        StringBuilder xmlString = new StringBuilder();
-        xmlString.append(XmlUtils.toString(doc, false).replace("/>", ">"));
         String baseName = result.getFeature().getPackageQualifiedName();
-        Iterator<ScenarioResult> iterator = result.getScenarioResults().iterator();
-        while (iterator.hasNext()) {
-            ScenarioResult sr = iterator.next();
-            Element testCase = doc.createElement("testcase");
-            testCase.setAttribute("classname", baseName);
-            StringBuilder sb = new StringBuilder();
-            Throwable error = appendSteps(sr.getStepResults(), sb);
-            String name = sr.getScenario().getName();
-            if (StringUtils.isBlank(name)) {
-                name = sr.getScenario().getUniqueId();
-            }
-            testCase.setAttribute("name", name);
-            testCase.setAttribute("time", formatter.format(sr.getDurationMillis() / 1000));
-            Element stepsHolder;
-            if (error != null) {
-                stepsHolder = doc.createElement("failure");
-                stepsHolder.setAttribute("message", error.getMessage());
-            } else {
-                stepsHolder = doc.createElement("system-out");
-            }
-            testCase.appendChild(stepsHolder);
-            stepsHolder.setTextContent(sb.toString());
-            xmlString.append(XmlUtils.toString(testCase)).append('\n');
-        }
-        xmlString.append("</testsuite>");
         if (fileName == null) {
             fileName = baseName + ".xml";
         }
         File file = new File(targetDir + File.separator + fileName);
-        FileUtils.writeToFile(file, xmlString.toString());
-        return file;
+        return writeToFile(file, writer -> {
+            writer.write(XmlUtils.toString(doc, false).replace("/>", ">"));
+            for (ScenarioResult sr : result.getScenarioResults()) {
+                Element testCase = doc.createElement("testcase");
+                testCase.setAttribute("classname", baseName);
+                StringBuilder sb = new StringBuilder();
+                Throwable error = appendSteps(sr.getStepResults(), sb);
+                String name = sr.getScenario().getName();
+                if (StringUtils.isBlank(name)) {
+                    name = sr.getScenario().getUniqueId();
+                }
+                testCase.setAttribute("name", name);
+                testCase.setAttribute("time", formatter.format(sr.getDurationMillis() / 1000));
+                Element stepsHolder;
+                if (error != null) {
+                    stepsHolder = doc.createElement("failure");
+                    stepsHolder.setAttribute("message", error.getMessage());
+                } else {
+                    stepsHolder = doc.createElement("system-out");
+                }
+                testCase.appendChild(stepsHolder);
+                stepsHolder.setTextContent(sb.toString());
+                writer.write(XmlUtils.toString(testCase));
+                writer.write('\n');
+            }
+            writer.write("</testsuite>");
+        });
     }
 
 }
@@ -37,11 +37,16 @@ import java.net.URL;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 import org.slf4j.Logger;
@@ -89,21 +94,93 @@ public class ResourceUtils {
         return features;
     }
 
-    private static final ScanResult SCAN_RESULT = new ClassGraph().acceptPaths("/").scan(1);
+    // jar entries are remembered by uri only, so that their bytes are not held for ever
+    // a miss only skips the package scan, the class loaders are always asked again
+    // e.g. karate-base.js is looked-up for every suite and is normally absent
+    private static final Map<String, Resource> CLASSPATH_FILES = new ConcurrentHashMap();
+    private static final Map<String, URI> CLASSPATH_JARS = new ConcurrentHashMap();
+    private static final Set<String> CLASSPATH_MISSES = ConcurrentHashMap.newKeySet();
 
     public static Resource getResource(File workingDir, String path) {
         if (path.startsWith(Resource.CLASSPATH_COLON)) {
             path = removePrefix(path);
-            File file = classPathToFile(path);
-            if (file != null) {
-                return new FileResource(file, true, path);
+            Resource resource = CLASSPATH_FILES.get(path);
+            if (resource != null) {
+                return resource;
             }
-            List<Resource> resources = new ArrayList<>();
-            synchronized (SCAN_RESULT) {
-                ResourceList rl = SCAN_RESULT.getResourcesWithPath(path);
-                if (rl == null) {
-                    rl = ResourceList.emptyList();
+            URI uri = CLASSPATH_JARS.get(path);
+            if (uri != null) {
+                resource = readJarResource(uri, normalizeClassPath(path));
+            }
+            if (resource == null) {
+                resource = findClassPathResource(path, !CLASSPATH_MISSES.contains(path));
+            }
+            if (resource == null) {
+                CLASSPATH_MISSES.add(path);
+                throw new RuntimeException("not found: " + path);
+            }
+            CLASSPATH_MISSES.remove(path);
+            if (resource.isFile()) {
+                Resource existing = CLASSPATH_FILES.putIfAbsent(path, resource);
+                return existing == null ? resource : existing;
+            }
+            CLASSPATH_JARS.put(path, resource.getUri());
+            return resource;
+        } else {
+            File file = new File(removePrefix(path));
+            if (!file.exists()) {
+                throw new RuntimeException("not found: " + path);
+            }
+            Path relativePath = workingDir.toPath().relativize(file.getAbsoluteFile().toPath());
+            return new FileResource(file, false, relativePath.toString());
+        }
+    }
+
+    private static Resource readJarResource(URI uri, String relativePath) {
+        try (InputStream is = uri.toURL().openStream()) {
+            return new JarResource(FileUtils.toBytes(is), relativePath, uri);
+        } catch (Exception e) {
+            logger.debug("re-read of jar resource failed, will look-up again: {} - {}", uri, e.getMessage());
+            return null;
+        }
+    }
+
+    private static Resource findClassPathResource(String path, boolean scan) {
+        File file = classPathToFile(path);
+        if (file != null) {
+            return new FileResource(file, true, path);
+        }
+        String normalized = normalizeClassPath(path);
+        URL url = CLASS_LOADER.getResource(normalized);
+        if (url == null) {
+            ClassLoader contextLoader = Thread.currentThread().getContextClassLoader();
+            if (contextLoader != null && contextLoader != CLASS_LOADER) {
+                url = contextLoader.getResource(normalized);
+            }
+        }
+        if (url != null) {
+            try (InputStream is = url.openStream()) {
+                URI uri = url.toURI();
+                if ("file".equals(uri.getScheme())) {
+                    return new FileResource(Paths.get(uri).toFile(), true, path);
                 }
+                return new JarResource(FileUtils.toBytes(is), normalized, uri);
+            } catch (Exception e) {
+                logger.debug("class loader look-up failed, will scan: {} - {}", normalized, e.getMessage());
+            }
+        }
+        // class loaders that classgraph knows about but that are not in our hierarchy
+        // scan only the containing package, a root-level scan would open every jar
+        // and root-level files (karate-config.js, karate-base.js) are class loader visible
+        int pos = normalized.lastIndexOf('/');
+        if (pos == -1 || !scan) {
+            return null;
+        }
+        String parent = normalized.substring(0, pos);
+        List<Resource> resources = new ArrayList();
+        try (ScanResult scanResult = new ClassGraph().acceptPathsNonRecursive(parent).scan(1)) {
+            ResourceList rl = scanResult.getResourcesWithPath(normalized);
+            if (rl != null) {
                 rl.forEachByteArrayIgnoringIOException((res, bytes) -> {
                     URI uri = res.getURI();
                     if ("file".equals(uri.getScheme())) {
@@ -114,18 +191,26 @@ public class ResourceUtils {
                     }
                 });
             }
-            if (resources.isEmpty()) {
-                throw new RuntimeException("not found: " + path);
+        }
+        return resources.isEmpty() ? null : resources.get(0);
+    }
+
+    protected static String normalizeClassPath(String path) {
+        if (!path.contains("//") && !path.contains("./") && !path.startsWith("/")) {
+            return path;
+        }
+        Deque<String> segments = new ArrayDeque();
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty() || ".".equals(segment)) {
+                continue;
             }
-            return resources.get(0);
-        } else {
-            File file = new File(removePrefix(path));
-            if (!file.exists()) {
-                throw new RuntimeException("not found: " + path);
+            if ("..".equals(segment)) {
+                segments.pollLast();
+            } else {
+                segments.addLast(segment);
             }
-            Path relativePath = workingDir.toPath().relativize(file.getAbsoluteFile().toPath());
-            return new FileResource(file, false, relativePath.toString());
         }
+        return String.join("/", segments);
     }
 
     public static Collection<Resource> findResourcesByExtension(File workingDir, String extension, String path) {
@@ -34,6 +34,8 @@ import org.slf4j.LoggerFactory;
 import org.thymeleaf.IEngineConfiguration;
 import org.thymeleaf.TemplateEngine;
 import org.thymeleaf.TemplateSpec;
+import org.thymeleaf.cache.StandardCache;
+import org.thymeleaf.cache.StandardCacheManager;
 import org.thymeleaf.context.IContext;
 import org.thymeleaf.context.IEngineContext;
 import org.thymeleaf.context.StandardEngineContextFactory;
@@ -54,12 +56,20 @@ public class KarateTemplateEngine {
 
     private static final Logger logger = LoggerFactory.getLogger(KarateTemplateEngine.class);
 
+    // parsed templates, string templates are keyed by content and
+    // the resolvers decide when a template read from a file is stale
+    public static final int TEMPLATE_CACHE_SIZE = 200;
+
     private final StandardEngineContextFactory standardFactory;
     private final TemplateEngine wrapped;
 
     public KarateTemplateEngine(Supplier<JsEngine> jsEngine, IDialect... dialects) {
         standardFactory = new StandardEngineContextFactory();
         wrapped = new TemplateEngine();
+        StandardCacheManager cacheManager = new StandardCacheManager();
+        cacheManager.setTemplateCacheMaxSize(TEMPLATE_CACHE_SIZE);
+        cacheManager.setTemplateCacheEnableCounters(true);
+        wrapped.setCacheManager(cacheManager);
         wrapped.setEngineContextFactory((IEngineConfiguration ec, TemplateData data, Map<String, Object> attrs, IContext context) -> {
             IEngineContext engineContext = standardFactory.createEngineContext(ec, data, attrs, context);
             return KarateEngineContext.initThreadLocal(engineContext, jsEngine.get());
@@ -79,6 +89,22 @@ public class KarateTemplateEngine {
         wrapped.setTemplateResolver(templateResolver);
     }
 
+    private StandardCache templateCache() {
+        return (StandardCache) wrapped.getConfiguration().getCacheManager().getTemplateCache();
+    }
+
+    public int getTemplateCacheSize() {
+        return templateCache().size();
+    }
+
+    public long getTemplateCacheHitCount() {
+        return templateCache().getHitCount();
+    }
+
+    public long getTemplateCacheMissCount() {
+        return templateCache().getMissCount();
+    }
+
     public String process(String template) {
         return process(template, TemplateContext.LOCALE_US);
     }
@@ -0,0 +1,67 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.template;
+
+import com.intuit.karate.resource.Resource;
+import java.io.File;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
+import org.thymeleaf.cache.ICacheEntryValidity;
+
+/**
+ * keeps a parsed template cached until the file it came from is modified,
+ * templates that are not files (e.g. within a jar) can never change
+ *
+ * @author pthomas3
+ */
+class ModifiedTimeCacheEntryValidity implements ICacheEntryValidity {
+
+    private final File file;
+    private final long lastModified;
+    private final long length;
+
+    private ModifiedTimeCacheEntryValidity(File file) {
+        this.file = file;
+        lastModified = file.lastModified();
+        length = file.length();
+    }
+
+    static ICacheEntryValidity of(Resource resource) {
+        if (resource.isFile() && resource.getFile() != null) {
+            return new ModifiedTimeCacheEntryValidity(resource.getFile());
+        }
+        return AlwaysValidCacheEntryValidity.INSTANCE;
+    }
+
+    @Override
+    public boolean isCacheable() {
+        return true;
+    }
+
+    @Override
+    public boolean isCacheStillValid() {
+        // some file-systems have a coarse mtime, so a quick re-write can keep it the same
+        return file.lastModified() == lastModified && file.length() == length;
+    }
+
+}
@@ -29,7 +29,6 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.thymeleaf.IEngineConfiguration;
-import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 import org.thymeleaf.templateresolver.TemplateResolution;
@@ -62,7 +61,7 @@ public class ResourceHtmlTemplateResolver implements ITemplateResolver {
     public TemplateResolution resolveTemplate(IEngineConfiguration ec, String ownerTemplate, String name, Map<String, Object> templateResolutionAttributes) {
         Resource resource = resourceResolver.resolve(ownerTemplate, name);
         KarateTemplateResource templateResource = new KarateTemplateResource(resource);
-        return new TemplateResolution(templateResource, TemplateMode.HTML, AlwaysValidCacheEntryValidity.INSTANCE);
+        return new TemplateResolution(templateResource, TemplateMode.HTML, ModifiedTimeCacheEntryValidity.of(resource));
     }
 
 }
@@ -27,7 +27,7 @@ import java.util.Map;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.thymeleaf.IEngineConfiguration;
-import org.thymeleaf.cache.NonCacheableCacheEntryValidity;
+import org.thymeleaf.cache.AlwaysValidCacheEntryValidity;
 import org.thymeleaf.templatemode.TemplateMode;
 import org.thymeleaf.templateresolver.ITemplateResolver;
 import org.thymeleaf.templateresolver.TemplateResolution;
@@ -58,7 +58,8 @@ public class StringHtmlTemplateResolver implements ITemplateResolver {
             return null;
         }
         StringTemplateResource resource = new StringTemplateResource(template);
-        return new TemplateResolution(resource, TemplateMode.HTML, NonCacheableCacheEntryValidity.INSTANCE);
+        // the template name is the content, so a cached entry can never be stale
+        return new TemplateResolution(resource, TemplateMode.HTML, AlwaysValidCacheEntryValidity.INSTANCE);
     }
     
 }
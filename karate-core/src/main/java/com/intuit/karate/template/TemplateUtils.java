@@ -28,6 +28,9 @@ import com.intuit.karate.http.RequestCycle;
 import com.intuit.karate.http.ServerConfig;
 import com.intuit.karate.http.ServerContext;
 import com.intuit.karate.resource.ResourceResolver;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
 import org.thymeleaf.context.ITemplateContext;
 import org.thymeleaf.model.IModel;
 import org.thymeleaf.model.IModelFactory;
@@ -43,6 +46,32 @@ public class TemplateUtils {
         // only static methods
     }
 
+    private static final int SHARED_ENGINES_SIZE = 32;
+
+    // creating a template engine is expensive and its parsed template cache
+    // lives only as long as it does, so the engines used by the render*()
+    // methods are shared, and the js engine to use is switched per call
+    private static final Map<String, SharedEngine> SHARED_ENGINES = new LinkedHashMap<String, SharedEngine>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, SharedEngine> eldest) {
+            return size() > SHARED_ENGINES_SIZE;
+        }
+    };
+
+    private static final ThreadLocal<JsEngine> SHARED_JS_ENGINE = new ThreadLocal();
+
+    private static class SharedEngine {
+
+        final KarateTemplateEngine engine;
+        final ServerConfig config;
+
+        SharedEngine(KarateTemplateEngine engine, ServerConfig config) {
+            this.engine = engine;
+            this.config = config;
+        }
+
+    }
+
     private static KarateTemplateEngine initEngine(JsEngine je, ResourceResolver resolver, boolean server) {
         ServerConfig config = new ServerConfig(resolver);
         ServerContext sc = new ServerContext(config, null);
@@ -50,6 +79,52 @@ public class TemplateUtils {
         return new KarateTemplateEngine(() -> je, server ? new KarateServerDialect(config) : new KarateScriptDialect(config));
     }
 
+    private static SharedEngine sharedEngine(String type, ResourceResolver resolver, boolean devMode) {
+        String key = type + ":" + devMode + ":" + resolver;
+        synchronized (SHARED_ENGINES) {
+            SharedEngine shared = SHARED_ENGINES.get(key);
+            if (shared == null) {
+                ServerConfig config = new ServerConfig(resolver).devMode(devMode);
+                Supplier<JsEngine> jsEngine = SHARED_JS_ENGINE::get;
+                KarateTemplateEngine engine;
+                switch (type) {
+                    case "server":
+                        engine = new KarateTemplateEngine(jsEngine, new KarateServerDialect(config));
+                        engine.setTemplateResolver(new ServerHtmlTemplateResolver(resolver, devMode));
+                        break;
+                    case "strings":
+                        engine = new KarateTemplateEngine(jsEngine, new KarateScriptDialect(config));
+                        engine.setTemplateResolver(StringHtmlTemplateResolver.INSTANCE);
+                        engine.addTemplateResolver(new ResourceHtmlTemplateResolver(resolver));
+                        break;
+                    default:
+                        engine = new KarateTemplateEngine(jsEngine, new KarateScriptDialect(config));
+                        engine.setTemplateResolver(new ResourceHtmlTemplateResolver(resolver));
+                }
+                shared = new SharedEngine(engine, config);
+                SHARED_ENGINES.put(key, shared);
+            }
+            return shared;
+        }
+    }
+
+    private static String render(SharedEngine shared, JsEngine je, String template) {
+        KarateEngineContext old = KarateEngineContext.get();
+        JsEngine oldJe = SHARED_JS_ENGINE.get(); // renders can be nested
+        SHARED_JS_ENGINE.set(je);
+        try {
+            je.put(RequestCycle.CONTEXT, new ServerContext(shared.config, null)); // TODO improve
+            return shared.engine.process(template);
+        } finally {
+            if (oldJe == null) {
+                SHARED_JS_ENGINE.remove();
+            } else {
+                SHARED_JS_ENGINE.set(oldJe);
+            }
+            KarateEngineContext.set(old);
+        }
+    }
+
     public static KarateTemplateEngine forServer(ServerConfig config) {
         KarateTemplateEngine engine = new KarateTemplateEngine(() -> RequestCycle.get().getEngine(), new KarateServerDialect(config));
         engine.setTemplateResolver(new ServerHtmlTemplateResolver(config.getResourceResolver(), config.isDevMode()));
@@ -80,23 +155,15 @@ public class TemplateUtils {
     }
 
     public static String renderServerPath(String path, JsEngine je, ResourceResolver resourceResolver, boolean devMode) {
-        KarateEngineContext old = KarateEngineContext.get();
-        try {
-            KarateTemplateEngine kte = forServerResolver(je, resourceResolver, devMode);
-            return kte.process(path);
-        } finally {
-            KarateEngineContext.set(old);
-        }
+        return render(sharedEngine("server", resourceResolver, devMode), je, path);
     }
 
     public static String renderHtmlString(String html, JsEngine je, ResourceResolver resourceResolver) {
-        KarateEngineContext old = KarateEngineContext.get();
-        try {
-            KarateTemplateEngine kte = forStrings(je, resourceResolver);
-            return kte.process(html);
-        } finally {
-            KarateEngineContext.set(old);
-        }
+        return render(sharedEngine("strings", resourceResolver, false), je, html);
+    }
+
+    public static String renderResourcePath(String path, JsEngine je, ResourceResolver resourceResolver) {
+        return render(sharedEngine("resource", resourceResolver, false), je, path);
     }
 
 }
@@ -1,8 +1,12 @@
 package com.intuit.karate;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -247,4 +251,22 @@ class XmlUtilsTest {
         assertEquals("/bar/baz/@ban", XmlUtils.stripNameSpacePrefixes("/foo:bar/foo:baz/@ban"));
     }
 
+    @Test
+    void testParseAndXpathFromManyThreads() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<String>> futures = new ArrayList();
+        for (int i = 0; i < 200; i++) {
+            final int n = i;
+            futures.add(executor.submit(() -> {
+                Document doc = XmlUtils.toXmlDoc("<foo><bar>" + n + "</bar></foo>", n % 2 == 0);
+                XmlUtils.setByPath(doc, "/foo/baz", "x" + n);
+                return XmlUtils.getTextValueByPath(doc, "/foo/bar") + XmlUtils.getTextValueByPath(doc, "/foo/baz");
+            }));
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals(i + "x" + i, futures.get(i).get());
+        }
+        executor.shutdown();
+    }
+
 }
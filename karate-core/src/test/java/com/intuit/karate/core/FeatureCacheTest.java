@@ -0,0 +1,62 @@
+package com.intuit.karate.core;
+
+import com.intuit.karate.FileUtils;
+import com.intuit.karate.resource.JarResource;
+import com.intuit.karate.resource.MemoryResource;
+import com.intuit.karate.resource.Resource;
+import java.io.File;
+import java.net.URI;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author pthomas3
+ */
+class FeatureCacheTest {
+
+    static Resource resource(String text) {
+        return new MemoryResource(new File("feature-cache-test.feature"), "Feature:\n\nScenario:\n* " + text + "\n");
+    }
+
+    @Test
+    void testCacheHitAndInvalidation() {
+        long parses = FeatureCache.getParseCount();
+        Feature first = FeatureCache.get(resource("def a = 1"), null);
+        Feature second = FeatureCache.get(resource("def a = 1"), null);
+        assertSame(first, second);
+        assertEquals(parses + 1, FeatureCache.getParseCount());
+        Feature tagged = FeatureCache.get(resource("def a = 1"), "@foo");
+        assertNotSame(first, tagged);
+        assertEquals("@foo", tagged.getCallTag());
+        assertNull(first.getCallTag());
+        Feature changed = FeatureCache.get(resource("def a = 2"), null);
+        assertNotSame(first, changed);
+        assertEquals("def a = 2", changed.getSection(0).getScenario().getSteps().get(0).getText());
+        assertEquals(parses + 3, FeatureCache.getParseCount());
+    }
+
+    @Test
+    void testJarResourceIsNotReadAgain() {
+        URI uri = URI.create("jar:file:/foo.jar!/feature-cache-test.feature");
+        Resource jar = new JarResource(FileUtils.toBytes("Feature:\n\nScenario:\n* def a = 1\n"), "feature-cache-test.feature", uri);
+        Feature first = FeatureCache.get(jar, null);
+        Resource other = new JarResource(FileUtils.toBytes("Feature:\n\nScenario:\n* def a = 2\n"), "feature-cache-test.feature", uri);
+        assertSame(first, FeatureCache.get(other, null));
+    }
+
+    @Test
+    void testSizeIsLimited() {
+        FeatureCache.clear();
+        try {
+            for (int i = 0; i < 1100; i++) {
+                FeatureCache.get(new MemoryResource(new File("feature-cache-test-" + i + ".feature"), "Feature:\n\nScenario:\n* def a = 1\n"), null);
+            }
+            assertEquals(1000, FeatureCache.size());
+            assertEquals(1100, FeatureCache.getParseCount());
+        } finally {
+            FeatureCache.clear();
+        }
+    }
+
+}
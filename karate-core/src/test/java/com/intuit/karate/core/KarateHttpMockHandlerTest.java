@@ -2,7 +2,15 @@ package com.intuit.karate.core;
 
 import static com.intuit.karate.TestUtils.*;
 import static com.intuit.karate.TestUtils.runScenario;
+import com.intuit.karate.FileUtils;
+import com.intuit.karate.Runner;
+import com.intuit.karate.RuntimeHook;
+import com.intuit.karate.Suite;
+import com.intuit.karate.http.HttpRequest;
 import com.intuit.karate.http.HttpServer;
+import com.intuit.karate.http.Response;
+import java.io.File;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import org.junit.jupiter.api.AfterEach;
@@ -284,4 +292,93 @@ class KarateHttpMockHandlerTest {
         matchContains(list, "true");
     }
 
+    @Test
+    void testLargeResponseSpilledAndFileUpload() {
+        background().scenario(
+                "pathMatches('/large') && methodIs('get')",
+                "def response = '0123456789'.repeat(500)"
+        ).scenario(
+                "pathMatches('/large') && methodIs('post')",
+                "def response = { size: '#(requestBytes.length)' }");
+        startMockServer();
+        FileUtils.writeToFile(new File("target/spill-upload.txt"), "0123456789".repeat(300));
+        run(
+                urlStep(),
+                "configure spillBodySize = 1000",
+                "path 'large'",
+                "method get",
+                "def size = response.length",
+                "def first = response.substring(0, 10)",
+                urlStep(),
+                "path 'large'",
+                "request new java.io.File('target/spill-upload.txt')",
+                "method post"
+        );
+        matchVar("size", 5000);
+        matchVar("first", "0123456789");
+        matchVar("response", "{ size: 3000 }");
+    }
+
+    @Test
+    void testLargeBinaryResponseReadOnlyWhenUsed() {
+        background().scenario(
+                "pathMatches('/binary')",
+                "def responseHeaders = { 'Content-Type': 'application/octet-stream' }",
+                "def response = new java.lang.String('0123456789'.repeat(500)).getBytes()"
+        );
+        startMockServer();
+        run(
+                urlStep(),
+                "configure spillBodySize = 1000",
+                "path 'binary'",
+                "method get",
+                "match responseType == 'binary'"
+        );
+        Variable response = runtime.engine.vars.get("response");
+        assertTrue(response.isBytes());
+        assertFalse(response.isLoaded());
+        run(
+                urlStep(),
+                "configure spillBodySize = 1000",
+                "path 'binary'",
+                "method get",
+                "def size = responseBytes.length",
+                "def same = response == responseBytes"
+        );
+        matchVar("size", 5000);
+        matchVar("same", true);
+        assertTrue(runtime.engine.vars.get("response").isLoaded());
+    }
+
+    @Test
+    void testUnreadSpilledBodyDeletedWhenScenarioEnds() {
+        background().scenario(
+                "pathMatches('/binary')",
+                "def responseHeaders = { 'Content-Type': 'application/octet-stream' }",
+                "def response = new java.lang.String('0123456789'.repeat(500)).getBytes()"
+        );
+        startMockServer();
+        List<File> spilled = new ArrayList();
+        Runner.Builder builder = Runner.builder().hook(new RuntimeHook() {
+            @Override
+            public void afterHttpCall(HttpRequest request, Response response, ScenarioRuntime sr) {
+                spilled.add(response.getBodyFile());
+            }
+        });
+        Feature feature = toFeature(
+                urlStep(),
+                "configure spillBodySize = 1000",
+                "path 'binary'",
+                "method get",
+                "match responseStatus == 200"
+        );
+        runtime = new ScenarioIterator(FeatureRuntime.of(new Suite(builder), feature)).first();
+        runtime.run();
+        assertFalse(runtime.isFailed());
+        assertEquals(1, spilled.size());
+        assertNotNull(spilled.get(0));
+        assertFalse(spilled.get(0).exists());
+        assertFalse(runtime.engine.getResponse().isBodySpilled());
+    }
+
 }
@@ -0,0 +1,43 @@
+package com.intuit.karate.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author pthomas3
+ */
+class LimitedExecutorServiceTest {
+
+    @Test
+    void testConcurrencyIsCapped() throws Exception {
+        LimitedExecutorService executor = new LimitedExecutorService(Executors.newCachedThreadPool(), 3);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger max = new AtomicInteger();
+        List<Future<?>> futures = new ArrayList();
+        for (int i = 0; i < 20; i++) {
+            futures.add(executor.submit(() -> {
+                max.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                running.decrementAndGet();
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+        assertTrue(executor.awaitTermination(5, TimeUnit.SECONDS));
+        assertTrue(max.get() <= 3, "max: " + max.get());
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.intuit.karate.core;
+
+import static com.intuit.karate.TestUtils.*;
+import com.intuit.karate.http.HttpClient;
+import com.intuit.karate.http.HttpRequestBuilder;
+import com.intuit.karate.http.Request;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * not part of the regular test run, compares throughput of the default
+ * (serialized) mock handler against concurrent mode
+ *
+ * @author pthomas3
+ */
+class MockHandlerBenchmarkRunner {
+
+    static final Logger logger = LoggerFactory.getLogger(MockHandlerBenchmarkRunner.class);
+
+    static final int THREADS = 8;
+    static final int WARMUP = 2000;
+    static final int REQUESTS = 20000;
+
+    HttpClient client = new DummyClient();
+
+    FeatureBuilder mock() {
+        return FeatureBuilder.background(
+                "def cats = { '1': { id: 1, name: 'Billie' }, '2': { id: 2, name: 'Wild' } }",
+                "def toUpper = function(s){ return s.toUpperCase() }"
+        ).scenario(
+                "pathMatches('/cats/{id}') && methodIs('get')",
+                "def cat = cats[pathParams.id]",
+                "def response = { id: '#(cat.id)', name: '#(toUpper(cat.name))' }"
+        );
+    }
+
+    double run(MockHandler handler, int count) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>(count);
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            Request req = new HttpRequestBuilder(client).method("GET").path("/cats/" + (i % 2 + 1)).build().toRequest();
+            futures.add(executor.submit(() -> handler.handle(req)));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        long elapsed = System.nanoTime() - start;
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        return count / (elapsed / 1000000000d);
+    }
+
+    double benchmark(boolean concurrent) throws Exception {
+        MockHandler handler = new MockHandler(mock().build()).withConcurrency(concurrent);
+        run(handler, WARMUP);
+        return run(handler, REQUESTS);
+    }
+
+    @Test
+    void testThroughput() throws Exception {
+        double serialized = benchmark(false);
+        double concurrent = benchmark(true);
+        logger.info("threads: {}, requests: {}", THREADS, REQUESTS);
+        logger.info("serialized: {} req/sec", String.format("%.1f", serialized));
+        logger.info("concurrent: {} req/sec", String.format("%.1f", concurrent));
+    }
+
+}
@@ -3,11 +3,21 @@ package com.intuit.karate.core;
 import static com.intuit.karate.TestUtils.*;
 import com.intuit.karate.http.HttpClient;
 import com.intuit.karate.http.HttpRequestBuilder;
+import com.intuit.karate.http.Request;
 import com.intuit.karate.http.Response;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  *
@@ -319,4 +329,75 @@ class MockHandlerTest {
         match(response.getBodyAsString(), "NULL");        
     }    
 
+    @Test
+    void testConcurrentModeIsolatesRequests() throws Exception {
+        background("def counter = 0", "def fun = function(name){ return 'hello ' + name }").scenario(
+                "pathMatches('/hello/{name}')",
+                "def counter = counter + 1",
+                "def response = { message: '#(fun(pathParams.name))' }"
+        );
+        handler = new MockHandler(feature.build()).withConcurrency(true);
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<Response>> futures = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            Request req = new HttpRequestBuilder(client).method("GET").path("/hello/" + i).build().toRequest();
+            futures.add(executor.submit(() -> handler.handle(req)));
+        }
+        for (int i = 0; i < 20; i++) {
+            response = futures.get(i).get();
+            match(response.getBodyConverted(), "{ message: 'hello " + i + "' }");
+        }
+        executor.shutdown();
+        request.path("/hello/john");
+        response = handler.handle(request.build().toRequest());
+        match(response.getBodyConverted(), "{ message: 'hello john' }");
+        assertTrue(handler.isConcurrent());
+    }
+
+    @Test
+    void testConcurrentModeCopyKeepsSharedReferences() {
+        Map<String, Object> shared = new HashMap<>();
+        shared.put("count", 0);
+        Map<String, Object> a = new HashMap<>();
+        a.put("inner", shared);
+        List<Object> b = new ArrayList<>();
+        b.add(shared);
+        Map<Object, Object> seen = new IdentityHashMap<>();
+        Map<String, Object> aCopy = (Map) MockHandler.deepCopy(a, seen);
+        List<Object> bCopy = (List) MockHandler.deepCopy(b, seen);
+        assertNotSame(shared, aCopy.get("inner"));
+        assertNotSame(shared, bCopy.get(0));
+        assertSame(aCopy.get("inner"), bCopy.get(0));
+        assertEquals(shared, bCopy.get(0));
+    }
+
+    @Test
+    void testFirstMatchWinsWhetherIndexedOrJs() {
+        background().scenario(
+                "pathMatches('/cats/{id}') && methodIs('post')",
+                "def response = 'post ' + pathParams.id"
+        ).scenario(
+                "pathMatches('/cats/{id}') && paramValue('name') == 'billie'",
+                "def response = 'js ' + pathParams.id"
+        ).scenario(
+                "pathMatches('/cats/{id}')",
+                "def response = 'any ' + pathParams.id"
+        ).scenario(
+                "",
+                "def responseStatus = 404"
+        );
+        request.path("/cats/1").method("POST");
+        handle();
+        match(response.getBodyAsString(), "post 1");
+        request.path("/cats/2").param("name", "billie");
+        handle();
+        match(response.getBodyAsString(), "js 2");
+        request.path("/cats/3");
+        handle();
+        match(response.getBodyAsString(), "any 3");
+        request.path("/dogs/1");
+        handle();
+        assertEquals(404, response.getStatus());
+    }
+
 }
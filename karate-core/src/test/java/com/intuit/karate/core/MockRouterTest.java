@@ -0,0 +1,55 @@
+package com.intuit.karate.core;
+
+import static com.intuit.karate.TestUtils.*;
+import com.intuit.karate.StringUtils;
+import com.intuit.karate.http.HttpRequestBuilder;
+import java.util.List;
+import java.util.stream.Collectors;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author pthomas3
+ */
+class MockRouterTest {
+
+    @Test
+    void testParse() {
+        List<StringUtils.Pair> calls = MockRouter.parse("pathMatches('/cats/{id}') && methodIs(\"get\")");
+        assertEquals(2, calls.size());
+        assertEquals(StringUtils.pair("pathMatches", "/cats/{id}"), calls.get(0));
+        assertEquals(StringUtils.pair("methodIs", "get"), calls.get(1));
+        assertEquals(1, MockRouter.parse(" ( typeContains('xml') ) ").size());
+        assertNull(MockRouter.parse("pathMatches('/cats') || methodIs('get')"));
+        assertNull(MockRouter.parse("pathMatches('/cats') && paramValue('foo') == 'bar'"));
+        assertNull(MockRouter.parse("pathMatches(path)"));
+        assertNull(MockRouter.parse("pathMatches('/a&&b')"));
+        assertNull(MockRouter.parse("headerContains('foo', 'bar')"));
+    }
+
+    private List<Integer> indexes(MockRouter router, String method, String path) {
+        return router.candidates(new HttpRequestBuilder(null).method(method).path(path).build().toRequest())
+                .stream().map(r -> r.scenario.getSection().getIndex()).collect(Collectors.toList());
+    }
+
+    @Test
+    void testCandidates() {
+        Feature feature = FeatureBuilder.background()
+                .scenario("pathMatches('/cats') && methodIs('post')")
+                .scenario("pathMatches('/cats/{id}') && methodIs('get')")
+                .scenario("pathMatches('/cats/{id}') && paramValue('foo') == 'bar'")
+                .scenario("pathMatches('/cats/special')")
+                .scenario("methodIs('delete')")
+                .scenario("")
+                .build();
+        MockRouter router = new MockRouter(feature);
+        assertEquals(6, router.size());
+        assertEquals(5, router.getStaticCount());
+        match(indexes(router, "POST", "/cats"), "[0, 2, 5]");
+        match(indexes(router, "GET", "/cats/1"), "[1, 2, 5]");
+        match(indexes(router, "GET", "/cats/special?foo=bar"), "[1, 2, 3, 5]");
+        match(indexes(router, "DELETE", "/dogs"), "[2, 4, 5]");
+    }
+
+}
@@ -199,6 +199,18 @@ class ScenarioRuntimeTest {
         matchVar("first", get("second"));
     }
 
+    @Test
+    void testCallSingleWithMemoryMinutes() {
+        run(
+                "configure callSingleCache = { memoryMinutes: 1 }",
+                "def first = karate.callSingle('uuid.js')",
+                "def second = karate.callSingle('uuid.js')"
+        );
+        matchVar("first", get("second"));
+        assertEquals(1, sr.engine.getConfig().getCallSingleCacheMemoryMinutes());
+        assertEquals(0, sr.engine.getConfig().getCallSingleCacheMinutes());
+    }
+
     @Test
     void testCallSingleThatReturnsJson() {
         run(
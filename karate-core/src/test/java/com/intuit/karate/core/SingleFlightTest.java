@@ -0,0 +1,135 @@
+package com.intuit.karate.core;
+
+import com.intuit.karate.Logger;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ *
+ * @author pthomas3
+ */
+class SingleFlightTest {
+
+    Logger logger = new Logger();
+    Map<String, String> cache = new ConcurrentHashMap();
+
+    @Test
+    void testSameKeyLoadsOnce() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList();
+        for (int i = 0; i < 8; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return SingleFlight.get(cache, "foo", () -> {
+                    loads.incrementAndGet();
+                    sleep(100);
+                    return "bar";
+                }, logger);
+            }));
+        }
+        start.countDown();
+        for (Future<String> future : futures) {
+            assertEquals("bar", future.get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testOtherKeysDoNotWait() throws Exception {
+        // the slow key can only complete after the fast key has been loaded
+        // by another thread, which would deadlock with a single global lock
+        CountDownLatch fastDone = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        Future<String> slow = executor.submit(() -> SingleFlight.get(cache, "slow", () -> {
+            try {
+                assertTrue(fastDone.await(5, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return "slow";
+        }, logger));
+        sleep(50);
+        Future<String> fast = executor.submit(() -> SingleFlight.get(cache, "fast", () -> "fast", logger));
+        assertEquals("fast", fast.get(5, TimeUnit.SECONDS));
+        fastDone.countDown();
+        assertEquals("slow", slow.get(5, TimeUnit.SECONDS));
+        executor.shutdown();
+    }
+
+    @Test
+    void testFailureIsNotCached() {
+        assertThrows(RuntimeException.class, () -> SingleFlight.get(cache, "foo", () -> {
+            throw new RuntimeException("boom");
+        }, logger));
+        assertFalse(cache.containsKey("foo"));
+        assertEquals("bar", SingleFlight.get(cache, "foo", () -> "bar", logger));
+    }
+
+    @Test
+    void testStaleValueIsReloaded() {
+        long past = System.currentTimeMillis() - 1;
+        assertEquals("old", SingleFlight.getExpiring(cache, "foo", () -> new SingleFlight.Expiring("old", past), logger));
+        assertEquals("new", SingleFlight.getExpiring(cache, "foo", () -> new SingleFlight.Expiring("new", Long.MAX_VALUE), logger));
+        assertEquals("new", cache.get("foo"));
+        assertEquals("new", SingleFlight.get(cache, "foo", () -> "newer", logger));
+    }
+
+    @Test
+    void testPreSeededValueIsUsed() {
+        cache.put("foo", "seeded");
+        assertEquals("seeded", SingleFlight.getExpiring(cache, "foo", () -> new SingleFlight.Expiring("new", 0L), logger));
+    }
+
+    @Test
+    void testPlainHashMap() throws Exception {
+        Map<String, String> map = new HashMap();
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        List<Future<String>> futures = new ArrayList();
+        for (int i = 0; i < 200; i++) {
+            String key = "key" + (i % 50);
+            futures.add(executor.submit(() -> SingleFlight.get(map, key, () -> key.toUpperCase(), logger)));
+        }
+        for (int i = 0; i < 200; i++) {
+            assertEquals("KEY" + (i % 50), futures.get(i).get(5, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+        assertEquals(50, map.size());
+    }
+
+    static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Test
+    void testCacheMapIsNotRetained() throws Exception {
+        Map<String, String> temp = new ConcurrentHashMap();
+        SingleFlight.getExpiring(temp, "foo", () -> new SingleFlight.Expiring<>("bar", System.currentTimeMillis() + 60000), logger);
+        WeakReference<Map> ref = new WeakReference(temp);
+        temp = null;
+        for (int i = 0; i < 50 && ref.get() != null; i++) {
+            System.gc();
+            sleep(20);
+        }
+        assertNull(ref.get());
+    }
+
+}
@@ -75,4 +75,21 @@ public class VariableTest {
         
     }
     
+    @Test
+    void testLazy() {
+        int[] count = new int[1];
+        Variable v = Variable.lazy(Variable.Type.BYTES, () -> {
+            count[0]++;
+            return new byte[]{'a', 'b'};
+        });
+        assertTrue(v.isBytes());
+        assertFalse(v.isLoaded());
+        assertEquals("[type: BYTES, value: (not loaded)]", v.toString());
+        assertEquals(0, count[0]);
+        assertEquals("ab", v.getAsString());
+        assertTrue(v.isLoaded());
+        assertEquals(2, v.<byte[]>getValue().length);
+        assertEquals(1, count[0]);
+    }
+
 }
@@ -4,6 +4,8 @@ import com.intuit.karate.http.HttpServer;
 import com.intuit.karate.Results;
 import com.intuit.karate.Runner;
 import com.intuit.karate.core.MockServer;
+import com.intuit.karate.http.PooledHttpClientFactory;
+import java.util.Map;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -40,4 +42,27 @@ class MockTest {
         assertEquals(0, results.getFailCount(), results.getErrorMessages());
     }
 
+    @Test
+    void testMockWithConnectionPool() {
+        Map<String, Map<String, Object>>[] stats = new Map[1];
+        PooledHttpClientFactory factory = new PooledHttpClientFactory() {
+            @Override
+            public void close() {
+                stats[0] = getStats();
+                super.close();
+            }
+        };
+        Results results = Runner.path("classpath:com/intuit/karate/core/mock")
+                .configDir("classpath:com/intuit/karate/core/mock")
+                .clientFactory(factory)
+                .parallel(1);
+        assertEquals(0, results.getFailCount(), results.getErrorMessages());
+        // every scenario shares the one pool, and all connections were returned
+        assertEquals(1, stats[0].size());
+        Map<String, Object> pool = stats[0].values().iterator().next();
+        assertEquals(0, pool.get("leased"));
+        assertTrue((Integer) pool.get("available") > 0);
+        assertEquals(0, factory.getPoolCount());
+    }
+
 }
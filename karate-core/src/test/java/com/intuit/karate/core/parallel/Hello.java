@@ -1,5 +1,9 @@
 package com.intuit.karate.core.parallel;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 /**
@@ -8,6 +12,10 @@ import java.util.function.Function;
  */
 public class Hello {
 
+    // how many times karate-config.js ran, and the count each scenario saw
+    public static final AtomicInteger CONFIG_COUNT = new AtomicInteger();
+    public static final List<Integer> CONFIG_COUNTS_SEEN = Collections.synchronizedList(new ArrayList());
+
     public static String sayHello(String message) {
         return "hello " + message;
     }
@@ -1,10 +1,19 @@
 package com.intuit.karate.core.parallel;
 
+import com.intuit.karate.FileUtils;
 import com.intuit.karate.Results;
 import com.intuit.karate.Runner;
+import com.intuit.karate.RuntimeHook;
 import com.intuit.karate.core.Feature;
+import com.intuit.karate.core.FeatureRuntime;
 import com.intuit.karate.core.MockHandler;
+import com.intuit.karate.core.ScenarioRuntime;
 import com.intuit.karate.http.HttpServer;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -40,4 +49,102 @@ class ParallelOutlineTest {
         assertEquals(0, results.getFailCount());
     }
 
+    @Test
+    void testParallelOutlineWorkStealingLongestFirst() {
+        // second run is ordered by the durations recorded in the first
+        for (int i = 0; i < 2; i++) {
+            Results results = Runner.path(
+                    "classpath:com/intuit/karate/core/parallel/parallel-outline-1.feature",
+                    "classpath:com/intuit/karate/core/parallel/parallel-outline-2.feature")
+                    .configDir("classpath:com/intuit/karate/core/parallel")
+                    .systemProperty("server.port", server.getPort() + "")
+                    .reportDir("target/parallel-outline-work-stealing")
+                    .backupReportDir(false)
+                    .workStealing(true)
+                    .longestFirst(true)
+                    .parallel(3);
+            assertEquals(2, results.getFeaturesPassed());
+            assertEquals(12, results.getScenariosPassed());
+            assertEquals(0, results.getFailCount());
+        }
+    }
+
+    static class OrderHook implements RuntimeHook {
+
+        final List<String> features = Collections.synchronizedList(new ArrayList());
+        final List<String> scenarios = Collections.synchronizedList(new ArrayList());
+
+        static String name(Feature feature) {
+            String path = feature.getResource().getFileNameWithoutExtension();
+            return path.substring(path.lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public boolean beforeFeature(FeatureRuntime fr) {
+            features.add(name(fr.feature));
+            return true;
+        }
+
+        @Override
+        public boolean beforeScenario(ScenarioRuntime sr) {
+            if (name(sr.scenario.getFeature()).equals("parallel-order-serial")) {
+                scenarios.add("start " + sr.scenario.getName());
+            }
+            return true;
+        }
+
+        @Override
+        public void afterScenario(ScenarioRuntime sr) {
+            if (name(sr.scenario.getFeature()).equals("parallel-order-serial")) {
+                scenarios.add("end " + sr.scenario.getName());
+            }
+        }
+
+    }
+
+    @Test
+    void testLongestFirstOrder() {
+        File reportDir = new File("target/parallel-order-longest-first");
+        if (reportDir.exists()) {
+            FileUtils.deleteDirectory(reportDir);
+        }
+        List<List<String>> orders = new ArrayList();
+        for (int i = 0; i < 2; i++) {
+            OrderHook hook = new OrderHook();
+            Results results = Runner.path(
+                    "classpath:com/intuit/karate/core/parallel/parallel-order-short.feature",
+                    "classpath:com/intuit/karate/core/parallel/parallel-order-long.feature")
+                    .reportDir("target/parallel-order-longest-first")
+                    .backupReportDir(false)
+                    .longestFirst(true)
+                    .hook(hook)
+                    .parallel(1);
+            assertEquals(0, results.getFailCount());
+            orders.add(hook.features);
+        }
+        // nothing recorded yet, so the first run keeps the given order
+        assertEquals(Arrays.asList("parallel-order-short", "parallel-order-long"), orders.get(0));
+        assertEquals(Arrays.asList("parallel-order-long", "parallel-order-short"), orders.get(1));
+    }
+
+    @Test
+    void testParallelFalseStaysInOrder() {
+        for (boolean workStealing : new boolean[]{false, true}) {
+            OrderHook hook = new OrderHook();
+            Results results = Runner.path(
+                    "classpath:com/intuit/karate/core/parallel/parallel-order-serial.feature",
+                    "classpath:com/intuit/karate/core/parallel/parallel-order-long.feature",
+                    "classpath:com/intuit/karate/core/parallel/parallel-order-short.feature")
+                    .workStealing(workStealing)
+                    .hook(hook)
+                    .parallel(3);
+            assertEquals(0, results.getFailCount());
+            assertEquals(6, results.getScenariosPassed());
+            // each scenario starts only after the previous one has ended
+            assertEquals(Arrays.asList(
+                    "start one", "end one", "start two", "end two",
+                    "start three", "end three", "start four", "end four"), hook.scenarios);
+        }
+    }
+
 }
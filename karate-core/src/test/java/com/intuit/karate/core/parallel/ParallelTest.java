@@ -5,6 +5,7 @@ import com.intuit.karate.Runner;
 import com.intuit.karate.core.Feature;
 import com.intuit.karate.core.MockHandler;
 import com.intuit.karate.http.HttpServer;
+import java.util.Arrays;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
@@ -36,4 +37,30 @@ class ParallelTest {
         assertEquals(0, results.getFailCount(), results.getErrorMessages());
     }
 
+    @Test
+    void testParallelWithConfigSnapshot() {
+        Hello.CONFIG_COUNT.set(0);
+        Hello.CONFIG_COUNTS_SEEN.clear();
+        Results results = Runner.path("classpath:com/intuit/karate/core/parallel/parallel.feature")
+                .configDir("classpath:com/intuit/karate/core/parallel")
+                .systemProperty("server.port", server.getPort() + "")
+                .configSnapshot(true)
+                .parallel(3);
+        assertEquals(0, results.getFailCount(), results.getErrorMessages());
+        // evaluated once, and every scenario (on all threads) got that snapshot
+        assertEquals(1, Hello.CONFIG_COUNT.get());
+        assertEquals(Arrays.asList(1, 1, 1), Hello.CONFIG_COUNTS_SEEN);
+    }
+
+    @Test
+    void testParallelWithVirtualThreads() {
+        // on a jvm without virtual threads this runs on the regular pool
+        Results results = Runner.path("classpath:com/intuit/karate/core/parallel/parallel.feature")
+                .configDir("classpath:com/intuit/karate/core/parallel")
+                .systemProperty("server.port", server.getPort() + "")
+                .virtualThreads(100)
+                .parallel(3);
+        assertEquals(0, results.getFailCount(), results.getErrorMessages());
+    }
+
 }
@@ -1,7 +1,8 @@
 function fn() {
   var config = {
     functionFromKarateConfig: function(){ return 'resultFromFunctionFromKarateConfig'; },
-    serverUrl: 'http://localhost:' + karate.properties['server.port']
+    serverUrl: 'http://localhost:' + karate.properties['server.port'],
+    configCount: Java.type('com.intuit.karate.core.parallel.Hello').CONFIG_COUNT.incrementAndGet()
   };  
   var result = karate.callSingle('call-single-from-config.feature', config);
   config.message = result.response.message;
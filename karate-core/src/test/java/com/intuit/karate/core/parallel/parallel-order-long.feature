@@ -0,0 +1,4 @@
+Feature:
+
+Scenario:
+  * java.lang.Thread.sleep(500)
@@ -0,0 +1,14 @@
+@parallel=false
+Feature:
+
+Scenario: one
+  * java.lang.Thread.sleep(50)
+
+Scenario: two
+  * java.lang.Thread.sleep(50)
+
+Scenario: three
+  * java.lang.Thread.sleep(50)
+
+Scenario: four
+  * java.lang.Thread.sleep(50)
@@ -0,0 +1,4 @@
+Feature:
+
+Scenario:
+  * def a = 1
@@ -7,6 +7,7 @@ Background:
 * callonce read('call-once-from-feature.feature')
 * match message == 'from common'
 * match message2 == 'fromCallSingleFromConfig2'
+* eval Java.type('com.intuit.karate.core.parallel.Hello').CONFIG_COUNTS_SEEN.add(configCount)
 
 Scenario: one
 * call sayHelloOnce 'one'
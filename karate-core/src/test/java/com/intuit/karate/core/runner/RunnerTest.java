@@ -4,9 +4,11 @@ import com.intuit.karate.FileUtils;
 import com.intuit.karate.KarateException;
 import com.intuit.karate.Results;
 import com.intuit.karate.Runner;
+import com.intuit.karate.Suite;
 import com.intuit.karate.report.ReportUtils;
 import com.intuit.karate.core.Feature;
 import com.intuit.karate.core.FeatureRuntime;
+import com.intuit.karate.core.ScenarioResult;
 import java.io.File;
 import java.util.Collections;
 import java.util.Map;
@@ -65,6 +67,25 @@ class RunnerTest {
         assertEquals(2, results.getFailCount());
     }
 
+    @Test
+    void testResultsAfterScenarioRetry() {
+        Results results = Runner.path(
+                "classpath:com/intuit/karate/core/runner/multi-scenario-fail.feature",
+                "classpath:com/intuit/karate/core/runner/scenario.feature"
+        ).parallel(1);
+        assertEquals(1, results.getFailCount());
+        int passed = results.getScenariosPassed();
+        Suite suite = results.getSuite();
+        ScenarioResult failed = results.getScenarioResults().filter(sr -> sr.isFailed()).findFirst().get();
+        ScenarioResult retried = suite.retryScenario(failed.getScenario());
+        assertTrue(retried.isFailed());
+        // totals are no longer incremental after a re-run, and come from the re-written report files
+        results = suite.updateResults(retried);
+        assertEquals(1, results.getFailCount());
+        assertEquals(passed, results.getScenariosPassed());
+        assertEquals(2, results.getFeaturesTotal());
+    }
+
     @Test
     void testRunningFeatureFromJavaApi() {
         Map<String, Object> result = Runner.runFeature(getClass(), "scenario.feature", null, true);
@@ -0,0 +1,100 @@
+package com.intuit.karate.driver;
+
+import com.intuit.karate.Logger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author pthomas3
+ */
+class DevToolsPipelineTest {
+
+    final List<DevToolsMessage> sent = new CopyOnWriteArrayList();
+    final DevToolsPipeline pipeline = new DevToolsPipeline(sent::add, new Logger());
+
+    static DevToolsMessage command(int id) {
+        Map<String, Object> map = new HashMap();
+        map.put("id", id);
+        map.put("method", "Runtime.evaluate");
+        return new DevToolsMessage(null, map);
+    }
+
+    static DevToolsMessage reply(int id, Object value) {
+        Map<String, Object> map = new HashMap();
+        map.put("id", id);
+        map.put("result", Collections.singletonMap("result", Collections.singletonMap("value", value)));
+        return new DevToolsMessage(null, map);
+    }
+
+    static DevToolsMessage event(String method) {
+        Map<String, Object> map = new HashMap();
+        map.put("method", method);
+        return new DevToolsMessage(null, map);
+    }
+
+    @Test
+    void testRepliesMatchedByIdInAnyOrder() throws Exception {
+        CompletableFuture<DevToolsMessage> first = pipeline.sendAsync(command(1));
+        CompletableFuture<DevToolsMessage> second = pipeline.sendAsync(command(2));
+        assertEquals(2, sent.size());
+        assertEquals(2, pipeline.getPendingCount());
+        assertTrue(pipeline.receive(reply(2, "b")));
+        assertFalse(first.isDone());
+        assertTrue(pipeline.receive(reply(1, "a")));
+        assertEquals("a", first.get().getResult().getValue());
+        assertEquals("b", second.get().getResult().getValue());
+        assertEquals(0, pipeline.getPendingCount());
+    }
+
+    @Test
+    void testEventsAndUnknownRepliesAreNotConsumed() {
+        pipeline.sendAsync(command(1));
+        assertFalse(pipeline.receive(event("Page.loadEventFired")));
+        assertFalse(pipeline.receive(reply(99, "x")));
+        assertEquals(1, pipeline.getPendingCount());
+    }
+
+    @Test
+    void testSendAllSendsEverythingBeforeWaiting() {
+        Thread replier = new Thread(() -> {
+            while (sent.size() < 3) {
+                Thread.yield();
+            }
+            for (int i = 3; i > 0; i--) { // reverse order
+                pipeline.receive(reply(i, "v" + i));
+            }
+        });
+        replier.start();
+        List<DevToolsMessage> results = pipeline.sendAll(Arrays.asList(command(1), command(2), command(3)), 5000);
+        List<Object> values = new ArrayList();
+        results.forEach(r -> values.add(r.getResult().getValue()));
+        assertEquals(Arrays.asList("v1", "v2", "v3"), values);
+    }
+
+    @Test
+    void testTimeout() {
+        assertNull(pipeline.send(command(1), 50));
+        assertEquals(0, pipeline.getPendingCount());
+    }
+
+    @Test
+    void testReleaseAll() throws Exception {
+        CompletableFuture<DevToolsMessage> first = pipeline.sendAsync(command(1));
+        CompletableFuture<DevToolsMessage> second = pipeline.sendAsync(command(2));
+        DevToolsMessage dialog = event("Page.javascriptDialogOpening");
+        pipeline.releaseAll(dialog);
+        assertSame(dialog, first.get());
+        assertSame(dialog, second.get());
+        assertEquals(0, pipeline.getPendingCount());
+    }
+
+}
@@ -36,4 +36,76 @@ class DriverOptionsTest {
         options.retry(() -> 1, x -> x < 5, "not 5", false);
     }
 
+    static DriverOptions eventWait() {
+        return new DriverOptions(Collections.singletonMap("eventWait", true), TestUtils.runtime(), 0, null);
+    }
+
+    @Test
+    void testEventWaitIsOptIn() {
+        DriverOptions options = new DriverOptions(Collections.EMPTY_MAP, TestUtils.runtime(), 0, null);
+        assertFalse(options.eventWait);
+        boolean result = options.waitUntil("document.ready", js -> {
+            throw new RuntimeException("should not observe");
+        }, () -> true);
+        assertTrue(result);
+    }
+
+    @Test
+    void testWaitUntilEventDoesNotPoll() {
+        DriverOptions options = eventWait();
+        assertTrue(options.eventWait);
+        boolean result = options.waitUntil("document.ready", js -> {
+            assertTrue(js.contains("MutationObserver"));
+            assertTrue(js.contains("!!(document.ready)"));
+            return true;
+        }, () -> {
+            throw new RuntimeException("should not poll");
+        });
+        assertTrue(result);
+    }
+
+    @Test
+    void testWaitUntilEventFallsBackToPolling() {
+        DriverOptions options = eventWait();
+        int[] polls = new int[1];
+        boolean result = options.waitUntil("document.ready", js -> null, () -> ++polls[0] == 1);
+        assertTrue(result);
+        assertEquals(1, polls[0]);
+    }
+
+    @Test
+    void testWaitUntilEventTimeout() {
+        DriverOptions options = eventWait();
+        RuntimeException e = assertThrows(RuntimeException.class, () -> options.waitUntil("document.ready", js -> false, () -> true));
+        assertTrue(e.getMessage().startsWith("waitUntil (event): failed after"));
+    }
+
+    @Test
+    void testWaitUntilFallbackGetsOnlyTheTimeLeft() {
+        DriverOptions options = eventWait();
+        options.setRetryInterval(100); // 3 retries, so 300 milliseconds in all
+        int[] polls = new int[1];
+        assertThrows(RuntimeException.class, () -> options.waitUntil("document.ready", js -> {
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            return null;
+        }, () -> ++polls[0] < 0));
+        // a full retry budget would have been 4 checks
+        assertTrue(polls[0] >= 1 && polls[0] <= 2, "polls: " + polls[0]);
+    }
+
+    @Test
+    void testWaitTimeCollected() {
+        DriverOptions options = new DriverOptions(Collections.singletonMap("eventWait", false), TestUtils.runtime(), 0, null);
+        options.setRetryInterval(20);
+        int[] polls = new int[1];
+        options.waitUntil("document.ready", js -> true, () -> ++polls[0] == 3);
+        assertEquals(3, polls[0]);
+        assertTrue(options.collectWaitTime() >= 40);
+        assertEquals(0, options.collectWaitTime());
+    }
+
 }
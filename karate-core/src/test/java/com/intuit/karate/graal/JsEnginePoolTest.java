@@ -0,0 +1,91 @@
+package com.intuit.karate.graal;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author pthomas3
+ */
+class JsEnginePoolTest {
+
+    @Test
+    void testEngineIsResetAndReused() {
+        JsEnginePool pool = new JsEnginePool(2, 1);
+        JsEngine je = pool.acquire();
+        je.put("foo", "bar");
+        je.eval("baz = 1");
+        pool.release(je);
+        JsEngine again = pool.acquire();
+        assertSame(je, again);
+        assertFalse(again.bindings.hasMember("foo"));
+        assertEquals("undefined", again.eval("typeof baz").getValue());
+        pool.release(again);
+        assertEquals(1, pool.getStats().get("created"));
+        assertEquals(0, pool.getStats().get("discarded"));
+    }
+
+    @Test
+    void testEngineWithVarDeclarationsIsReused() {
+        JsEnginePool pool = new JsEnginePool(1, 1);
+        JsEngine je = pool.acquire();
+        je.eval("var foo = 1; function bar(){ return 2 }");
+        pool.release(je);
+        JsEngine next = pool.acquire();
+        assertSame(je, next);
+        assertEquals("undefined", next.eval("typeof foo").getValue());
+        assertEquals("undefined", next.eval("typeof bar").getValue());
+        next.eval("var foo = 3");
+        assertEquals(3, next.evalForValue("foo").asInt());
+        pool.release(next);
+        assertEquals(0, pool.getStats().get("discarded"));
+    }
+
+    @Test
+    void testEngineWithLexicalDeclarationsIsReplaced() {
+        JsEnginePool pool = new JsEnginePool(1, 1);
+        JsEngine je = pool.acquire();
+        je.eval("let foo = 1; const bar = 2");
+        pool.release(je);
+        assertEquals(1, pool.getStats().get("discarded"));
+        JsEngine next = pool.acquire();
+        assertNotSame(je, next);
+        next.eval("let foo = 3"); // would fail if re-declared in the same context
+        assertEquals("undefined", next.eval("typeof bar").getValue());
+        pool.release(next);
+    }
+
+    @Test
+    void testEngineWithChangedGlobalIsReplaced() {
+        JsEnginePool pool = new JsEnginePool(1, 1);
+        JsEngine je = pool.acquire();
+        je.eval("JSON = { stringify: function(){ return 'leaked' } }");
+        pool.release(je);
+        assertEquals(1, pool.getStats().get("discarded"));
+        JsEngine next = pool.acquire();
+        assertNotSame(je, next);
+        assertEquals("[1]", next.eval("JSON.stringify([1])").getValue());
+        pool.release(next);
+        assertSame(next, pool.acquire()); // an untouched engine is still re-used
+    }
+
+    @Test
+    void testAcquireWaitsWhenAllInUse() throws Exception {
+        JsEnginePool pool = new JsEnginePool(1, 0);
+        JsEngine je = pool.acquire();
+        CompletableFuture<JsEngine> future = CompletableFuture.supplyAsync(pool::acquire);
+        Thread.sleep(100);
+        assertFalse(future.isDone());
+        assertEquals(1, pool.getActiveCount());
+        pool.release(je);
+        JsEngine other = future.get(5, TimeUnit.SECONDS);
+        assertSame(je, other);
+        pool.release(other);
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1L, pool.getStats().get("waited"));
+        assertEquals(2L, pool.getStats().get("acquired"));
+    }
+
+}
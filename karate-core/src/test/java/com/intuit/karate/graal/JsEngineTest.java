@@ -273,4 +273,55 @@ class JsEngineTest {
         assertTrue(jv.isTrue());
     }
 
+    @Test
+    void testSourceCacheSharedAcrossContexts() {
+        String exp = "'source-cache-' + (1 + 2)";
+        long hits = JsEngine.SOURCE_CACHE.getHitCount();
+        assertEquals("source-cache-3", JsEngine.local().eval(exp).getValue());
+        assertEquals("source-cache-3", JsEngine.local().eval(exp).getValue());
+        assertTrue(JsEngine.SOURCE_CACHE.getHitCount() > hits);
+    }
+
+    @Test
+    void testSourceCacheBounds() {
+        JsSourceCache cache = new JsSourceCache(10, 20, 30);
+        String big = "'" + String.join("", Collections.nCopies(30, "x")) + "'";
+        cache.get(big); // too long to be cached
+        cache.get(big);
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getHitCount());
+        String exp = "'0123456789abcdef'"; // 18 chars
+        assertSame(cache.get(exp), cache.get(exp));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(18, cache.getCharCount());
+        String other = "'fedcba9876543210'";
+        cache.get(other); // would go over the total
+        cache.get(other);
+        assertEquals(1, cache.size());
+        assertEquals(1, cache.getHitCount());
+        assertEquals("Unnamed", cache.get(exp).getName());
+    }
+
+    @Test
+    void testPutLazy() {
+        int[] count = new int[1];
+        je.putLazy("foo", () -> {
+            count[0]++;
+            return "bar";
+        });
+        assertEquals(0, count[0]);
+        assertEquals("bar", je.eval("foo").getValue());
+        assertEquals("barbar", je.eval("foo + foo").getValue());
+        assertEquals(1, count[0]);
+        je.putLazy("baz", () -> {
+            count[0]++;
+            return "lazy";
+        });
+        je.put("baz", "eager");
+        assertEquals("eager", je.eval("baz").getValue());
+        assertEquals(1, count[0]);
+        je.remove("baz");
+        assertEquals("undefined", je.eval("typeof baz").getValue());
+    }
+
 }
@@ -0,0 +1,77 @@
+package com.intuit.karate.http;
+
+import com.intuit.karate.FileUtils;
+import com.intuit.karate.core.Config;
+import com.intuit.karate.core.Variable;
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author pthomas3
+ */
+class BodyBufferTest {
+
+    static final byte[] BYTES = FileUtils.toBytes("0123456789");
+
+    static BodyBuffer read(long length, long threshold) throws Exception {
+        return BodyBuffer.read(new ByteArrayInputStream(BYTES), length, threshold);
+    }
+
+    @Test
+    void testInMemory() throws Exception {
+        assertArrayEquals(BYTES, read(10, 100).getBytes());
+        assertArrayEquals(BYTES, read(-1, 100).getBytes());
+        assertArrayEquals(BYTES, read(-1, 0).getBytes());
+        assertArrayEquals(BYTES, read(10, 10).getBytes());
+        assertNull(read(10, 100).getFile());
+    }
+
+    @Test
+    void testWrongContentLength() throws Exception {
+        assertArrayEquals(BYTES, read(20, 100).getBytes());
+        assertArrayEquals(BYTES, read(5, 100).getBytes());
+    }
+
+    @Test
+    void testSpilled() throws Exception {
+        for (long length : new long[]{10, -1}) {
+            BodyBuffer buffer = read(length, 4);
+            assertNull(buffer.getBytes());
+            File file = buffer.getFile();
+            assertEquals(10, file.length());
+            assertArrayEquals(BYTES, BodyBuffer.readFile(file));
+            assertArrayEquals(FileUtils.toBytes("0123"), BodyBuffer.readFile(file, 4));
+            file.delete();
+        }
+    }
+
+    @Test
+    void testSpilledResponseMaterializedOnce() throws Exception {
+        Response response = new Response(200, null, null);
+        File file = read(10, 4).getFile();
+        response.setSpilledBody(file);
+        assertEquals(10, response.getBodyLength());
+        assertArrayEquals(FileUtils.toBytes("012"), response.getBodyPreview(3));
+        assertTrue(file.exists());
+        assertEquals("0123456789", response.getBodyAsString());
+        assertFalse(file.exists());
+        assertFalse(response.isBodySpilled());
+        assertArrayEquals(BYTES, response.getBody());
+    }
+
+    @Test
+    void testLoggerTruncatesLargeBodies() {
+        Config config = new Config();
+        config.configure("spillBodySize", new Variable(4));
+        HttpRequest request = new HttpRequest();
+        request.setUrl("http://localhost/foo");
+        Response response = new Response(500, null, BYTES);
+        String message = HttpLogger.getStatusFailureMessage(200, config, request, response);
+        // the preview is bigger than this body, but it is over the spill size
+        assertTrue(message.endsWith("response: \n0123456789\n... [truncated, 10 bytes]"));
+    }
+
+}
@@ -0,0 +1,72 @@
+package com.intuit.karate.http;
+
+import java.time.Instant;
+import java.util.Arrays;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author pthomas3
+ */
+class EvictingSessionStoreTest {
+
+    static long now() {
+        return Instant.now().getEpochSecond();
+    }
+
+    Session save(SessionStore store, long expires) {
+        Session session = store.create(now(), expires);
+        session.getData().put("name", "Billie");
+        session.getData().put("tags", Arrays.asList("a", "b"));
+        store.save(session);
+        return session;
+    }
+
+    @Test
+    void testLeastRecentlyUsedIsEvicted() {
+        EvictingSessionStore store = new EvictingSessionStore(2, false, 0);
+        Session s1 = save(store, now() + 60);
+        Session s2 = save(store, now() + 60);
+        assertNotNull(store.get(s1.getId())); // s2 is now the least recently used
+        save(store, now() + 60);
+        assertEquals(2, store.getSize());
+        assertEquals(1, store.getEvictedCount());
+        assertNotNull(store.get(s1.getId()));
+        assertNull(store.get(s2.getId()));
+        store.close();
+    }
+
+    @Test
+    void testSweepRemovesExpired() {
+        EvictingSessionStore store = new EvictingSessionStore(10, false, 0);
+        Session expired = save(store, now() - 1);
+        Session live = save(store, now() + 60);
+        assertEquals(1, store.sweep());
+        assertEquals(1, store.getExpiredCount());
+        assertNull(store.get(expired.getId()));
+        assertSame(live, store.get(live.getId()));
+        store.close();
+    }
+
+    @Test
+    void testOffHeapRoundTrip() {
+        EvictingSessionStore store = new EvictingSessionStore(10, true, 0);
+        Session session = save(store, now() + 60);
+        Session copy = store.get(session.getId());
+        assertNotSame(session, copy);
+        assertEquals(session.getId(), copy.getId());
+        assertEquals(session.getCreated(), copy.getCreated());
+        assertEquals(session.getExpires(), copy.getExpires());
+        assertEquals("Billie", copy.getData().get("name"));
+        assertEquals(Arrays.asList("a", "b"), copy.getData().get("tags"));
+        copy.getData().put("name", "Wild");
+        assertEquals("Billie", store.get(session.getId()).getData().get("name")); // not saved yet
+        store.save(copy);
+        assertEquals("Wild", store.get(session.getId()).getData().get("name"));
+        store.delete(session.getId());
+        assertNull(store.get(session.getId()));
+        store.close();
+    }
+
+}
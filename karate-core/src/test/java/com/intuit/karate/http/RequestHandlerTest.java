@@ -1,6 +1,8 @@
 package com.intuit.karate.http;
 
+import com.intuit.karate.Http;
 import com.intuit.karate.Match;
+import java.util.ArrayList;
 import java.util.List;
 import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.BeforeEach;
@@ -16,6 +18,7 @@ class RequestHandlerTest {
 
     static final Logger logger = LoggerFactory.getLogger(RequestHandlerTest.class);
 
+    ServerConfig config;
     RequestHandler handler;
     HttpRequestBuilder request;
     Response response;
@@ -24,7 +27,7 @@ class RequestHandlerTest {
 
     @BeforeEach
     void beforeEach() {
-        ServerConfig config = new ServerConfig("classpath:demo");
+        config = new ServerConfig("classpath:demo");
         config.autoCreateSession(true);
         handler = new RequestHandler(config);
         request = new HttpRequestBuilder(null).method("GET");
@@ -53,6 +56,88 @@ class RequestHandlerTest {
 
     @Test
     void testIndexAndAjaxPost() {
+        indexAndAjaxPost();
+    }
+
+    @Test
+    void testIndexAndAjaxPostWithOffHeapSessions() {
+        EvictingSessionStore store = EvictingSessionStore.offHeap(10);
+        config.sessionStore(store);
+        handler = new RequestHandler(config);
+        indexAndAjaxPost();
+        assertEquals(1, store.getSize());
+        store.close();
+    }
+
+    @Test
+    void testIndexAndAjaxPostWithJsEnginePool() {
+        config.jsEnginePool(1);
+        handler = new RequestHandler(config);
+        indexAndAjaxPost();
+        indexAndAjaxPost(); // same engine, nothing left over from the first requests
+        assertEquals(0, config.getJsEnginePool().getActiveCount());
+        assertEquals(1, config.getJsEnginePool().getIdleCount());
+    }
+
+    @Test
+    void testJsEnginePoolNotOnEventLoop() {
+        assertFalse(handler.isBlocking());
+        config.jsEnginePool(1);
+        List<Boolean> onEventLoop = new ArrayList();
+        handler = new RequestHandler(config) {
+            @Override
+            public Response handle(Request request) {
+                onEventLoop.add(request.getRequestContext().eventLoop().inEventLoop());
+                return super.handle(request);
+            }
+        };
+        assertTrue(handler.isBlocking());
+        HttpServer server = HttpServer.handler(handler).build();
+        try {
+            Response res = Http.to("http://localhost:" + server.getPort()).path("index").get();
+            assertEquals(200, res.getStatus());
+            assertTrue(res.getBodyAsString().contains("<span>John Smith</span>"));
+        } finally {
+            server.stop();
+        }
+        assertEquals(1, onEventLoop.size());
+        assertFalse(onEventLoop.get(0));
+        assertEquals(0, config.getJsEnginePool().getActiveCount());
+    }
+
+    @Test
+    void testStaticResourceConditionalGet() {
+        request.path("/app.css");
+        handle();
+        assertEquals(200, response.getStatus());
+        assertTrue(body.contains("{"));
+        String etag = response.getHeader("ETag");
+        assertNotNull(etag);
+        assertNotNull(response.getHeader("Last-Modified"));
+        request.path("/app.css").header("If-None-Match", etag);
+        handle();
+        assertEquals(304, response.getStatus());
+        assertNull(response.getBody());
+        request.path("/app.css").header("Accept-Encoding", "gzip, deflate");
+        handle();
+        assertEquals(200, response.getStatus());
+        matchHeaderEquals("Content-Encoding", "gzip");
+        matchHeaderEquals("Vary", "Accept-Encoding");
+        String gzipEtag = response.getHeader("ETag");
+        assertEquals(etag.substring(0, etag.length() - 1) + "-gzip\"", gzipEtag);
+        // the plain etag does not validate the gzip variant, its own etag does
+        request.path("/app.css").header("Accept-Encoding", "gzip").header("If-None-Match", etag);
+        handle();
+        assertEquals(200, response.getStatus());
+        request.path("/app.css").header("Accept-Encoding", "gzip").header("If-None-Match", gzipEtag);
+        handle();
+        assertEquals(304, response.getStatus());
+        assertEquals(gzipEtag, response.getHeader("ETag"));
+        assertEquals(1, config.getStaticResourceCache().size());
+        assertEquals(4, config.getStaticResourceCache().getHitCount());
+    }
+
+    private void indexAndAjaxPost() {
         request.path("index");
         handle();
         matchHeaderContains("Set-Cookie", "karate.sid");
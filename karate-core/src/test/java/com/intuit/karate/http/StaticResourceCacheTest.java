@@ -0,0 +1,68 @@
+package com.intuit.karate.http;
+
+import com.intuit.karate.FileUtils;
+import com.intuit.karate.resource.Resource;
+import com.intuit.karate.resource.ResourceUtils;
+import java.io.File;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author pthomas3
+ */
+class StaticResourceCacheTest {
+
+    @Test
+    void testCachedAndCompressed() {
+        StaticResourceCache cache = new StaticResourceCache();
+        Resource resource = ResourceUtils.getResource(FileUtils.WORKING_DIR, "classpath:demo/app.css");
+        StaticResourceCache.Entry entry = cache.get(resource, true);
+        assertNotNull(entry.getBytes());
+        assertNotNull(entry.getGzip());
+        assertTrue(entry.getGzip().length < entry.getBytes().length);
+        assertSame(entry, cache.get(resource, true));
+        assertEquals(1, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(0, entry.getLastModified() % 1000);
+    }
+
+    @Test
+    void testBinaryNotCompressed() {
+        StaticResourceCache cache = new StaticResourceCache();
+        Resource resource = ResourceUtils.getResource(FileUtils.WORKING_DIR, "classpath:demo/favicon.ico");
+        StaticResourceCache.Entry entry = cache.get(resource, false);
+        assertNotNull(entry.getBytes());
+        assertNull(entry.getGzip());
+        assertNull(entry.getBrotli());
+    }
+
+    @Test
+    void testLargeFileNotReadAndChangedFileReloaded() {
+        File file = new File("target/static-cache/big.js");
+        FileUtils.writeToFile(file, "var a = 1;");
+        StaticResourceCache cache = new StaticResourceCache(16, StaticResourceCache.DEFAULT_MAX_BYTES);
+        Resource resource = ResourceUtils.getResource(FileUtils.WORKING_DIR, file.getPath());
+        StaticResourceCache.Entry entry = cache.get(resource, true);
+        assertNotNull(entry.getBytes());
+        assertEquals(1, cache.size());
+        FileUtils.writeToFile(file, "var a = 'a lot more than sixteen bytes';");
+        StaticResourceCache.Entry changed = cache.get(resource, true);
+        assertNull(changed.getBytes());
+        assertEquals(file, changed.getFile());
+        assertNotEquals(entry.getEtag(), changed.getEtag());
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.getBytes());
+    }
+
+    @Test
+    void testZeroMaxBytesDisablesCaching() {
+        StaticResourceCache cache = new StaticResourceCache(StaticResourceCache.DEFAULT_MAX_ENTRY_BYTES, 0);
+        Resource resource = ResourceUtils.getResource(FileUtils.WORKING_DIR, "classpath:demo/app.css");
+        StaticResourceCache.Entry entry = cache.get(resource, true);
+        assertNotNull(entry.getBytes());
+        assertNull(entry.getGzip());
+        assertEquals(0, cache.size());
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.intuit.karate.http;
+
+import com.intuit.karate.Logger;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelHandlerContext;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.SimpleChannelInboundHandler;
+import io.netty.handler.codec.http.websocketx.TextWebSocketFrame;
+import java.util.HashMap;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Assumptions;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author pthomas3
+ */
+class WebSocketClientTest {
+
+    static final Logger logger = new Logger();
+    static WebSocketServerBase server;
+
+    @ChannelHandler.Sharable
+    static class EchoHandler extends SimpleChannelInboundHandler<TextWebSocketFrame> {
+
+        @Override
+        protected void channelRead0(ChannelHandlerContext ctx, TextWebSocketFrame frame) {
+            ctx.channel().writeAndFlush(new TextWebSocketFrame(frame.text()));
+        }
+
+    }
+
+    @BeforeAll
+    static void beforeAll() {
+        server = new WebSocketServerBase(0, "/echo", new EchoHandler());
+    }
+
+    @AfterAll
+    static void afterAll() {
+        server.stop();
+    }
+
+    WebSocketClient client(int maxQueueSize) {
+        Map<String, Object> map = new HashMap();
+        map.put("maxQueueSize", maxQueueSize);
+        WebSocketOptions options = new WebSocketOptions("ws://localhost:" + server.getPort() + "/echo", map);
+        options.setTextHandler(text -> true);
+        return new WebSocketClient(options, logger);
+    }
+
+    @Test
+    void testClientsShareEventLoop() {
+        int before = WebSocketEventLoop.getRefCount(); // other tests may not close their clients
+        WebSocketClient client1 = client(100);
+        WebSocketClient client2 = client(100);
+        assertEquals(before + 2, WebSocketEventLoop.getRefCount());
+        client1.send("one");
+        client2.send("two");
+        assertEquals("one", client1.listen(5000));
+        assertEquals("two", client2.listen(5000));
+        client1.close();
+        client1.close(); // second close is a no-op
+        assertEquals(before + 1, WebSocketEventLoop.getRefCount());
+        client2.close();
+        assertEquals(before, WebSocketEventLoop.getRefCount());
+    }
+
+    @Test
+    void testEventLoopKeptAliveWhenIdle() throws Exception {
+        EventLoopGroup group = WebSocketEventLoop.acquire();
+        WebSocketEventLoop.release();
+        assertSame(group, WebSocketEventLoop.acquire()); // re-used, not re-created
+        assertFalse(group.isShuttingDown());
+        long idleMillis = WebSocketEventLoop.idleMillis;
+        WebSocketEventLoop.idleMillis = 100;
+        try {
+            WebSocketEventLoop.release();
+            Assumptions.assumeTrue(WebSocketEventLoop.getRefCount() == 0, "other tests left clients open");
+            Thread.sleep(500);
+            assertTrue(group.isShuttingDown());
+            assertNotSame(group, WebSocketEventLoop.acquire());
+            WebSocketEventLoop.release();
+        } finally {
+            WebSocketEventLoop.idleMillis = idleMillis;
+        }
+    }
+
+    @Test
+    void testNoMessagesDroppedWhenListenIsSlow() throws Exception {
+        WebSocketClient client = client(10);
+        int count = 500;
+        for (int i = 0; i < count; i++) {
+            client.send("msg" + i);
+        }
+        Thread.sleep(200); // let the queue fill up and reads pause
+        for (int i = 0; i < count; i++) {
+            assertEquals("msg" + i, client.listen(5000));
+        }
+        assertNull(client.listen(100));
+        client.close();
+    }
+
+    @Test
+    void testCloseWhenReadsPaused() throws Exception {
+        int before = WebSocketEventLoop.getRefCount();
+        WebSocketClient client = client(10);
+        for (int i = 0; i < 100; i++) {
+            client.send("msg" + i);
+        }
+        Thread.sleep(200); // queue full, reads paused, nobody listening
+        long start = System.currentTimeMillis();
+        client.close();
+        assertTrue(System.currentTimeMillis() - start < 5000);
+        assertEquals(before, WebSocketEventLoop.getRefCount());
+    }
+
+}
@@ -1,10 +1,20 @@
 package com.intuit.karate.report;
 
+import com.intuit.karate.FileUtils;
+import com.intuit.karate.Json;
+import com.intuit.karate.Match;
+import com.intuit.karate.XmlUtils;
 import com.intuit.karate.core.Feature;
 import com.intuit.karate.core.FeatureRuntime;
+import java.io.File;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import static org.junit.jupiter.api.Assertions.*;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.w3c.dom.Document;
 
 /**
  *
@@ -23,4 +33,22 @@ class ReportUtilsTest {
         report.render("target/report-test");
     }
 
+    @Test
+    void testStreamedJsonMatchesInMemoryJson() {
+        Feature feature = Feature.read("classpath:com/intuit/karate/report/test.feature");
+        FeatureRuntime fr = FeatureRuntime.of(feature);
+        fr.run();
+        File file = ReportUtils.saveKarateJson("target/report-test", fr.result, null);
+        Map<String, Object> expected = fr.result.toKarateJson();
+        Match.Result result = Match.that(Json.of(FileUtils.toString(file)).asMap()).isEqualTo(expected);
+        assertTrue(result.pass, result.message);
+        file = ReportUtils.saveCucumberJson("target/report-test", fr.result, null);
+        List<Object> cucumber = Json.of(FileUtils.toString(file)).asList();
+        result = Match.that(cucumber).isEqualTo(Collections.singletonList(fr.result.toCucumberJson()));
+        assertTrue(result.pass, result.message);
+        file = ReportUtils.saveJunitXml("target/report-test", fr.result, null);
+        Document doc = XmlUtils.toXmlDoc(FileUtils.toString(file));
+        assertEquals(fr.result.getScenarioCount(), XmlUtils.getNodeListByPath(doc, "/testsuite/testcase").getLength());
+    }
+
 }
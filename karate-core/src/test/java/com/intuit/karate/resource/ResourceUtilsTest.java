@@ -188,6 +188,60 @@ class ResourceUtilsTest {
     void testClassPathToFileThatDoesNotExist() {
         File file = ResourceUtils.classPathToFile("com/intuit/karate/resource/nope.txt");
         assertNull(file);
-    }    
+    }
+
+    @Test
+    void testGetJarFileByRelativePath() {
+        Resource resource = ResourceUtils.getResource(wd, "classpath:cucumber/api/../version.properties");
+        assertFalse(resource.isFile());
+        assertEquals("cucumber/version.properties", resource.getRelativePath());
+        assertEquals("cucumber-jvm.version=1.2.5", FileUtils.toString(resource.getStream()));
+    }
+
+    @Test
+    void testClassPathLookUpIsCached() {
+        Resource first = ResourceUtils.getResource(wd, "classpath:com/intuit/karate/resource/test1.txt");
+        Resource second = ResourceUtils.getResource(wd, "classpath:com/intuit/karate/resource/test1.txt");
+        assertSame(first, second);
+    }
+
+    @Test
+    void testJarLookUpKeepsOnlyUri() {
+        Resource first = ResourceUtils.getResource(wd, "classpath:cucumber/version.properties");
+        Resource second = ResourceUtils.getResource(wd, "classpath:cucumber/version.properties");
+        assertNotSame(first, second);
+        assertEquals(first.getUri(), second.getUri());
+        assertEquals("cucumber/version.properties", second.getRelativePath());
+        assertEquals("cucumber-jvm.version=1.2.5", FileUtils.toString(second.getStream()));
+    }
+
+    @Test
+    void testClassPathMissIsCheckedAgain() throws Exception {
+        File dir = new File("target/test-classes/com/intuit/karate/resource");
+        File file = new File(dir, "later.txt");
+        file.delete();
+        assertThrows(RuntimeException.class, () -> ResourceUtils.getResource(wd, "classpath:com/intuit/karate/resource/later.txt"));
+        FileUtils.writeToFile(file, "later");
+        try {
+            Resource resource = ResourceUtils.getResource(wd, "classpath:com/intuit/karate/resource/later.txt");
+            assertEquals("later", FileUtils.toString(resource.getStream()));
+        } finally {
+            file.delete();
+        }
+    }
+
+    @Test
+    void testClassPathNotFound() {
+        RuntimeException e = assertThrows(RuntimeException.class, () -> ResourceUtils.getResource(wd, "classpath:cucumber/nope.properties"));
+        assertEquals("not found: cucumber/nope.properties", e.getMessage());
+    }
+
+    @Test
+    void testNormalizeClassPath() {
+        assertEquals("a/b.txt", ResourceUtils.normalizeClassPath("a/b.txt"));
+        assertEquals("a/b.txt", ResourceUtils.normalizeClassPath("/a/b.txt"));
+        assertEquals("a/c/d.txt", ResourceUtils.normalizeClassPath("a/b/../c/./d.txt"));
+        assertEquals("a/b.txt", ResourceUtils.normalizeClassPath("a//b.txt"));
+    }
 
 }
@@ -1,5 +1,6 @@
 package com.intuit.karate.template;
 
+import com.intuit.karate.FileUtils;
 import com.intuit.karate.graal.JsEngine;
 import com.intuit.karate.resource.ResourceResolver;
 import com.intuit.karate.resource.ResourceUtils;
@@ -71,4 +72,43 @@ class TemplateTest {
         assertTrue(rendered.contains("<script src=\"temp.js?ts=" + file.lastModified() + "\"></script>"));
     }
 
+    @Test
+    void testTemplateCache() {
+        JsEngine je = JsEngine.local();
+        KarateTemplateEngine engine = TemplateUtils.forResourceRoot(je, "classpath:com/intuit/karate/template");
+        String first = engine.process("with.html"); // includes a fragment
+        long misses = engine.getTemplateCacheMissCount();
+        assertTrue(misses > 0);
+        assertEquals(0, engine.getTemplateCacheHitCount());
+        assertEquals(first, engine.process("with.html"));
+        assertEquals(misses, engine.getTemplateCacheMissCount());
+        assertEquals(misses, engine.getTemplateCacheHitCount());
+        assertEquals(misses, engine.getTemplateCacheSize());
+    }
+
+    @Test
+    void testTemplateCacheInvalidatedWhenFileChanges() {
+        File file = new File("target/template-cache/changed.html");
+        FileUtils.writeToFile(file, "<div th:text=\"'one'\"></div>");
+        JsEngine je = JsEngine.local();
+        KarateTemplateEngine engine = TemplateUtils.forResourceRoot(je, "target/template-cache");
+        assertEquals("<div>one</div>", engine.process("changed.html"));
+        assertEquals("<div>one</div>", engine.process("changed.html"));
+        FileUtils.writeToFile(file, "<div th:text=\"'two!'\"></div>");
+        assertEquals("<div>two!</div>", engine.process("changed.html"));
+        assertEquals(2, engine.getTemplateCacheMissCount());
+    }
+
+    @Test
+    void testRenderHtmlStringWithDifferentJsEngines() {
+        ResourceResolver resolver = new ResourceResolver("classpath:com/intuit/karate/template");
+        String html = "<div th:text=\"message\"></div>";
+        JsEngine je1 = JsEngine.local();
+        je1.put("message", "one");
+        JsEngine je2 = JsEngine.local();
+        je2.put("message", "two");
+        assertEquals("<div>one</div>", TemplateUtils.renderHtmlString(html, je1, resolver));
+        assertEquals("<div>two</div>", TemplateUtils.renderHtmlString(html, je2, resolver));
+    }
+
 }
@@ -0,0 +1,225 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.gatling;
+
+import com.intuit.karate.core.LimitedExecutorService;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * karate features block (http calls, js) so they run on this bounded pool
+ * and never on the akka dispatcher that gatling itself depends on, the
+ * stats tell if the pool (i.e. the load generator) is the bottleneck
+ *
+ * feature steps run synchronously, so a paused feature keeps its thread, but
+ * it hands over its slot so that a queued feature can run meanwhile, with
+ * platform threads the pool grows by one thread for that, up to maxThreads
+ * extra threads, after which a pause keeps its slot
+ *
+ * @author pthomas3
+ */
+public class KarateExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(KarateExecutor.class);
+
+    public static final int DEFAULT_THREADS = 100;
+
+    private final int maxThreads;
+    private final ExecutorService executor;
+    private final LimitedExecutorService limited; // null if platform threads
+    private final ThreadPoolExecutor pool; // null if virtual threads
+    private final ScheduledExecutorService reporter;
+
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger paused = new AtomicInteger();
+    private final AtomicInteger yielded = new AtomicInteger(); // paused and not holding a slot
+    private final AtomicInteger maxActive = new AtomicInteger();
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong totalWaitMillis = new AtomicLong();
+    private final AtomicLong maxWaitMillis = new AtomicLong();
+
+    private long lastReported = -1;
+
+    public KarateExecutor(int maxThreads, boolean virtualThreads, int statsIntervalSeconds) {
+        this.maxThreads = maxThreads;
+        LimitedExecutorService temp = null;
+        if (virtualThreads) {
+            // a pause then parks the virtual thread instead of holding on to a platform thread
+            temp = LimitedExecutorService.ofVirtualThreads(maxThreads);
+            if (temp == null) {
+                logger.warn("virtual threads not supported by this jvm, will use {} platform threads", maxThreads);
+            }
+        }
+        limited = temp;
+        if (limited == null) {
+            AtomicInteger count = new AtomicInteger();
+            // with an unbounded queue the core size is what limits the pool
+            // it grows by one for each paused feature, and never beyond the maximum
+            pool = new ThreadPoolExecutor(maxThreads, maxThreads * 2, 60, TimeUnit.SECONDS, new LinkedBlockingQueue(), r -> {
+                Thread thread = new Thread(r, "karate-gatling-" + count.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+            pool.allowCoreThreadTimeOut(true);
+            executor = pool;
+        } else {
+            pool = null;
+            executor = limited;
+        }
+        if (statsIntervalSeconds > 0) {
+            reporter = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "karate-gatling-stats");
+                thread.setDaemon(true);
+                return thread;
+            });
+            reporter.scheduleAtFixedRate(this::report, statsIntervalSeconds, statsIntervalSeconds, TimeUnit.SECONDS);
+        } else {
+            reporter = null;
+        }
+    }
+
+    public void submit(Runnable runnable) {
+        long queuedAt = System.currentTimeMillis();
+        submitted.incrementAndGet();
+        queued.incrementAndGet();
+        executor.execute(() -> {
+            long waitMillis = System.currentTimeMillis() - queuedAt;
+            queued.decrementAndGet();
+            totalWaitMillis.addAndGet(waitMillis);
+            maxWaitMillis.accumulateAndGet(waitMillis, Math::max);
+            maxActive.accumulateAndGet(active.incrementAndGet(), Math::max);
+            try {
+                runnable.run();
+            } finally {
+                active.decrementAndGet();
+                completed.incrementAndGet();
+            }
+        });
+    }
+
+    public void pause(long millis) {
+        paused.incrementAndGet();
+        boolean slotYielded = yieldSlot();
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (slotYielded) {
+                reclaimSlot();
+            }
+            paused.decrementAndGet();
+        }
+    }
+
+    private boolean yieldSlot() {
+        if (limited != null) { // a parked virtual thread costs nothing, so there is no cap
+            yielded.incrementAndGet();
+            limited.releasePermit();
+            return true;
+        }
+        synchronized (pool) {
+            if (yielded.get() >= maxThreads) {
+                return false;
+            }
+            pool.setCorePoolSize(maxThreads + yielded.incrementAndGet());
+            return true;
+        }
+    }
+
+    private void reclaimSlot() {
+        if (limited != null) {
+            limited.acquirePermit();
+            yielded.decrementAndGet();
+        } else {
+            synchronized (pool) {
+                // the extra thread, if any, ends when it next finds the queue empty
+                pool.setCorePoolSize(maxThreads + yielded.decrementAndGet());
+            }
+        }
+    }
+
+    // features holding a slot, a paused feature that could not hand over its slot counts
+    private int running() {
+        return active.get() - yielded.get();
+    }
+
+    public Map<String, Object> getStats() {
+        Map<String, Object> map = new LinkedHashMap();
+        long done = completed.get();
+        long started = submitted.get() - queued.get();
+        map.put("maxThreads", maxThreads);
+        map.put("active", active.get());
+        map.put("paused", paused.get());
+        map.put("yielded", yielded.get());
+        map.put("running", running());
+        map.put("queued", queued.get());
+        map.put("maxActive", maxActive.get());
+        map.put("submitted", submitted.get());
+        map.put("completed", done);
+        map.put("saturation", (double) running() / maxThreads);
+        map.put("avgWaitMillis", started == 0 ? 0 : totalWaitMillis.get() / started);
+        map.put("maxWaitMillis", maxWaitMillis.get());
+        return map;
+    }
+
+    private void report() {
+        long count = submitted.get();
+        if (count == lastReported) { // idle
+            return;
+        }
+        lastReported = count;
+        Map<String, Object> stats = getStats();
+        // paused features that have handed over their slot do not count
+        if (queued.get() > 0 && running() >= maxThreads) {
+            logger.warn("karate pool saturated, features are waiting for a thread, consider increasing protocol.threads: {}", stats);
+        } else {
+            logger.info("karate pool: {}", stats);
+        }
+    }
+
+    public boolean isShutdown() {
+        return executor.isShutdown();
+    }
+
+    public void shutdown() {
+        executor.shutdownNow();
+        if (reporter != null) {
+            reporter.shutdownNow();
+        }
+    }
+
+}
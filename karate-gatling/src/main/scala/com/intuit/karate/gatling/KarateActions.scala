@@ -16,28 +16,14 @@ import io.gatling.core.structure.ScenarioContext
 import io.gatling.core.util.NameGen
 
 import scala.jdk.CollectionConverters._
-import scala.concurrent.duration.{Duration, MILLISECONDS}
-import scala.concurrent.{Await, ExecutionContextExecutor, Future}
 
 class KarateFeatureAction(val name: String, val tags: Seq[String], val protocol: KarateProtocol, val system: ActorSystem,
                           val statsEngine: StatsEngine, val clock: Clock, val next: Action) extends ExitableAction {
 
   override def execute(session: Session) = {
 
-    implicit val executor: ExecutionContextExecutor = system.dispatcher
-
-    def pauseInternal(time: Int) = {
-      val duration = Duration(time, MILLISECONDS)
-      try {
-        Await.result(Future.never, duration)
-      } catch {
-        // we do all this to achieve a non-blocking "pause"
-        // and the timeout exception will ALWAYS be thrown
-        case e: Throwable => // do nothing
-      }
-    }
-
-    val pauseFunction: Consumer[java.lang.Number] = t => pauseInternal(t.intValue())
+    // runs on the protocol executor (never the akka dispatcher) and only holds up this feature
+    val pauseFunction: Consumer[java.lang.Number] = t => protocol.executor.pause(t.longValue())
 
     val perfHook = new PerfHook {
 
@@ -55,9 +41,7 @@ class KarateFeatureAction(val name: String, val tags: Seq[String], val protocol:
         statsEngine.logResponse(session.scenario, session.groups, event.getName, event.getStartTime, event.getEndTime, okOrNot, Option(event.getStatusCode.toString), message)
       }
 
-      override def submit(r: Runnable): Unit = Future {
-        r.run()
-      }
+      override def submit(r: Runnable): Unit = protocol.executor.submit(r)
 
       override def afterFeature(fr: FeatureResult): Unit = {
         val vars: java.util.Map[String, Object] = fr.getVariables
@@ -24,8 +24,28 @@ class KarateProtocol(val uriPatterns: Map[String, Seq[MethodPause]]) extends Pro
   }
   var nameResolver: (HttpRequest, ScenarioRuntime) => String = (req, ctx) => null
   var runner = new Runner.Builder
-  val callSingleCache = new java.util.HashMap[String, AnyRef]
-  val callOnceCache = new java.util.HashMap[String, ScenarioCall.Result]
+  val callSingleCache = new java.util.concurrent.ConcurrentHashMap[String, AnyRef]
+  val callOnceCache = new java.util.concurrent.ConcurrentHashMap[String, ScenarioCall.Result]
+  // features block on http and js, so they run on a dedicated bounded pool
+  var threads: Int = KarateExecutor.DEFAULT_THREADS
+  var virtualThreads: Boolean = false
+  var statsIntervalSeconds: Int = 10
+  // created on first use, so that the settings above can be changed in the simulation
+  @volatile private var _executor: KarateExecutor = null
+  def executor: KarateExecutor = {
+    if (_executor == null) synchronized {
+      if (_executor == null) _executor = new KarateExecutor(threads, virtualThreads, statsIntervalSeconds)
+    }
+    _executor
+  }
+  def executorStats: java.util.Map[String, AnyRef] = executor.getStats
+  // called when the simulation ends, a later run in the same jvm gets a new executor
+  def shutdown(): Unit = synchronized {
+    if (_executor != null) {
+      _executor.shutdown()
+      _executor = null
+    }
+  }
 }
 
 object KarateProtocol {
@@ -34,7 +54,11 @@ object KarateProtocol {
   val KarateProtocolKey = new ProtocolKey[KarateProtocol, KarateComponents] {
     override def defaultProtocolValue(configuration: GatlingConfiguration) = new KarateProtocol(Map.empty)
     override def newComponents(coreComponents: CoreComponents)=
-      karateProtocol => KarateComponents(karateProtocol, coreComponents.actorSystem)
+      karateProtocol => {
+        // the actor system is terminated when the simulation is done
+        coreComponents.actorSystem.registerOnTermination(karateProtocol.shutdown())
+        KarateComponents(karateProtocol, coreComponents.actorSystem)
+      }
     override def protocolClass= classOf[KarateProtocol].asInstanceOf[Class[io.gatling.core.protocol.Protocol]]
   }
 }
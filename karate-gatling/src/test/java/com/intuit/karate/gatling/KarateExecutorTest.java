@@ -0,0 +1,140 @@
+package com.intuit.karate.gatling;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import static org.junit.jupiter.api.Assertions.*;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ *
+ * @author pthomas3
+ */
+class KarateExecutorTest {
+
+    KarateExecutor executor;
+
+    @AfterEach
+    void afterEach() {
+        executor.shutdown();
+    }
+
+    @Test
+    void testThreadBound() throws Exception {
+        executor = new KarateExecutor(2, false, 0);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch done = new CountDownLatch(10);
+        for (int i = 0; i < 10; i++) {
+            executor.submit(() -> {
+                threads.add(Thread.currentThread());
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+                running.decrementAndGet();
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(2, maxRunning.get());
+        assertEquals(2, threads.size());
+    }
+
+    @Test
+    void testPauseHandsOverSlot() throws Exception {
+        executor = new KarateExecutor(2, false, 0);
+        CountDownLatch done = new CountDownLatch(4);
+        long start = System.currentTimeMillis();
+        for (int i = 0; i < 4; i++) {
+            executor.submit(() -> {
+                executor.pause(300);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        // without the hand-over the second pair would start only after 300 ms
+        assertTrue(System.currentTimeMillis() - start < 550);
+    }
+
+    @Test
+    void testExtraThreadsAreCapped() throws Exception {
+        executor = new KarateExecutor(2, false, 0);
+        Set<Thread> threads = ConcurrentHashMap.newKeySet();
+        CountDownLatch done = new CountDownLatch(8);
+        for (int i = 0; i < 8; i++) {
+            executor.submit(() -> {
+                threads.add(Thread.currentThread());
+                executor.pause(200);
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertTrue(threads.size() <= 4, "threads: " + threads.size());
+        assertEquals(0, executor.getStats().get("paused"));
+        assertEquals(0, executor.getStats().get("yielded"));
+    }
+
+    @Test
+    void testSaturationExcludesPaused() throws Exception {
+        executor = new KarateExecutor(2, false, 0);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    // ignore
+                }
+            });
+        }
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(1.0, executor.getStats().get("saturation"));
+        release.countDown();
+        CountDownLatch paused = new CountDownLatch(2);
+        CountDownLatch done = new CountDownLatch(2);
+        for (int i = 0; i < 2; i++) {
+            executor.submit(() -> {
+                paused.countDown();
+                executor.pause(300);
+                done.countDown();
+            });
+        }
+        assertTrue(paused.await(5, TimeUnit.SECONDS));
+        Thread.sleep(50);
+        assertEquals(2, executor.getStats().get("paused"));
+        assertEquals(0.0, executor.getStats().get("saturation"));
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testShutdown() throws Exception {
+        executor = new KarateExecutor(2, false, 1);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch interrupted = new CountDownLatch(1);
+        executor.submit(() -> {
+            started.countDown();
+            try {
+                Thread.sleep(10000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        executor.shutdown();
+        assertTrue(executor.isShutdown());
+        assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> {
+        }));
+    }
+
+}
@@ -0,0 +1,230 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.robot;
+
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferByte;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * holds the last grey-scale screen capture so that look-ups that follow each
+ * other closely re-use it, and the frame on which a search last found nothing
+ * so that a retry only needs to look where the screen has changed since
+ *
+ * @author pthomas3
+ */
+public class CaptureCache {
+
+    public static final int TILE_SIZE = 32;
+
+    private static final int MISS_CACHE_SIZE = 16;
+
+    public static class Frame {
+
+        public final Rectangle bounds;
+        public final BufferedImage image;
+        public final long time;
+
+        final byte[] pixels;
+
+        public Frame(Rectangle bounds, BufferedImage image, long time) {
+            if (image.getType() != BufferedImage.TYPE_BYTE_GRAY) {
+                throw new IllegalArgumentException("grey-scale image expected, type: " + image.getType());
+            }
+            this.bounds = bounds;
+            this.image = image;
+            this.time = time;
+            pixels = ((DataBufferByte) image.getRaster().getDataBuffer()).getData();
+        }
+
+    }
+
+    private final long staleness;
+    private Frame last;
+    private final Map<String, Frame> misses = new LinkedHashMap<String, Frame>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Frame> eldest) {
+            return size() > MISS_CACHE_SIZE;
+        }
+    };
+
+    public CaptureCache(long staleness) {
+        this.staleness = staleness;
+    }
+
+    public long getStaleness() {
+        return staleness;
+    }
+
+    public synchronized Frame get(Rectangle bounds, long now) {
+        if (last == null || !last.bounds.equals(bounds) || now - last.time > staleness) {
+            return null;
+        }
+        return last;
+    }
+
+    public synchronized void put(Frame frame) {
+        last = frame;
+    }
+
+    public synchronized void invalidate() {
+        last = null; // misses stay, they are only ever compared against a fresh frame
+    }
+
+    public synchronized Frame getMiss(String key) {
+        return misses.get(key);
+    }
+
+    public synchronized void putMiss(String key, Frame frame) {
+        misses.put(key, frame);
+    }
+
+    public synchronized void removeMiss(String key) {
+        misses.remove(key);
+    }
+
+    public synchronized void clear() {
+        last = null;
+        misses.clear();
+    }
+
+    /**
+     * compares two captures of the same bounds tile by tile and returns the
+     * changed areas (relative to the bounds), neighbouring changed tiles are
+     * merged into one rectangle, returns null if the frames are not comparable
+     */
+    public static List<Rectangle> diff(Frame prev, Frame next, int tileSize) {
+        if (prev == null || next == null || !prev.bounds.equals(next.bounds)) {
+            return null;
+        }
+        if (prev == next) {
+            return Collections.emptyList();
+        }
+        int width = next.bounds.width;
+        int height = next.bounds.height;
+        int cols = (width + tileSize - 1) / tileSize;
+        int rows = (height + tileSize - 1) / tileSize;
+        boolean[] dirty = new boolean[cols * rows];
+        byte[] a = prev.pixels;
+        byte[] b = next.pixels;
+        // row by row so that memory is read in order
+        for (int y = 0; y < height; y++) {
+            int rowOffset = (y / tileSize) * cols;
+            int lineOffset = y * width;
+            for (int col = 0; col < cols; col++) {
+                if (dirty[rowOffset + col]) {
+                    continue;
+                }
+                int start = lineOffset + col * tileSize;
+                int end = lineOffset + Math.min(width, (col + 1) * tileSize);
+                for (int i = start; i < end; i++) {
+                    if (a[i] != b[i]) {
+                        dirty[rowOffset + col] = true;
+                        break;
+                    }
+                }
+            }
+        }
+        List<Rectangle> list = new ArrayList();
+        boolean[] seen = new boolean[dirty.length];
+        Deque<Integer> stack = new ArrayDeque();
+        for (int index = 0; index < dirty.length; index++) {
+            if (!dirty[index] || seen[index]) {
+                continue;
+            }
+            int minCol = cols, maxCol = -1, minRow = rows, maxRow = -1;
+            seen[index] = true;
+            stack.push(index);
+            while (!stack.isEmpty()) {
+                int current = stack.pop();
+                int row = current / cols;
+                int col = current % cols;
+                minCol = Math.min(minCol, col);
+                maxCol = Math.max(maxCol, col);
+                minRow = Math.min(minRow, row);
+                maxRow = Math.max(maxRow, row);
+                for (int r = Math.max(0, row - 1); r <= Math.min(rows - 1, row + 1); r++) {
+                    for (int c = Math.max(0, col - 1); c <= Math.min(cols - 1, col + 1); c++) {
+                        int neighbour = r * cols + c;
+                        if (dirty[neighbour] && !seen[neighbour]) {
+                            seen[neighbour] = true;
+                            stack.push(neighbour);
+                        }
+                    }
+                }
+            }
+            int x = minCol * tileSize;
+            int y = minRow * tileSize;
+            int right = Math.min(width, (maxCol + 1) * tileSize);
+            int bottom = Math.min(height, (maxRow + 1) * tileSize);
+            list.add(new Rectangle(x, y, right - x, bottom - y));
+        }
+        return list;
+    }
+
+    /**
+     * grows each changed area by the given margins (the largest size a match
+     * can have) so that every match that touches a changed pixel lies fully
+     * inside, clips to the bounds and merges areas that overlap as a result
+     */
+    public static List<Rectangle> regionsOfInterest(List<Rectangle> dirty, int marginX, int marginY, int width, int height) {
+        Rectangle bounds = new Rectangle(0, 0, width, height);
+        List<Rectangle> rois = new ArrayList(dirty.size());
+        for (Rectangle r : dirty) {
+            Rectangle roi = new Rectangle(r.x - marginX, r.y - marginY, r.width + 2 * marginX, r.height + 2 * marginY).intersection(bounds);
+            boolean merged = true;
+            while (merged) { // a merge can grow into areas already checked
+                merged = false;
+                for (Iterator<Rectangle> iterator = rois.iterator(); iterator.hasNext();) {
+                    Rectangle other = iterator.next();
+                    if (other.intersects(roi)) {
+                        roi = roi.union(other);
+                        iterator.remove();
+                        merged = true;
+                    }
+                }
+            }
+            rois.add(roi);
+        }
+        rois.sort((r1, r2) -> r1.y == r2.y ? r1.x - r2.x : r1.y - r2.y);
+        return rois;
+    }
+
+    public static long area(List<Rectangle> list) {
+        long area = 0;
+        for (Rectangle r : list) {
+            area += (long) r.width * r.height;
+        }
+        return area;
+    }
+
+}
@@ -66,11 +66,7 @@ public class OpenCvUtils {
     }
     
     public static Region find(int strictness, RobotBase robot, Region source, byte[] bytes, boolean resize) {
-        Region found = find(strictness, robot, toMat(source.captureGreyScale()), read(bytes), resize);
-        if (found == null) {
-            return null;
-        }
-        return found.toAbsolute(source);
+        return TemplateMatcher.find(strictness, robot, source, bytes, resize);
     }
 
     public static Region find(int strictness, RobotBase robot, Mat source, Mat target, boolean resize) {
@@ -82,12 +78,7 @@ public class OpenCvUtils {
     }
 
     public static List<Region> findAll(int strictness, RobotBase robot, Region source, byte[] bytes, boolean resize) {
-        List<Region> found = find(strictness, true, robot, toMat(source.captureGreyScale()), read(bytes), resize);
-        List<Region> list = new ArrayList(found.size());
-        for (Region r : found) {
-            list.add(r.toAbsolute(source));
-        }
-        return list;
+        return TemplateMatcher.findAll(strictness, robot, source, bytes, resize);
     }
 
     public static Mat rescale(Mat mat, double scale) {
@@ -96,10 +87,10 @@ public class OpenCvUtils {
         return resized;
     }
 
-    private static final int TARGET_MINVAL_FACTOR = 150; // magic number, lower is stricter
+    static final int TARGET_MINVAL_FACTOR = 150; // magic number, lower is stricter
     private static final int BLOCK_SIZE = 5;
 
-    private static List<int[]> getPointsBelowThreshold(Mat src, double threshold) {
+    static List<int[]> getPointsBelowThreshold(Mat src, double threshold) {
         Mat dst = new Mat();
         threshold(src, dst, threshold, 1, CV_THRESH_BINARY_INV);
         Mat non = new Mat();
@@ -144,7 +135,7 @@ public class OpenCvUtils {
         return points;
     }
 
-    private static Region toRegion(RobotBase robot, int[] p, double scale, int targetWidth, int targetHeight) {
+    static Region toRegion(RobotBase robot, int[] p, double scale, int targetWidth, int targetHeight) {
         int x = (int) Math.round(p[0] / scale);
         int y = (int) Math.round(p[1] / scale);
         int width = (int) Math.round(targetWidth / scale);
@@ -196,6 +187,7 @@ public class OpenCvUtils {
         return minValue;
     }
 
+    // sequential reference implementation, see TemplateMatcher which is what the robot uses
     public static List<Region> find(int strictness, boolean findAll, RobotBase robot, Mat source, Mat target, boolean resize) {
         List<Region> found = new ArrayList();
         collect(strictness, found, findAll, robot, source, target, 1);
@@ -59,7 +59,7 @@ public class Region  {
         this.height = height;
     }
     
-    private BufferedImage capture(int type) {
+    BufferedImage capture(int type) {
         Image image = robot.robot.createScreenCapture(new Rectangle(x, y, width, height));
         BufferedImage bi = new BufferedImage(width, height, type);
         Graphics g = bi.createGraphics();
@@ -72,7 +72,7 @@ public class Region  {
     }
     
     public BufferedImage captureGreyScale() {
-        return Region.this.capture(BufferedImage.TYPE_BYTE_GRAY);
+        return robot.captureFrame(this).image; // shared, treat as read-only
     }    
 
     public Location getCenter() {
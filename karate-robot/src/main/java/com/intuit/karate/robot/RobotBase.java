@@ -38,6 +38,7 @@ import com.intuit.karate.shell.Command;
 import java.awt.Dimension;
 import java.awt.MouseInfo;
 import java.awt.Point;
+import java.awt.Rectangle;
 import java.awt.Toolkit;
 import java.awt.datatransfer.DataFlavor;
 import java.awt.event.InputEvent;
@@ -69,6 +70,7 @@ public abstract class RobotBase implements Robot, Plugin {
     public final Region screen;
     public final String tessData;
     public final String tessLang;
+    public final CaptureCache captureCache;
 
     // mutables
     private String basePath;
@@ -143,6 +145,8 @@ public abstract class RobotBase implements Robot, Plugin {
             autoDelay = get("autoDelay", 0);
             tessData = get("tessData", "tessdata");
             tessLang = get("tessLang", "eng");
+            int captureStaleness = get("captureStaleness", 100);
+            captureCache = new CaptureCache(captureStaleness);
             toolkit = Toolkit.getDefaultToolkit();
             dimension = toolkit.getScreenSize();
             screen = new Region(this, 0, 0, dimension.width, dimension.height);
@@ -282,6 +286,7 @@ public abstract class RobotBase implements Robot, Plugin {
 
     @Override
     public Robot click(int num) {
+        captureCache.invalidate();
         int mask = mask(num);
         robot.mousePress(mask);
         if (highlight) {
@@ -307,12 +312,14 @@ public abstract class RobotBase implements Robot, Plugin {
 
     @Override
     public Robot press() {
+        captureCache.invalidate();
         robot.mousePress(1);
         return this;
     }
 
     @Override
     public Robot release() {
+        captureCache.invalidate();
         robot.mouseRelease(1);
         return this;
     }
@@ -344,6 +351,7 @@ public abstract class RobotBase implements Robot, Plugin {
 
     @Override
     public Robot input(String value) {
+        captureCache.invalidate();
         if (highlight) {
             getFocused().highlight(highlightDuration);
         }
@@ -421,8 +429,20 @@ public abstract class RobotBase implements Robot, Plugin {
         return bytes;
     }
 
+    public CaptureCache.Frame captureFrame(Region region) {
+        Rectangle bounds = new Rectangle(region.x, region.y, region.width, region.height);
+        long now = System.currentTimeMillis();
+        CaptureCache.Frame frame = captureCache.get(bounds, now);
+        if (frame == null) {
+            frame = new CaptureCache.Frame(bounds, region.capture(BufferedImage.TYPE_BYTE_GRAY), now);
+            captureCache.put(frame);
+        }
+        return frame;
+    }
+
     @Override
     public Robot move(int x, int y) {
+        captureCache.invalidate(); // hover effects
         robot.mouseMove(x, y);
         return this;
     }
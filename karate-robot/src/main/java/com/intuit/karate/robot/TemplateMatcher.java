@@ -0,0 +1,324 @@
+/*
+ * The MIT License
+ *
+ * Copyright 2022 Karate Labs Inc.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package com.intuit.karate.robot;
+
+import java.awt.Rectangle;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.bytedeco.javacpp.DoublePointer;
+import static org.bytedeco.opencv.global.opencv_core.minMaxLoc;
+import static org.bytedeco.opencv.global.opencv_imgproc.*;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * same search order, early exits, scores and results as the sequential
+ * OpenCvUtils.find() but decoded targets are cached, each scale of the source
+ * is computed once and the scales within a stage (1.1 and 0.9, then each
+ * direction) are matched in parallel, searches on a screen region that found
+ * nothing are remembered so that the next attempt only matches where the
+ * screen changed
+ *
+ * @author pthomas3
+ */
+public class TemplateMatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateMatcher.class);
+
+    private static final int TARGET_CACHE_SIZE = 64;
+    private static final int MAX_STEPS = 5;
+
+    private static final int THREADS = Math.max(1, Math.min(4, Runtime.getRuntime().availableProcessors()));
+    private static final ExecutorService POOL = Executors.newFixedThreadPool(THREADS, r -> {
+        Thread thread = new Thread(r, "karate-robot-matcher");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private static final Map<String, Mat> TARGETS = new LinkedHashMap<String, Mat>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Mat> eldest) {
+            return size() > TARGET_CACHE_SIZE;
+        }
+    };
+
+    private TemplateMatcher() {
+        // only static methods
+    }
+
+    static class Pyramid {
+
+        final Mat source;
+        final Map<Double, Mat> scaled = new ConcurrentHashMap();
+
+        Pyramid(Mat source) {
+            this.source = source;
+        }
+
+        Mat get(double scale) {
+            return scale == 1 ? source : scaled.computeIfAbsent(scale, s -> OpenCvUtils.rescale(source, s));
+        }
+
+    }
+
+    static class ScaleResult {
+
+        final int minVal; // truncated like the reference, this decides which direction is searched first
+        final List<Region> found;
+
+        ScaleResult(int minVal, List<Region> found) {
+            this.minVal = minVal;
+            this.found = found;
+        }
+
+    }
+
+    public static Region find(int strictness, RobotBase robot, Region source, byte[] bytes, boolean resize) {
+        List<Region> found = find(strictness, false, robot, source, bytes, resize);
+        return found.isEmpty() ? null : found.get(0).toAbsolute(source);
+    }
+
+    public static List<Region> findAll(int strictness, RobotBase robot, Region source, byte[] bytes, boolean resize) {
+        List<Region> found = find(strictness, true, robot, source, bytes, resize);
+        List<Region> list = new ArrayList(found.size());
+        for (Region r : found) {
+            list.add(r.toAbsolute(source));
+        }
+        return list;
+    }
+
+    private static List<Region> find(int strictness, boolean findAll, RobotBase robot, Region source, byte[] bytes, boolean resize) {
+        String hash = hash(bytes);
+        Mat target = getTarget(hash, bytes);
+        CaptureCache cache = robot.captureCache;
+        CaptureCache.Frame frame = robot.captureFrame(source);
+        Mat mat = OpenCvUtils.toMat(frame.image);
+        String key = hash + ":" + strictness + ":" + findAll + ":" + resize;
+        List<Region> found = null;
+        // a miss on the previous frame means any match has to touch a pixel that changed since
+        List<Rectangle> dirty = CaptureCache.diff(cache.getMiss(key), frame, CaptureCache.TILE_SIZE);
+        if (dirty != null) {
+            int width = frame.bounds.width;
+            int height = frame.bounds.height;
+            // the smallest scale (most zoomed-out search) gives the largest match size
+            double minScale = 1 - 0.1 * MAX_STEPS;
+            int marginX = (int) Math.ceil(target.cols() / minScale);
+            int marginY = (int) Math.ceil(target.rows() / minScale);
+            List<Rectangle> rois = CaptureCache.regionsOfInterest(dirty, marginX, marginY, width, height);
+            if (rois.isEmpty()) {
+                logger.debug("no change since last miss, skipping match");
+                found = Collections.emptyList();
+            } else if (CaptureCache.area(rois) * 2 < (long) width * height) {
+                logger.debug("matching only in changed regions: {}", rois.size());
+                found = new ArrayList();
+                for (Rectangle roi : rois) {
+                    Mat sub = new Mat(mat, new Rect(roi.x, roi.y, roi.width, roi.height));
+                    for (Region r : find(strictness, findAll, robot, sub, target, resize)) {
+                        found.add(new Region(robot, r.x + roi.x, r.y + roi.y, r.width, r.height));
+                    }
+                    if (!findAll && !found.isEmpty()) {
+                        break;
+                    }
+                }
+            } // else most of the screen changed, simpler to search everywhere
+        }
+        if (found == null) {
+            found = find(strictness, findAll, robot, mat, target, resize);
+        }
+        if (found.isEmpty()) {
+            cache.putMiss(key, frame);
+        } else {
+            cache.removeMiss(key);
+        }
+        return found;
+    }
+
+    public static List<Region> find(int strictness, boolean findAll, RobotBase robot, Mat source, byte[] bytes, boolean resize) {
+        return find(strictness, findAll, robot, source, getTarget(hash(bytes), bytes), resize);
+    }
+
+    // like the reference, the other scales are tried whatever the value of resize
+    public static List<Region> find(int strictness, boolean findAll, RobotBase robot, Mat source, Mat target, boolean resize) {
+        return find(strictness, findAll, robot, new Pyramid(source), target);
+    }
+
+    static List<Region> find(int strictness, boolean findAll, RobotBase robot, Pyramid pyramid, Mat target) {
+        ScaleResult exact = match(strictness, findAll, robot, pyramid, target, 1);
+        if (!exact.found.isEmpty()) {
+            return exact.found;
+        }
+        // the same early exits as the reference, only the scales within each stage are matched in parallel
+        List<ScaleResult> near = match(strictness, findAll, robot, pyramid, target, 1.1, 0.9);
+        ScaleResult up = near.get(0);
+        ScaleResult down = near.get(1);
+        if (!up.found.isEmpty()) {
+            return up.found;
+        }
+        if (!down.found.isEmpty()) {
+            return down.found;
+        }
+        boolean goUpFirst = up.minVal < down.minVal;
+        List<Region> found = new ArrayList();
+        for (ScaleResult sr : match(strictness, findAll, robot, pyramid, target, farScales(goUpFirst))) {
+            found.addAll(sr.found);
+        }
+        if (!findAll && !found.isEmpty()) {
+            return found;
+        }
+        for (ScaleResult sr : match(strictness, findAll, robot, pyramid, target, farScales(!goUpFirst))) {
+            found.addAll(sr.found);
+        }
+        return found;
+    }
+
+    private static double[] farScales(boolean up) {
+        double[] scales = new double[MAX_STEPS - 1];
+        for (int step = 2; step <= MAX_STEPS; step++) {
+            scales[step - 2] = 1 + 0.1 * step * (up ? 1 : -1); // same arithmetic as the reference
+        }
+        return scales;
+    }
+
+    private static List<ScaleResult> match(int strictness, boolean findAll, RobotBase robot, Pyramid pyramid, Mat target, double... scales) {
+        List<ScaleResult> results = new ArrayList(scales.length);
+        if (THREADS == 1) { // nothing to gain from the pool
+            for (double scale : scales) {
+                results.add(match(strictness, findAll, robot, pyramid, target, scale));
+            }
+            return results;
+        }
+        List<Future<ScaleResult>> futures = new ArrayList(scales.length);
+        for (double scale : scales) {
+            futures.add(POOL.submit(() -> match(strictness, findAll, robot, pyramid, target, scale)));
+        }
+        for (Future<ScaleResult> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                throw new RuntimeException(e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException(e);
+            }
+        }
+        return results;
+    }
+
+    private static ScaleResult match(int strictness, boolean findAll, RobotBase robot, Pyramid pyramid, Mat target, double scale) {
+        Mat source = pyramid.get(scale);
+        int targetWidth = target.cols();
+        int targetHeight = target.rows();
+        if (source.cols() < targetWidth || source.rows() < targetHeight) { // e.g. a small region of interest
+            return new ScaleResult(Integer.MAX_VALUE, Collections.emptyList());
+        }
+        int targetMinVal = targetWidth * targetHeight * OpenCvUtils.TARGET_MINVAL_FACTOR * strictness;
+        Mat result = new Mat();
+        matchTemplate(source, target, result, CV_TM_SQDIFF);
+        DoublePointer minValPtr = new DoublePointer(1);
+        DoublePointer maxValPtr = new DoublePointer(1);
+        Point minPt = new Point();
+        Point maxPt = new Point();
+        minMaxLoc(result, minValPtr, maxValPtr, minPt, maxPt, null);
+        int minVal = (int) minValPtr.get();
+        int x = minPt.x();
+        int y = minPt.y();
+        if (minVal > targetMinVal) {
+            logger.debug("no match at scale {}, minVal: {} / {} at {}:{}", scale, minVal, targetMinVal, x, y);
+            if (robot != null && robot.debug) {
+                Rect rect = new Rect(x, y, targetWidth, targetHeight);
+                Mat temp = OpenCvUtils.drawOnImage(source, rect, Scalar.RED);
+                OpenCvUtils.show(temp, scale + " " + x + ":" + y + " " + minVal + " / " + targetMinVal);
+            }
+            return new ScaleResult(minVal, Collections.emptyList());
+        }
+        logger.debug("found match at scale {}, minVal: {} / {} at {}:{}", scale, minVal, targetMinVal, x, y);
+        List<Region> found = new ArrayList();
+        if (findAll) {
+            for (int[] p : OpenCvUtils.getPointsBelowThreshold(result, targetMinVal)) {
+                found.add(OpenCvUtils.toRegion(robot, p, scale, targetWidth, targetHeight));
+            }
+        } else {
+            found.add(OpenCvUtils.toRegion(robot, new int[]{x, y}, scale, targetWidth, targetHeight));
+        }
+        return new ScaleResult(minVal, found);
+    }
+
+    private static Mat getTarget(String key, byte[] bytes) {
+        synchronized (TARGETS) {
+            Mat target = TARGETS.get(key);
+            if (target != null) {
+                return target;
+            }
+        }
+        Mat target = OpenCvUtils.read(bytes);
+        synchronized (TARGETS) {
+            TARGETS.put(key, target);
+        }
+        return target;
+    }
+
+    public static Mat read(byte[] bytes) {
+        return getTarget(hash(bytes), bytes);
+    }
+
+    private static String hash(byte[] bytes) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-1");
+            byte[] digest = md.digest(bytes);
+            StringBuilder sb = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                sb.append(String.format("%02x", b));
+            }
+            return sb.toString();
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    public static int getCacheSize() {
+        synchronized (TARGETS) {
+            return TARGETS.size();
+        }
+    }
+
+    public static void clearCache() {
+        synchronized (TARGETS) {
+            TARGETS.clear();
+        }
+    }
+
+}
@@ -0,0 +1,146 @@
+package com.intuit.karate.robot;
+
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.util.Arrays;
+import java.util.List;
+import javax.imageio.ImageIO;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ * pure java (no opencv, no screen) so this runs everywhere, frames are built
+ * from a recorded desktop screenshot
+ *
+ * @author pthomas3
+ */
+public class CaptureCacheTest {
+
+    static BufferedImage read(String path) {
+        try {
+            return ImageIO.read(new File(path));
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    static CaptureCache.Frame frame(BufferedImage source, long time, BufferedImage patch, int... points) {
+        BufferedImage bi = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_BYTE_GRAY);
+        Graphics g = bi.createGraphics();
+        g.drawImage(source, 0, 0, null);
+        for (int i = 0; i < points.length; i += 2) {
+            g.drawImage(patch, points[i], points[i + 1], null);
+        }
+        g.dispose();
+        return new CaptureCache.Frame(new Rectangle(0, 0, bi.getWidth(), bi.getHeight()), bi, time);
+    }
+
+    BufferedImage desktop = read("src/test/java/desktop01.png");
+    BufferedImage search = read("src/test/java/search.png");
+
+    @Test
+    public void testDiffUnchanged() {
+        CaptureCache.Frame prev = frame(desktop, 0, null);
+        CaptureCache.Frame next = frame(desktop, 1, null);
+        assertTrue(CaptureCache.diff(prev, next, CaptureCache.TILE_SIZE).isEmpty());
+        assertTrue(CaptureCache.diff(prev, prev, CaptureCache.TILE_SIZE).isEmpty());
+    }
+
+    @Test
+    public void testDiffNotComparable() {
+        CaptureCache.Frame next = frame(desktop, 0, null);
+        assertNull(CaptureCache.diff(null, next, CaptureCache.TILE_SIZE));
+        BufferedImage small = new BufferedImage(10, 10, BufferedImage.TYPE_BYTE_GRAY);
+        CaptureCache.Frame other = new CaptureCache.Frame(new Rectangle(0, 0, 10, 10), small, 0);
+        assertNull(CaptureCache.diff(other, next, CaptureCache.TILE_SIZE));
+    }
+
+    @Test
+    public void testDiffSinglePatch() {
+        CaptureCache.Frame prev = frame(desktop, 0, null);
+        CaptureCache.Frame next = frame(desktop, 1, search, 500, 100);
+        List<Rectangle> dirty = CaptureCache.diff(prev, next, CaptureCache.TILE_SIZE);
+        assertEquals(1, dirty.size());
+        Rectangle r = dirty.get(0);
+        assertTrue(r.contains(new Rectangle(500, 100, search.getWidth(), search.getHeight())));
+        // tile aligned, so at most one tile of slack on each side
+        assertTrue(r.width <= search.getWidth() + 2 * CaptureCache.TILE_SIZE);
+        assertTrue(r.height <= search.getHeight() + 2 * CaptureCache.TILE_SIZE);
+        assertEquals(0, r.x % CaptureCache.TILE_SIZE);
+        assertEquals(0, r.y % CaptureCache.TILE_SIZE);
+    }
+
+    @Test
+    public void testDiffSequence() {
+        CaptureCache.Frame f1 = frame(desktop, 0, null);
+        CaptureCache.Frame f2 = frame(desktop, 1, search, 100, 100);
+        CaptureCache.Frame f3 = frame(desktop, 2, search, 100, 100, 1000, 120);
+        assertEquals(1, CaptureCache.diff(f1, f2, CaptureCache.TILE_SIZE).size());
+        List<Rectangle> dirty = CaptureCache.diff(f2, f3, CaptureCache.TILE_SIZE);
+        assertEquals(1, dirty.size()); // only what changed since f2
+        assertTrue(dirty.get(0).contains(1000, 120));
+        dirty = CaptureCache.diff(f1, f3, CaptureCache.TILE_SIZE);
+        assertEquals(2, dirty.size());
+    }
+
+    @Test
+    public void testDiffEdges() {
+        int width = desktop.getWidth();
+        int height = desktop.getHeight();
+        CaptureCache.Frame prev = frame(desktop, 0, null);
+        CaptureCache.Frame next = frame(desktop, 1, search, width - 5, height - 5);
+        List<Rectangle> dirty = CaptureCache.diff(prev, next, CaptureCache.TILE_SIZE);
+        assertEquals(1, dirty.size());
+        Rectangle r = dirty.get(0);
+        assertEquals(width, r.x + r.width);
+        assertEquals(height, r.y + r.height);
+    }
+
+    @Test
+    public void testRegionsOfInterest() {
+        List<Rectangle> rois = CaptureCache.regionsOfInterest(Arrays.asList(new Rectangle(100, 100, 32, 32)), 10, 20, 1000, 800);
+        assertEquals(Arrays.asList(new Rectangle(90, 80, 52, 72)), rois);
+        // clipped
+        rois = CaptureCache.regionsOfInterest(Arrays.asList(new Rectangle(0, 0, 32, 32)), 10, 10, 1000, 800);
+        assertEquals(Arrays.asList(new Rectangle(0, 0, 42, 42)), rois);
+        // merged when the grown areas overlap, sorted top-down
+        rois = CaptureCache.regionsOfInterest(Arrays.asList(
+                new Rectangle(500, 500, 32, 32), new Rectangle(100, 100, 32, 32), new Rectangle(150, 100, 32, 32)), 10, 10, 1000, 800);
+        assertEquals(Arrays.asList(new Rectangle(90, 90, 102, 52), new Rectangle(490, 490, 52, 52)), rois);
+        assertEquals(102 * 52 + 52 * 52, CaptureCache.area(rois));
+        assertTrue(CaptureCache.regionsOfInterest(Arrays.asList(), 10, 10, 1000, 800).isEmpty());
+    }
+
+    @Test
+    public void testStaleness() {
+        CaptureCache cache = new CaptureCache(100);
+        CaptureCache.Frame frame = frame(desktop, 1000, null);
+        assertNull(cache.get(frame.bounds, 1000));
+        cache.put(frame);
+        assertSame(frame, cache.get(frame.bounds, 1050));
+        assertSame(frame, cache.get(frame.bounds, 1100));
+        assertNull(cache.get(frame.bounds, 1101));
+        assertNull(cache.get(new Rectangle(0, 0, 10, 10), 1050));
+        cache.invalidate();
+        assertNull(cache.get(frame.bounds, 1050));
+    }
+
+    @Test
+    public void testMisses() {
+        CaptureCache cache = new CaptureCache(0);
+        CaptureCache.Frame frame = frame(desktop, 0, null);
+        cache.putMiss("foo", frame);
+        cache.invalidate(); // input does not discard misses
+        assertSame(frame, cache.getMiss("foo"));
+        cache.removeMiss("foo");
+        assertNull(cache.getMiss("foo"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testColorFrameRejected() {
+        CaptureCache.Frame frame = new CaptureCache.Frame(new Rectangle(0, 0, 10, 10), new BufferedImage(10, 10, BufferedImage.TYPE_INT_RGB), 0);
+    }
+
+}
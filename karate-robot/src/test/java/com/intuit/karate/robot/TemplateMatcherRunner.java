@@ -0,0 +1,68 @@
+package com.intuit.karate.robot;
+
+import com.intuit.karate.FileUtils;
+import java.io.File;
+import java.util.List;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * not part of the regular test run, compares the sequential reference
+ * OpenCvUtils.find() (which decodes the target on every call) against the
+ * TemplateMatcher over the screenshots and templates in src/test/java
+ *
+ * @author pthomas3
+ */
+public class TemplateMatcherRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(TemplateMatcherRunner.class);
+
+    static final String[] SOURCES = {"desktop01.png", "some-text.png"};
+    static final String[] TARGETS = {"search.png", "search-1_5.png", "robot/core/file-name.png",
+        "robot/core/choose-file.png", "robot/core/iphone-click.png", "robot/core/tams.png"};
+    static final int WARMUP = 3;
+    static final int ITERATIONS = 10;
+
+    static String describe(List<Region> found) {
+        return found.isEmpty() ? "-" : found.size() + " " + found.get(0);
+    }
+
+    @Test
+    public void testBenchmark() {
+        long referenceTotal = 0;
+        long matcherTotal = 0;
+        for (String sourceName : SOURCES) {
+            Mat source = OpenCvUtils.read(new File("src/test/java/" + sourceName));
+            for (String targetName : TARGETS) {
+                byte[] bytes = FileUtils.toBytes(new File("src/test/java/" + targetName));
+                for (boolean findAll : new boolean[]{false, true}) {
+                    List<Region> expected = null;
+                    List<Region> actual = null;
+                    for (int i = 0; i < WARMUP; i++) {
+                        expected = OpenCvUtils.find(10, findAll, null, source, OpenCvUtils.read(bytes), true);
+                        actual = TemplateMatcher.find(10, findAll, null, source, bytes, true);
+                    }
+                    long start = System.nanoTime();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        OpenCvUtils.find(10, findAll, null, source, OpenCvUtils.read(bytes), true);
+                    }
+                    long reference = (System.nanoTime() - start) / ITERATIONS;
+                    start = System.nanoTime();
+                    for (int i = 0; i < ITERATIONS; i++) {
+                        TemplateMatcher.find(10, findAll, null, source, bytes, true);
+                    }
+                    long matcher = (System.nanoTime() - start) / ITERATIONS;
+                    referenceTotal += reference;
+                    matcherTotal += matcher;
+                    logger.info("{} / {} findAll: {} - reference: {} ms [{}], matcher: {} ms [{}]", sourceName, targetName, findAll,
+                            reference / 1000000, describe(expected), matcher / 1000000, describe(actual));
+                }
+            }
+        }
+        logger.info("total - reference: {} ms, matcher: {} ms, threads: {}", referenceTotal / 1000000, matcherTotal / 1000000,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+}
@@ -0,0 +1,121 @@
+package com.intuit.karate.robot;
+
+import com.intuit.karate.FileUtils;
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import org.bytedeco.javacpp.Loader;
+import org.bytedeco.opencv.global.opencv_imgproc;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+import static org.junit.Assert.*;
+
+/**
+ *
+ * @author pthomas3
+ */
+public class TemplateMatcherTest {
+
+    static final String[] SOURCES = {"desktop01.png", "some-text.png"};
+    static final String[] TARGETS = {"search.png", "search-1_5.png", "robot/core/file-name.png",
+        "robot/core/choose-file.png", "robot/core/iphone-click.png", "robot/core/tams.png"};
+
+    static boolean openCvLoads() {
+        try {
+            Loader.load(opencv_imgproc.class);
+            return true;
+        } catch (Throwable t) { // e.g. no native binaries for this platform
+            return false;
+        }
+    }
+
+    @Before
+    public void before() {
+        Assume.assumeTrue("opencv native libraries not available", openCvLoads());
+    }
+
+    static List<String> describe(List<Region> found) {
+        List<String> list = new ArrayList(found.size());
+        for (Region r : found) {
+            list.add(r.toString());
+        }
+        return list;
+    }
+
+    @Test
+    public void testSameResultsAsReference() {
+        Mat source = OpenCvUtils.read(new File("src/test/java/desktop01.png"));
+        byte[] bytes = FileUtils.toBytes(new File("src/test/java/search.png"));
+        Region region = TemplateMatcher.find(1, false, null, source, bytes, false).get(0);
+        assertEquals(1605, region.x);
+        assertEquals(1, region.y);
+        bytes = FileUtils.toBytes(new File("src/test/java/search-1_5.png"));
+        region = TemplateMatcher.find(10, false, null, source, bytes, true).get(0);
+        assertEquals(1604, region.x);
+        assertEquals(0, region.y);
+        region = TemplateMatcher.find(2, false, null, source, bytes, true).get(0);
+        assertEquals(1605, region.x);
+        assertEquals(1, region.y);
+    }
+
+    @Test
+    public void testEquivalentToReferenceOverCorpus() {
+        for (String sourceName : SOURCES) {
+            Mat source = OpenCvUtils.read(new File("src/test/java/" + sourceName));
+            for (String targetName : TARGETS) {
+                byte[] bytes = FileUtils.toBytes(new File("src/test/java/" + targetName));
+                for (boolean findAll : new boolean[]{false, true}) {
+                    List<Region> expected = OpenCvUtils.find(10, findAll, null, source, OpenCvUtils.read(bytes), true);
+                    List<Region> actual = TemplateMatcher.find(10, findAll, null, source, bytes, true);
+                    assertEquals(sourceName + " / " + targetName + " findAll: " + findAll, describe(expected), describe(actual));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testEquivalentToReferenceAtOddOffsets() {
+        // templates cut at odd x / y with sharp 1px ui edges, the case a half-size pass would misalign
+        Mat source = OpenCvUtils.read(new File("src/test/java/desktop01.png"));
+        int[][] rects = {{1601, 1, 31, 19}, {1603, 3, 27, 15}, {101, 7, 45, 21}, {1, 1, 33, 33}};
+        for (int[] r : rects) {
+            Mat target = new Mat(source, new Rect(r[0], r[1], r[2], r[3])).clone();
+            for (int strictness : new int[]{1, 10}) {
+                List<Region> expected = OpenCvUtils.find(strictness, false, null, source, target, true);
+                List<Region> actual = TemplateMatcher.find(strictness, false, null, source, target, true);
+                assertEquals(describe(expected), describe(actual));
+                assertEquals(r[0], actual.get(0).x);
+                assertEquals(r[1], actual.get(0).y);
+            }
+        }
+    }
+
+    @Test
+    public void testEarlyExitAtFirstMatchingStage() {
+        Mat source = OpenCvUtils.read(new File("src/test/java/desktop01.png"));
+        Mat target = new Mat(OpenCvUtils.rescale(source, 1.1), new Rect(1601, 1, 61, 31)).clone();
+        TemplateMatcher.Pyramid pyramid = new TemplateMatcher.Pyramid(source);
+        List<Region> found = TemplateMatcher.find(1, false, null, pyramid, target);
+        assertEquals(describe(OpenCvUtils.find(1, false, null, source, target, true)), describe(found));
+        assertEquals(1, found.size());
+        // only 1.1 and 0.9 were rescaled, none of the scales further out
+        assertEquals(new HashSet(Arrays.asList(1.1, 0.9)), pyramid.scaled.keySet());
+    }
+
+    @Test
+    public void testNoMatchAndTargetCache() {
+        TemplateMatcher.clearCache();
+        Mat source = OpenCvUtils.read(new File("src/test/java/desktop01.png"));
+        byte[] bytes = FileUtils.toBytes(new File("src/test/java/robot/core/tams.png"));
+        List<Region> found = TemplateMatcher.find(10, true, null, source, bytes, true);
+        assertTrue(found.isEmpty());
+        assertSame(TemplateMatcher.read(bytes), TemplateMatcher.read(bytes));
+        assertEquals(1, TemplateMatcher.getCacheSize());
+    }
+
+}